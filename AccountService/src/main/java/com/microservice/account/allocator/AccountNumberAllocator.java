@@ -0,0 +1,17 @@
+package com.microservice.account.allocator;
+
+/**
+ * Strategy for handing out new 10 digit account numbers.
+ * <p>
+ * Implementations must be thread safe and must never return the same number twice,
+ * including across service instances sharing the same database.
+ */
+public interface AccountNumberAllocator {
+
+    /**
+     * Allocate the next free account number.
+     *
+     * @return a 10 digit account number that is not used by any existing account
+     */
+    long nextAccountNumber();
+}
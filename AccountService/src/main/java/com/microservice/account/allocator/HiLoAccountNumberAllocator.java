@@ -0,0 +1,149 @@
+package com.microservice.account.allocator;
+
+import com.microservice.account.entity.AccountNumberSequence;
+import com.microservice.account.repository.AccountNumberSequenceRepository;
+import com.microservice.account.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hi/lo account number allocator.
+ * <p>
+ * Each instance leases a block of {@code block-size} numbers from the {@code account_number_sequence} table
+ * in its own short transaction and then hands numbers out of that block from memory without locking.
+ * An account number is a 9 digit payload followed by a Luhn check digit. Numbers that were created by the
+ * old random allocator and fall inside a leased block are loaded once per block and skipped.
+ * <p>
+ * Numbers left in a block when the instance stops are never reused, which leaves gaps but no duplicates.
+ * <p>
+ * The sequence row is seeded by a migration. Where migrations do not run the row is created on first use, and
+ * a lease that loses that race, on a duplicate key or on the deadlock of two inserts into the same gap, is retried.
+ */
+@Component
+@ConditionalOnProperty(prefix = "accounts.number-allocator", name = "strategy", havingValue = "hilo", matchIfMissing = true)
+@Slf4j
+public class HiLoAccountNumberAllocator implements AccountNumberAllocator {
+
+    static final String SEQUENCE_NAME = "account_number";
+    private static final long FIRST_PAYLOAD = 100_000_000L;
+    private static final long LAST_PAYLOAD = 999_999_999L;
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final AccountNumberSequenceRepository sequenceRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final int blockSize;
+
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>(Block.EMPTY);
+    private final Object leaseLock = new Object();
+
+    public HiLoAccountNumberAllocator(AccountNumberSequenceRepository sequenceRepository,
+                                      AccountRepository accountRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${accounts.number-allocator.block-size:1000}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("accounts.number-allocator.block-size must be positive");
+        }
+        this.sequenceRepository = sequenceRepository;
+        this.accountRepository = accountRepository;
+        this.blockSize = blockSize;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long nextAccountNumber() {
+        while (true) {
+            Block block = currentBlock.get();
+            long payload = block.next();
+            if (payload < 0) {
+                refill(block);
+                continue;
+            }
+            long accountNumber = LuhnCheckDigit.append(payload);
+            if (!block.isTaken(accountNumber)) {
+                return accountNumber;
+            }
+        }
+    }
+
+    /**
+     * Replace the exhausted block with a freshly leased one. Only one thread leases, the others
+     * wait on the lock and then pick up the new block.
+     */
+    private void refill(Block exhausted) {
+        synchronized (leaseLock) {
+            if (currentBlock.get() == exhausted) {
+                currentBlock.set(leaseBlock());
+            }
+        }
+    }
+
+    private Block leaseBlock() {
+        long hi = leaseHi();
+        long first = FIRST_PAYLOAD + hi * blockSize;
+        if (first > LAST_PAYLOAD) {
+            throw new IllegalStateException("Account number space exhausted");
+        }
+        long last = Math.min(first + blockSize - 1, LAST_PAYLOAD);
+
+        Set<Long> taken = Set.copyOf(accountRepository.findAccountNumbersBetween(first * 10, last * 10 + 9));
+        log.info("Leased account number block {} [{} - {}], {} legacy numbers skipped", hi, first, last, taken.size());
+        return new Block(first, last, taken);
+    }
+
+    private long leaseHi() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return leaseTransaction.execute(status -> {
+                    AccountNumberSequence sequence = sequenceRepository.findForUpdate(SEQUENCE_NAME)
+                            .orElseGet(() -> new AccountNumberSequence(SEQUENCE_NAME, 0));
+                    long leased = sequence.getNextHi();
+                    sequence.setNextHi(leased + 1);
+                    sequenceRepository.save(sequence);
+                    return leased;
+                });
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                // another instance created the sequence row at the same time, read it again
+                if (attempt >= MAX_LEASE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static final class Block {
+
+        static final Block EMPTY = new Block(0, -1, Set.of());
+
+        private final AtomicLong next;
+        private final long last;
+        private final Set<Long> taken;
+
+        Block(long first, long last, Set<Long> taken) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+            this.taken = taken;
+        }
+
+        long next() {
+            long payload = next.getAndIncrement();
+            return payload <= last ? payload : -1;
+        }
+
+        boolean isTaken(long accountNumber) {
+            return !taken.isEmpty() && taken.contains(accountNumber);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.microservice.account.allocator;
+
+import com.microservice.account.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Legacy allocator: picks a random 10 digit number and probes the account table until it finds a free one.
+ * <p>
+ * Costs one SELECT per attempt and is racy between instances. Kept for comparison and as a fallback,
+ * enable it with {@code accounts.number-allocator.strategy=random-probe}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "accounts.number-allocator", name = "strategy", havingValue = "random-probe")
+@RequiredArgsConstructor
+public class RandomProbeAccountNumberAllocator implements AccountNumberAllocator {
+
+    private final AccountRepository accountRepository;
+
+    @Override
+    public long nextAccountNumber() {
+        long accNumber = randomAccountNumber();
+
+        while (accountRepository.findByAccountNumber(accNumber).isPresent()) {
+            accNumber = randomAccountNumber();
+        }
+        return accNumber;
+    }
+
+    private long randomAccountNumber() {
+        return 1000000000L + ThreadLocalRandom.current().nextLong(9000000000L);
+    }
+}
@@ -0,0 +1,9 @@
+package com.microservice.account.constants;
+
+public enum BulkAccountStatus {
+    CREATED,              // Account was created
+    DUPLICATE,            // Customer already has an account of this type in this branch
+    CUSTOMER_NOT_FOUND,   // Customer does not exist
+    INVALID,              // Row could not be parsed or failed validation
+    FAILED                // Row was valid but could not be stored
+}
@@ -1,15 +1,19 @@
 package com.microservice.account.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservice.account.annotation.ApiResponse_200_417_500;
 import com.microservice.account.annotation.ApiResponse_200_500;
 import com.microservice.account.annotation.ApiResponse_201_500;
 import com.microservice.account.constants.AccountConstants;
+import com.microservice.account.constants.AccountStatus;
 import com.microservice.account.dto.*;
 import com.microservice.account.service.IAccountService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,7 +22,16 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 
 
@@ -32,9 +45,11 @@ import java.util.List;
 public class AccountController {
 
     private final IAccountService accountService;
+    private final ObjectMapper objectMapper;
 
-    public AccountController(IAccountService accountService) {
+    public AccountController(IAccountService accountService, ObjectMapper objectMapper) {
         this.accountService = accountService;
+        this.objectMapper = objectMapper;
     }
 
     @Value("${build.version}")
@@ -98,23 +113,109 @@ public class AccountController {
     }
 
     /**
-     * Return a list of accounts.
+     * Create many accounts from a newline delimited JSON stream, one account request per line.
+     * <p>
+     * The response streams one result per request line, in the same order, as soon as its chunk is processed.
+     * A line that cannot be parsed gets an INVALID result instead of failing the whole request.
      *
-     * @return a list of accounts
+     * @param inputStream the request body
+     * @return the result of every line
+     */
+    @Operation(
+            summary = "Bulk Create Accounts REST API",
+            description = "Rest API to create many accounts from newline delimited JSON, streaming one result per line"
+    )
+    @ApiResponse_200_500
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createAccounts(InputStream inputStream) {
+        StreamingResponseBody body = outputStream -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            Iterator<BulkAccountRequestDto> rows = reader.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(this::readBulkAccountRequest)
+                    .iterator();
+            accountService.createAccounts(rows, result -> writeLine(outputStream, result));
+        };
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private BulkAccountRequestDto readBulkAccountRequest(String line) {
+        try {
+            return objectMapper.readValue(line, BulkAccountRequestDto.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Return one page of accounts ordered by account number.
+     *
+     * @param after       account number of the last account of the previous page
+     * @param limit       maximum number of accounts to return
+     * @param status      optional status filter
+     * @param branch      optional branch filter
+     * @param accountType optional account type filter
+     * @return the page of accounts and the cursor of the next page
      */
 
     @Operation(
-            summary = "Get All Accounts REST API",
-            description = "Rest API to fetch all accounts"
+            summary = "Get Accounts REST API",
+            description = "Rest API to fetch accounts page by page, pass the returned nextCursor as 'after' to get the next page"
     )
     @ApiResponse_200_500
     @GetMapping
-    public ResponseEntity<?> getAccounts() {
-        List<AccountDto> allAccounts = accountService.getAllAccounts();
+    public ResponseEntity<AccountPageDto> getAccounts(@Pattern(regexp = "(\\d{10})", message = "account number must be 10 digits") @RequestParam(required = false) String after,
+                                                      @Min(value = 1, message = "limit must be at least 1") @Max(value = 1000, message = "limit must be at most 1000") @RequestParam(defaultValue = "100") int limit,
+                                                      @RequestParam(required = false) AccountStatus status,
+                                                      @RequestParam(required = false) String branch,
+                                                      @RequestParam(required = false) String accountType) {
+        AccountPageDto accounts = accountService.getAccounts(after == null ? null : Long.parseLong(after), limit,
+                status == null ? null : status.name(), branch, accountType);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(allAccounts);
+                .body(accounts);
+    }
+
+    /**
+     * Stream all accounts as newline delimited JSON, one account per line.
+     *
+     * @param status      optional status filter
+     * @param branch      optional branch filter
+     * @param accountType optional account type filter
+     * @return the streamed accounts
+     */
+
+    @Operation(
+            summary = "Export Accounts REST API",
+            description = "Rest API to stream all accounts as newline delimited JSON"
+    )
+    @ApiResponse_200_500
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAccounts(@RequestParam(required = false) AccountStatus status,
+                                                                @RequestParam(required = false) String branch,
+                                                                @RequestParam(required = false) String accountType) {
+        StreamingResponseBody body = outputStream ->
+                accountService.streamAccounts(status == null ? null : status.name(), branch, accountType,
+                        account -> writeLine(outputStream, account));
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
 
@@ -158,6 +259,24 @@ public class AccountController {
                 .body(accountsByCustomerId);
     }
 
+    /**
+     * Return the accounts of a customer without the customer details.
+     *
+     * @param customerId the unique identifier of the customer
+     * @return the List of account
+     */
+    @Operation(
+            summary = "Get accounts of a customer REST API",
+            description = "Rest API to fetch only the accounts of a customer, without calling back into customer service"
+    )
+    @ApiResponse_200_500
+    @GetMapping("/customers/{customerId}/accounts")
+    public ResponseEntity<List<AccountSummaryDto>> getAccountsOfCustomer(@PathVariable String customerId) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(accountService.getAccountsOfCustomer(customerId));
+    }
+
     /**
      * Update an existing account.
      *
@@ -325,4 +444,63 @@ public class AccountController {
                 .status(HttpStatus.OK)
                 .body(accountService.getAccountStatus(Long.parseLong(accNumber)));
     }
+
+    /**
+     * Credits an account.
+     *
+     * @param accNumber        the unique identifier of the account
+     * @param balanceUpdateDto the amount to credit in minor units
+     * @return the balance after the credit
+     */
+    @Operation(
+            summary = "Credit account REST API",
+            description = "Rest API to credit an active account"
+    )
+    @ApiResponse_200_500
+    @PostMapping("/{accNumber}/credit")
+    public ResponseEntity<AccountBalanceDto> creditAccount(@Pattern(regexp = "(\\d{10})", message = "account number must be 10 digits") @PathVariable(name = "accNumber") String accNumber,
+                                                           @Valid @RequestBody BalanceUpdateDto balanceUpdateDto) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(accountService.creditAccount(Long.parseLong(accNumber), balanceUpdateDto.getAmount()));
+    }
+
+    /**
+     * Debits an account.
+     *
+     * @param accNumber        the unique identifier of the account
+     * @param balanceUpdateDto the amount to debit in minor units
+     * @return the balance after the debit
+     */
+    @Operation(
+            summary = "Debit account REST API",
+            description = "Rest API to debit an active account, rejected when the balance is too low"
+    )
+    @ApiResponse_200_500
+    @PostMapping("/{accNumber}/debit")
+    public ResponseEntity<AccountBalanceDto> debitAccount(@Pattern(regexp = "(\\d{10})", message = "account number must be 10 digits") @PathVariable(name = "accNumber") String accNumber,
+                                                          @Valid @RequestBody BalanceUpdateDto balanceUpdateDto) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(accountService.debitAccount(Long.parseLong(accNumber), balanceUpdateDto.getAmount()));
+    }
+
+    /**
+     * Transfers money between two accounts.
+     *
+     * @param transferDto the accounts and the amount in minor units
+     * @return the response
+     */
+    @Operation(
+            summary = "Transfer REST API",
+            description = "Rest API to move money between two active accounts atomically"
+    )
+    @ApiResponse_200_500
+    @PostMapping("/transfer")
+    public ResponseEntity<ResponseDto> transfer(@Valid @RequestBody TransferDto transferDto) {
+        accountService.transfer(transferDto);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(AccountConstants.STATUS_200, AccountConstants.MESSAGE_200));
+    }
 }
@@ -8,6 +8,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import java.math.BigDecimal;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,6 +20,10 @@ import lombok.ToString;
 )
 public class AccountBalanceDto {
 
-    private double balance;
+    @Schema(
+            description = "Current balance of the account",
+            example = "1500.75"
+    )
+    private BigDecimal balance;
 
 }
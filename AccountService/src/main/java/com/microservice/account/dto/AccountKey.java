@@ -0,0 +1,7 @@
+package com.microservice.account.dto;
+
+/**
+ * Natural key of an account: a customer holds at most one account of a type per branch.
+ */
+public record AccountKey(String customerId, String accountType, String branch) {
+}
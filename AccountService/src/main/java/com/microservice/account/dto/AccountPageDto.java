@@ -0,0 +1,35 @@
+package com.microservice.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "Account Page",
+    description = "Schema to hold one page of accounts ordered by account number"
+)
+public class AccountPageDto {
+
+    @Schema(
+            description = "Accounts of the current page"
+    )
+    private List<AccountSummaryDto> accounts;
+
+    @Schema(
+            description = "Cursor to pass as 'after' to fetch the next page, null when this is the last page",
+            example = "1234567890"
+    )
+    private String nextCursor;
+
+    @Schema(
+            description = "Maximum number of accounts requested for the page",
+            example = "100"
+    )
+    private int limit;
+}
@@ -0,0 +1,9 @@
+package com.microservice.account.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * The few columns of an account read by the balance and status endpoints.
+ */
+public record AccountSnapshot(Long accountNumber, String customerId, BigDecimal balance, String status, Long version) {
+}
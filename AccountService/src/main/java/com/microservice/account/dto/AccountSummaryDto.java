@@ -0,0 +1,28 @@
+package com.microservice.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Read-only view of an account for list endpoints, filled straight from the query without loading the entity.
+ */
+@Schema(
+    name = "Account Summary",
+    description = "Schema to hold Account information in account lists"
+)
+public record AccountSummaryDto(
+        @Schema(description = "Account number of the account", example = "1234567890")
+        String accountNumber,
+        @Schema(description = "Account type of the account", example = "Savings")
+        String accountType,
+        @Schema(description = "Account Branch of the account", example = "Kolkata")
+        String branch,
+        @Schema(description = "Account Status of the account", example = "ACTIVE")
+        String status) {
+
+    /**
+     * Used by the JPQL constructor expressions, account numbers are stored as numbers.
+     */
+    public AccountSummaryDto(Long accountNumber, String accountType, String branch, String status) {
+        this(String.valueOf(accountNumber), accountType, branch, status);
+    }
+}
@@ -0,0 +1,24 @@
+package com.microservice.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "Balance Update",
+    description = "Schema to hold the amount to credit to or debit from an account"
+)
+public class BalanceUpdateDto {
+
+    @Schema(
+            description = "Amount in minor units (paise)",
+            example = "150075"
+    )
+    @Positive(message = "Amount must be a positive number")
+    private long amount;
+}
@@ -0,0 +1,38 @@
+package com.microservice.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "BulkAccountRequest",
+    description = "One line of a bulk account creation request"
+)
+public class BulkAccountRequestDto {
+
+    @Schema(
+            description = "Customer the account is opened for",
+            example = "6752d7a5c5ec2a3b8e0b3d41"
+    )
+    @NotEmpty(message = "Customer id cannot be null or empty")
+    private String customerId;
+
+    @Schema(
+            description = "Account type of the account",
+            example = "Savings"
+    )
+    @NotEmpty(message = "Account type cannot be null or empty")
+    private String accountType;
+
+    @Schema(
+            description = "Account Branch of the account",
+            example = "Kolkata"
+    )
+    @NotEmpty(message = "Branch cannot be null or empty")
+    private String branch;
+}
@@ -0,0 +1,48 @@
+package com.microservice.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(
+    name = "BulkAccountResult",
+    description = "Outcome of one line of a bulk account creation request"
+)
+public class BulkAccountResultDto {
+
+    @Schema(
+            description = "Line of the request this result belongs to, starting at 1",
+            example = "1"
+    )
+    private long line;
+
+    @Schema(
+            description = "Customer the account was requested for",
+            example = "6752d7a5c5ec2a3b8e0b3d41"
+    )
+    private String customerId;
+
+    @Schema(
+            description = "Account number of the created account",
+            example = "1234567890"
+    )
+    private String accountNumber;
+
+    @Schema(
+            description = "Outcome of the line",
+            example = "CREATED"
+    )
+    private String status;
+
+    @Schema(
+            description = "Reason the line was not created",
+            example = "Account already exists with given account type and branch"
+    )
+    private String message;
+}
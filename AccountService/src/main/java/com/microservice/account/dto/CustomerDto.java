@@ -46,5 +46,5 @@ public class CustomerDto {
     @Schema(
             description = "List of Accounts of the customer"
     )
-    private List<AccountDto> accounts;
+    private List<AccountSummaryDto> accounts;
 }
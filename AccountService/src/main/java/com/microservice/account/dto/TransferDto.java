@@ -0,0 +1,42 @@
+package com.microservice.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "Transfer",
+    description = "Schema to hold a transfer between two accounts"
+)
+public class TransferDto {
+
+    @Schema(
+            description = "Account number to debit",
+            example = "1234567890"
+    )
+    @NotEmpty(message = "From account number cannot be null or empty")
+    @Pattern(regexp = "(^$|[0-9]{10})", message = "Account number must be 10 digits")
+    private String fromAccountNumber;
+
+    @Schema(
+            description = "Account number to credit",
+            example = "1234567891"
+    )
+    @NotEmpty(message = "To account number cannot be null or empty")
+    @Pattern(regexp = "(^$|[0-9]{10})", message = "Account number must be 10 digits")
+    private String toAccountNumber;
+
+    @Schema(
+            description = "Amount in minor units (paise)",
+            example = "150075"
+    )
+    @Positive(message = "Amount must be a positive number")
+    private long amount;
+}
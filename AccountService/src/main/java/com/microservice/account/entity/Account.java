@@ -6,9 +6,14 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_customer_type_branch", columnNames = {"customer_id", "account_type", "branch"}),
+        indexes = @Index(name = "idx_account_status_branch", columnList = "status, branch")
+)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -24,8 +29,13 @@ public class Account extends BaseEntity {
     private String customerId;
     @Column(name = "account_type",nullable = false)
     private String accountType;
+    @Column(nullable = false)
     private String branch;
-    private Double balance;
+    @Column(precision = 19, scale = 2)
+    private BigDecimal balance;
     private String status;
     private String currency;
+    @Version
+    @Column(name = "version", columnDefinition = "bigint not null default 0")
+    private Long version;
 }
@@ -0,0 +1,32 @@
+package com.microservice.account.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Persistent "hi" value of the hi/lo account number sequence.
+ * <p>
+ * Every instance leases a block of numbers by bumping {@code nextHi} under a row lock,
+ * so blocks handed out to different nodes never overlap.
+ */
+@Entity
+@Table(name = "account_number_sequence")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountNumberSequence {
+
+    @Id
+    @Column(name = "sequence_name", nullable = false)
+    private String sequenceName;
+
+    @Column(name = "next_hi", nullable = false)
+    private long nextHi;
+}
@@ -0,0 +1,15 @@
+package com.microservice.account.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published after all accounts of a customer were deleted.
+ *
+ * @param customerId     the customer whose accounts were deleted
+ * @param accountNumbers the accounts the customer had right before the delete
+ * @param deletedCount   number of deleted accounts, 0 if the customer had none
+ * @param deletedAt      when the accounts were deleted
+ */
+public record AccountsDeletedEvent(String customerId, List<Long> accountNumbers, int deletedCount, LocalDateTime deletedAt) {
+}
@@ -0,0 +1,12 @@
+package com.microservice.account.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class AccountNotActiveException extends RuntimeException {
+
+    public AccountNotActiveException(Long accountNumber, String status) {
+        super(String.format("Account %s is not active, current status : %s", accountNumber, status));
+    }
+}
@@ -48,6 +48,27 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponseDto(request.getDescription(false),  HttpStatus.CONFLICT, ex.getMessage(), LocalDateTime.now()));
     }
 
+    @ExceptionHandler(InsufficientBalanceException.class)
+    public ResponseEntity<ErrorResponseDto> handleInsufficientBalanceException(InsufficientBalanceException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new ErrorResponseDto(request.getDescription(false),  HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(AccountNotActiveException.class)
+    public ResponseEntity<ErrorResponseDto> handleAccountNotActiveException(AccountNotActiveException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponseDto(request.getDescription(false),  HttpStatus.CONFLICT, ex.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponseDto> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponseDto(request.getDescription(false),  HttpStatus.BAD_REQUEST, ex.getMessage(), LocalDateTime.now()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponseDto> handleRuntimeException(RuntimeException ex, WebRequest request) {
         return ResponseEntity
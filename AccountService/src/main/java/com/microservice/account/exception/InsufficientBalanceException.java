@@ -0,0 +1,12 @@
+package com.microservice.account.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.UNPROCESSABLE_ENTITY)
+public class InsufficientBalanceException extends RuntimeException {
+
+    public InsufficientBalanceException(Long accountNumber) {
+        super(String.format("Insufficient balance in account %s", accountNumber));
+    }
+}
@@ -0,0 +1,141 @@
+package com.microservice.account.external;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microservice.account.dto.CustomerDto;
+import com.microservice.account.event.AccountsDeletedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded, TTL based near cache in front of the customer-service Feign client.
+ * <p>
+ * Customers are almost never deleted, so only positive answers are cached. A cached entry is dropped on
+ * {@link AccountsDeletedEvent}, published when customer-service asks this service to delete the accounts of a
+ * customer, which happens as part of every customer deletion. Hit and miss counts are published as {@code cache.*} metrics with {@code cache=customers}.
+ * <p>
+ * The eviction is local: only the instance that handled the account deletion drops the customer. Every other
+ * instance keeps answering that a deleted customer exists until its entry expires, so staleness is bounded only
+ * by {@code external.api.customer-service.cache.ttl}, and within that window an account can still be created for
+ * a customer whose accounts were already purged. Lower the TTL to narrow that window.
+ * <p>
+ * Batch lookups are split into calls of at most {@value #MAX_BATCH_SIZE} ids, the limit of the customer-service endpoint.
+ */
+@Component
+@Slf4j
+public class CustomerCache {
+
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final CustomerService customerService;
+    private final Cache<String, CustomerDto> customers;
+    private final Cache<String, Boolean> existingCustomers;
+
+    public CustomerCache(CustomerService customerService,
+                         MeterRegistry meterRegistry,
+                         @Value("${external.api.customer-service.cache.ttl:10m}") Duration ttl,
+                         @Value("${external.api.customer-service.cache.max-size:100000}") long maxSize) {
+        this.customerService = customerService;
+        this.customers = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.existingCustomers = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, customers, "customers");
+        CaffeineCacheMetrics.monitor(meterRegistry, existingCustomers, "customer-exists");
+    }
+
+    /**
+     * Make sure a customer exists.
+     *
+     * @param customerId the unique identifier of the customer
+     * @throws feign.FeignException.NotFound if customer-service does not know the customer
+     */
+    public void requireCustomer(String customerId) {
+        if (existingCustomers.getIfPresent(customerId) != null || customers.getIfPresent(customerId) != null) {
+            return;
+        }
+        customerService.isCustomerExist(customerId);
+        existingCustomers.put(customerId, Boolean.TRUE);
+    }
+
+    /**
+     * Get a customer by id.
+     *
+     * @param customerId the unique identifier of the customer
+     * @return a copy of the customer that the caller is free to modify
+     * @throws feign.FeignException.NotFound if customer-service does not know the customer
+     */
+    public CustomerDto getCustomer(String customerId) {
+        CustomerDto customer = customers.get(customerId, customerService::getCustomer);
+        existingCustomers.put(customerId, Boolean.TRUE);
+        return new CustomerDto(customer.getId(), customer.getFirstName(), customer.getLastName(),
+                customer.getEmail(), customer.getPhone(), null);
+    }
+
+    /**
+     * Check the existence of many customers. Cached customers are answered locally,
+     * the rest are resolved with batch calls to customer-service of at most {@value #MAX_BATCH_SIZE} ids each.
+     *
+     * @param customerIds the unique identifiers of the customers
+     * @return existence flag for every requested customer id
+     */
+    public Map<String, Boolean> customersExist(Collection<String> customerIds) {
+        Map<String, Boolean> result = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String customerId : customerIds) {
+            if (existingCustomers.getIfPresent(customerId) != null || customers.getIfPresent(customerId) != null) {
+                result.put(customerId, Boolean.TRUE);
+            } else {
+                misses.add(customerId);
+            }
+        }
+
+        List<String> missed = List.copyOf(misses);
+        for (int from = 0; from < missed.size(); from += MAX_BATCH_SIZE) {
+            List<String> batch = missed.subList(from, Math.min(from + MAX_BATCH_SIZE, missed.size()));
+            Map<String, Boolean> resolved = customerService.customersExist(batch);
+            for (String customerId : batch) {
+                boolean exists = Boolean.TRUE.equals(resolved.get(customerId));
+                if (exists) {
+                    existingCustomers.put(customerId, Boolean.TRUE);
+                }
+                result.put(customerId, exists);
+            }
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onAccountsDeleted(AccountsDeletedEvent event) {
+        evict(event.customerId());
+    }
+
+    /**
+     * Drop a customer from the cache, called when the customer is being deleted.
+     *
+     * @param customerId the unique identifier of the customer
+     */
+    public void evict(String customerId) {
+        customers.invalidate(customerId);
+        existingCustomers.invalidate(customerId);
+        log.debug("Evicted customer {} from near cache", customerId);
+    }
+}
@@ -5,6 +5,11 @@ import com.microservice.account.dto.ResponseDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.Map;
 
 @FeignClient(name = "customer-service", url = "${external.api.customer-service.url}", path = "/api/customers")
 public interface CustomerService {
@@ -21,4 +26,13 @@ public interface CustomerService {
     @GetMapping("/{customerId}")
     CustomerDto getCustomer(@PathVariable String customerId);
 
+    /**
+     * Check the existence of many customers in one call.
+     *
+     * @param customerIds the unique identifiers of the customers
+     * @return existence flag for every requested customer id
+     */
+    @PostMapping("/exists:batch")
+    Map<String, Boolean> customersExist(@RequestBody Collection<String> customerIds);
+
 }
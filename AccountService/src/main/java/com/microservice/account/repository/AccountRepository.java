@@ -1,20 +1,118 @@
 package com.microservice.account.repository;
 
+import com.microservice.account.dto.AccountKey;
+import com.microservice.account.dto.AccountSnapshot;
+import com.microservice.account.dto.AccountSummaryDto;
 import com.microservice.account.entity.Account;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account,Long> {
 
     Optional<Account> findByAccountNumber(Long accountNumber);
-    List<Account> findByCustomerId(String customerId);
+
+    @Query("select new com.microservice.account.dto.AccountSummaryDto(a.accountNumber, a.accountType, a.branch, a.status)" +
+            " from Account a where a.customerId = :customerId order by a.accountNumber")
+    List<AccountSummaryDto> findSummariesByCustomerId(@Param("customerId") String customerId);
+
+    boolean existsByCustomerIdAndAccountTypeAndBranch(String customerId, String accountType, String branch);
+
+    /**
+     * Balance and status of an account, without loading the entity and its audit columns.
+     */
+    @Query("select new com.microservice.account.dto.AccountSnapshot(a.accountNumber, a.customerId, a.balance, a.status, a.version)" +
+            " from Account a where a.accountNumber = :accountNumber")
+    Optional<AccountSnapshot> findSnapshotByAccountNumber(@Param("accountNumber") Long accountNumber);
+
+    /**
+     * Natural keys of all accounts of the given customers, used to find duplicates of a whole batch at once.
+     */
+    @Query("select new com.microservice.account.dto.AccountKey(a.customerId, a.accountType, a.branch)" +
+            " from Account a where a.customerId in :customerIds")
+    List<AccountKey> findKeysByCustomerIdIn(@Param("customerIds") Collection<String> customerIds);
+
+    @Query("select a.accountNumber from Account a where a.accountNumber between :from and :to")
+    List<Long> findAccountNumbersBetween(@Param("from") Long from, @Param("to") Long to);
+
+    /**
+     * Account numbers of a customer, covered by the unique key that starts with customer_id.
+     */
+    @Query("select a.accountNumber from Account a where a.customerId = :customerId")
+    List<Long> findAccountNumbersByCustomerId(@Param("customerId") String customerId);
+
+    /**
+     * Keyset page of accounts ordered by account number. Null filters are ignored.
+     */
+    @Query("select new com.microservice.account.dto.AccountSummaryDto(a.accountNumber, a.accountType, a.branch, a.status)" +
+            " from Account a where a.accountNumber > :after" +
+            " and (:status is null or a.status = :status)" +
+            " and (:branch is null or a.branch = :branch)" +
+            " and (:accountType is null or a.accountType = :accountType)" +
+            " order by a.accountNumber")
+    List<AccountSummaryDto> findPageAfter(@Param("after") Long after,
+                                          @Param("status") String status,
+                                          @Param("branch") String branch,
+                                          @Param("accountType") String accountType,
+                                          Limit limit);
+
+    /**
+     * Same filters as {@link #findPageAfter} but pulled through a server side cursor, must be consumed
+     * inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.microservice.account.dto.AccountSummaryDto(a.accountNumber, a.accountType, a.branch, a.status)" +
+            " from Account a where (:status is null or a.status = :status)" +
+            " and (:branch is null or a.branch = :branch)" +
+            " and (:accountType is null or a.accountType = :accountType)" +
+            " order by a.accountNumber")
+    Stream<AccountSummaryDto> streamAll(@Param("status") String status,
+                                        @Param("branch") String branch,
+                                        @Param("accountType") String accountType);
+
+    /**
+     * Debit an account only if it has the given status and enough balance. Bumps the version so that
+     * concurrent entity saves fail their optimistic lock check.
+     *
+     * @return number of updated rows, 0 when the account is missing, not in the status or short of funds
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, a.version = a.version + 1" +
+            " where a.accountNumber = :accountNumber and a.status = :status and a.balance >= :amount")
+    int debit(@Param("accountNumber") Long accountNumber, @Param("amount") BigDecimal amount, @Param("status") String status);
+
+    /**
+     * Credit an account only if it has the given status.
+     *
+     * @return number of updated rows, 0 when the account is missing or not in the status
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, a.version = a.version + 1" +
+            " where a.accountNumber = :accountNumber and a.status = :status")
+    int credit(@Param("accountNumber") Long accountNumber, @Param("amount") BigDecimal amount, @Param("status") String status);
+
+    /**
+     * Delete all accounts of a customer with a single statement instead of loading and deleting them one by one.
+     *
+     * @return number of deleted accounts
+     */
     @Transactional
-    @Modifying
-    void deleteAllByCustomerId(String customerId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Account a where a.customerId = :customerId")
+    int deleteAllByCustomerId(@Param("customerId") String customerId);
 }
@@ -0,0 +1,86 @@
+package com.microservice.account.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Serializes balance mutations per account inside this instance.
+ * <p>
+ * Accounts are hashed onto a fixed number of single threaded stripes, so all updates of one account run
+ * one after another on the same thread. Hot accounts such as payroll or merchant accounts then queue in memory
+ * instead of piling up on the same database row lock, while unrelated accounts still run in parallel.
+ */
+@Component
+@Slf4j
+public class AccountBalanceExecutor {
+
+    private final ExecutorService[] stripes;
+
+    public AccountBalanceExecutor(@Value("${accounts.balance.stripes:64}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("accounts.balance.stripes must be positive");
+        }
+        this.stripes = new ExecutorService[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            String threadName = "account-balance-" + i;
+            stripes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Run a balance mutation on the stripe owning the account and wait for its result.
+     * Must not be called from a task that is already running on a stripe.
+     *
+     * @param accountNumber the account that decides the stripe
+     * @param task          the mutation to run
+     * @return the result of the task
+     */
+    public <T> T execute(Long accountNumber, Supplier<T> task) {
+        Future<T> future = stripes[stripeOf(accountNumber)].submit(task::get);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while updating balance of account " + accountNumber);
+        }
+    }
+
+    private int stripeOf(Long accountNumber) {
+        return Math.floorMod(Long.hashCode(accountNumber), stripes.length);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ExecutorService stripe : stripes) {
+            try {
+                if (!stripe.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("Balance updates still running at shutdown");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
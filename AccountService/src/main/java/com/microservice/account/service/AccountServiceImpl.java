@@ -1,19 +1,42 @@
 package com.microservice.account.service;
 
+import com.microservice.account.allocator.AccountNumberAllocator;
 import com.microservice.account.constants.AccountStatus;
+import com.microservice.account.constants.BulkAccountStatus;
 import com.microservice.account.dto.*;
 import com.microservice.account.entity.Account;
+import com.microservice.account.event.AccountsDeletedEvent;
 import com.microservice.account.exception.AccountAlreadyExistException;
+import com.microservice.account.exception.AccountNotActiveException;
+import com.microservice.account.exception.InsufficientBalanceException;
 import com.microservice.account.exception.ResourceNotFoundException;
-import com.microservice.account.external.CustomerService;
+import com.microservice.account.external.CustomerCache;
 import com.microservice.account.mapper.AccountsMapper;
 import com.microservice.account.repository.AccountRepository;
 import feign.FeignException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,7 +44,16 @@ import java.util.List;
 public class AccountServiceImpl implements IAccountService {
 
     private final AccountRepository accountRepository;
-    private final CustomerService customerService;
+    private final CustomerCache customerCache;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountBalanceExecutor balanceExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountSnapshotCache snapshotCache;
+
+    @Value("${accounts.bulk.chunk-size:500}")
+    private int bulkChunkSize;
 
 
     /**
@@ -33,20 +65,19 @@ public class AccountServiceImpl implements IAccountService {
     @Override
     public void createAccount(String customerId, AccountDto accountDto) {
         try {
-            ResponseDto responseDto = customerService.isCustomerExist(customerId);
+            customerCache.requireCustomer(customerId);
 
-            accountRepository.findByCustomerId(customerId).forEach(account -> {
-
-                if (account.getAccountType().equals(accountDto.getAccountType()) && account.getBranch().equals(accountDto.getBranch())) {
-                    throw new AccountAlreadyExistException("Account already exists with given account type and branch");
-                }
-
-            });
+            if (accountRepository.existsByCustomerIdAndAccountTypeAndBranch(customerId, accountDto.getAccountType(), accountDto.getBranch())) {
+                throw new AccountAlreadyExistException("Account already exists with given account type and branch");
+            }
 
             Account account = createNewAccount(customerId, accountDto);
 
             accountRepository.save(account);
-        }catch (FeignException.NotFound e) {
+        } catch (DataIntegrityViolationException e) {
+//            A concurrent request created the same account, the unique key on (customer_id, account_type, branch) caught it.
+            throw new AccountAlreadyExistException("Account already exists with given account type and branch");
+        } catch (FeignException.NotFound e) {
             log.error("Customer not found with id {}", customerId);
             throw new ResourceNotFoundException("Customer", "customer id", customerId);
         } catch (FeignException.InternalServerError e) {
@@ -55,6 +86,105 @@ public class AccountServiceImpl implements IAccountService {
         }
     }
 
+    /**
+     * Create many accounts in chunks of {@code accounts.bulk.chunk-size} rows.
+     * <p>
+     * Per chunk the customers are checked with one batch call, duplicates are found with one query over the
+     * natural keys of all accounts of the chunk's customers, and the new accounts are inserted in one
+     * transaction, which Hibernate sends as JDBC batches.
+     *
+     * @param rows    the requested accounts, a {@code null} row stands for a line that could not be parsed
+     * @param results receives the outcome of every row
+     */
+    @Override
+    public void createAccounts(Iterator<BulkAccountRequestDto> rows, Consumer<BulkAccountResultDto> results) {
+        List<BulkAccountRequestDto> chunk = new ArrayList<>(bulkChunkSize);
+        long firstLine = 1;
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == bulkChunkSize) {
+                createChunk(firstLine, chunk, results);
+                firstLine += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            createChunk(firstLine, chunk, results);
+        }
+    }
+
+    private void createChunk(long firstLine, List<BulkAccountRequestDto> chunk, Consumer<BulkAccountResultDto> results) {
+        BulkAccountResultDto[] outcomes = new BulkAccountResultDto[chunk.size()];
+
+        Set<String> customerIds = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String violation = validate(chunk.get(i));
+            if (violation != null) {
+                outcomes[i] = bulkResult(firstLine + i, chunk.get(i), BulkAccountStatus.INVALID, violation);
+            } else {
+                customerIds.add(chunk.get(i).getCustomerId());
+            }
+        }
+
+        Map<String, Boolean> existingCustomers = customerIds.isEmpty() ? Map.of() : customerCache.customersExist(customerIds);
+        Set<AccountKey> takenKeys = customerIds.isEmpty() ? new HashSet<>() : new HashSet<>(accountRepository.findKeysByCustomerIdIn(customerIds));
+
+        Map<Integer, Account> newAccounts = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (outcomes[i] != null) {
+                continue;
+            }
+            BulkAccountRequestDto row = chunk.get(i);
+            if (!Boolean.TRUE.equals(existingCustomers.get(row.getCustomerId()))) {
+                outcomes[i] = bulkResult(firstLine + i, row, BulkAccountStatus.CUSTOMER_NOT_FOUND, "Customer not found with id " + row.getCustomerId());
+            } else if (!takenKeys.add(new AccountKey(row.getCustomerId(), row.getAccountType(), row.getBranch()))) {
+                outcomes[i] = bulkResult(firstLine + i, row, BulkAccountStatus.DUPLICATE, "Account already exists with given account type and branch");
+            } else {
+                AccountDto accountDto = new AccountDto();
+                accountDto.setAccountType(row.getAccountType());
+                accountDto.setBranch(row.getBranch());
+                newAccounts.put(i, createNewAccount(row.getCustomerId(), accountDto));
+            }
+        }
+
+        if (!newAccounts.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> accountRepository.saveAll(newAccounts.values()));
+                newAccounts.forEach((i, account) -> {
+                    outcomes[i] = bulkResult(firstLine + i, chunk.get(i), BulkAccountStatus.CREATED, null);
+                    outcomes[i].setAccountNumber(String.valueOf(account.getAccountNumber()));
+                });
+            } catch (RuntimeException e) {
+                log.error("Error creating {} accounts starting at line {}: {}", newAccounts.size(), firstLine, e.getMessage());
+                newAccounts.keySet().forEach(i -> outcomes[i] = bulkResult(firstLine + i, chunk.get(i), BulkAccountStatus.FAILED, "Account could not be stored"));
+            }
+        }
+
+        for (BulkAccountResultDto outcome : outcomes) {
+            results.accept(outcome);
+        }
+    }
+
+    private String validate(BulkAccountRequestDto row) {
+        if (row == null) {
+            return "Line is not a valid account request";
+        }
+        return validator.validate(row).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static BulkAccountResultDto bulkResult(long line, BulkAccountRequestDto row, BulkAccountStatus status, String message) {
+        return BulkAccountResultDto.builder()
+                .line(line)
+                .customerId(row == null ? null : row.getCustomerId())
+                .status(status.name())
+                .message(message)
+                .build();
+    }
+
     /**
      * Update an existing account.
      *
@@ -69,6 +199,7 @@ public class AccountServiceImpl implements IAccountService {
 
             AccountsMapper.mapToAccount(accountDto, account, "update");
             accountRepository.save(account);
+            snapshotCache.invalidate(account.getAccountNumber());
             isUpdated = true;
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -81,13 +212,35 @@ public class AccountServiceImpl implements IAccountService {
     }
 
     /**
-     * Retrieve all accounts.
+     * Retrieve one page of accounts ordered by account number.
+     * <p>
+     * One extra row is fetched to know whether a next page exists without a count query.
      *
-     * @return a list of accounts
+     * @return the page of accounts with the cursor of the next page
      */
     @Override
-    public List<AccountDto> getAllAccounts() {
-        return accountRepository.findAll().stream().map(account -> AccountsMapper.mapToAccountsDto(account, new AccountDto())).toList();
+    public AccountPageDto getAccounts(Long after, int limit, String status, String branch, String accountType) {
+        List<AccountSummaryDto> accounts = accountRepository.findPageAfter(after == null ? 0L : after, status, branch, accountType, Limit.of(limit + 1));
+
+        boolean hasNext = accounts.size() > limit;
+        List<AccountSummaryDto> page = hasNext ? accounts.subList(0, limit) : accounts;
+        String nextCursor = hasNext ? page.get(page.size() - 1).accountNumber() : null;
+
+        return new AccountPageDto(page, nextCursor, limit);
+    }
+
+    /**
+     * Stream all accounts matching the filters.
+     * <p>
+     * Rows are read through a database cursor straight into summaries that are never managed by the persistence
+     * context, so memory stays flat whatever the table size.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAccounts(String status, String branch, String accountType, Consumer<AccountSummaryDto> consumer) {
+        try (Stream<AccountSummaryDto> accounts = accountRepository.streamAll(status, branch, accountType)) {
+            accounts.forEach(consumer);
+        }
     }
 
     /**
@@ -112,13 +265,9 @@ public class AccountServiceImpl implements IAccountService {
     @Override
     public CustomerDto getAccountsByCustomerId(String customerId) {
         try {
-            CustomerDto customer = customerService.getCustomer(customerId);
-
-            List<AccountDto> accountListByCustomer = accountRepository.findByCustomerId(customerId)
-                    .stream()
-                    .map(account -> AccountsMapper.mapToAccountsDto(account, new AccountDto())).toList();
+            CustomerDto customer = customerCache.getCustomer(customerId);
 
-            customer.setAccounts(accountListByCustomer);
+            customer.setAccounts(accountRepository.findSummariesByCustomerId(customerId));
             return customer;
         } catch (FeignException.InternalServerError e) {
             log.error("Something went Wrong with customer service");
@@ -128,6 +277,17 @@ public class AccountServiceImpl implements IAccountService {
         }
     }
 
+    /**
+     * Retrieve the accounts of a customer without resolving the customer itself.
+     *
+     * @param customerId the unique identifier of the customer
+     * @return the accounts of the customer, empty if there are none
+     */
+    @Override
+    public List<AccountSummaryDto> getAccountsOfCustomer(String customerId) {
+        return accountRepository.findSummariesByCustomerId(customerId);
+    }
+
     /**
      * Deletes an account by accountNumber.
      *
@@ -140,6 +300,7 @@ public class AccountServiceImpl implements IAccountService {
         AccountDto accountById = getAccountById(accountNumber);
         if (accountById != null) {
             accountRepository.deleteById(accountNumber);
+            snapshotCache.invalidate(accountNumber);
             isDeleted = true;
         }
 
@@ -148,6 +309,8 @@ public class AccountServiceImpl implements IAccountService {
 
     /**
      * Delete all accounts associated with a customer.
+     * <p>
+     * Called by customer-service once the customer is already deleted there, so the customer is not looked up.
      *
      * @param customerId the unique identifier of the customer
      * @return true if all accounts were deleted, false otherwise
@@ -155,21 +318,12 @@ public class AccountServiceImpl implements IAccountService {
     @Override
     public boolean deleteAccountByCustomerId(String customerId) {
 
-        try {
-            customerService.getCustomer(customerId);
-
-            accountRepository.deleteAllByCustomerId(customerId);
-
-            return true;
-        } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("Customer", "customer id", customerId);
+        List<Long> accountNumbers = accountRepository.findAccountNumbersByCustomerId(customerId);
+        int deleted = accountRepository.deleteAllByCustomerId(customerId);
+        log.info("Deleted {} accounts of customer {}", deleted, customerId);
+        eventPublisher.publishEvent(new AccountsDeletedEvent(customerId, accountNumbers, deleted, LocalDateTime.now()));
 
-        } catch (FeignException.InternalServerError e) {
-            log.error("Something went Wrong with customer service");
-            throw new RuntimeException("Something went Wrong");
-        } catch (Exception e) {
-            throw new RuntimeException(e.getMessage());
-        }
+        return true;
     }
 
     /**
@@ -188,6 +342,7 @@ public class AccountServiceImpl implements IAccountService {
                     .orElseThrow(() -> new ResourceNotFoundException("Account", "account number", accountStatusDto.getAccountNumber().toString()));
             account.setStatus(accountStatusDto.getStatus().name());
             accountRepository.save(account);
+            snapshotCache.invalidate(account.getAccountNumber());
             isUpdated = true;
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -204,6 +359,7 @@ public class AccountServiceImpl implements IAccountService {
                     .orElseThrow(() -> new ResourceNotFoundException("Account", "account number", accountNumber.toString()));
             account.setStatus(AccountStatus.CLOSED.name());
             accountRepository.save(account);
+            snapshotCache.invalidate(accountNumber);
             isClosed = true;
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -221,9 +377,9 @@ public class AccountServiceImpl implements IAccountService {
      */
     @Override
     public AccountStatusDto getAccountStatus(Long accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        AccountSnapshot snapshot = snapshotCache.get(accountNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", "account number", accountNumber.toString()));
-        return new AccountStatusDto(account.getAccountNumber(), AccountStatus.valueOf(account.getStatus()));
+        return new AccountStatusDto(snapshot.accountNumber(), AccountStatus.valueOf(snapshot.status()));
     }
 
     /**
@@ -235,11 +391,133 @@ public class AccountServiceImpl implements IAccountService {
      */
     @Override
     public AccountBalanceDto getAccountBalance(Long accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        AccountSnapshot snapshot = snapshotCache.get(accountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "account number", accountNumber.toString()));
+        return new AccountBalanceDto(snapshot.balance());
+    }
+
+
+    /**
+     * Credits an active account.
+     * <p>
+     * The update runs on the account's stripe of {@link AccountBalanceExecutor} as a single conditional UPDATE,
+     * so concurrent credits never lose updates. The balance is read back in the same transaction, the cached
+     * snapshot is dropped once it is committed.
+     *
+     * @param accountNumber the account to credit
+     * @param amount        the amount in minor units
+     * @return the balance after the credit
+     */
+    @Override
+    public AccountBalanceDto creditAccount(Long accountNumber, long amount) {
+        BigDecimal value = toMajorUnits(amount);
+        return balanceExecutor.execute(accountNumber, () -> {
+            AccountBalanceDto balance = transactionTemplate.execute(status -> {
+                applyCredit(accountNumber, value);
+                return currentBalance(accountNumber);
+            });
+            snapshotCache.invalidate(accountNumber);
+            return balance;
+        });
+    }
+
+    /**
+     * Debits an active account if it has enough balance.
+     * <p>
+     * The balance check and the update are one {@code UPDATE ... WHERE balance >= ?} statement.
+     *
+     * @param accountNumber the account to debit
+     * @param amount        the amount in minor units
+     * @return the balance after the debit
+     * @throws InsufficientBalanceException if the balance is lower than the amount
+     */
+    @Override
+    public AccountBalanceDto debitAccount(Long accountNumber, long amount) {
+        BigDecimal value = toMajorUnits(amount);
+        return balanceExecutor.execute(accountNumber, () -> {
+            AccountBalanceDto balance = transactionTemplate.execute(status -> {
+                applyDebit(accountNumber, value);
+                return currentBalance(accountNumber);
+            });
+            snapshotCache.invalidate(accountNumber);
+            return balance;
+        });
+    }
+
+    /**
+     * Moves money between two active accounts in one database transaction.
+     * <p>
+     * The transfer is sequenced on the stripe of the debited account. Rows are always updated in ascending
+     * account number order so that two opposite transfers cannot deadlock; a failed debit rolls back the credit.
+     *
+     * @param transferDto the accounts and the amount in minor units
+     */
+    @Override
+    public void transfer(TransferDto transferDto) {
+        Long from = Long.parseLong(transferDto.getFromAccountNumber());
+        Long to = Long.parseLong(transferDto.getToAccountNumber());
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        BigDecimal value = toMajorUnits(transferDto.getAmount());
+
+        balanceExecutor.execute(from, () -> {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (from < to) {
+                    applyDebit(from, value);
+                    applyCredit(to, value);
+                } else {
+                    applyCredit(to, value);
+                    applyDebit(from, value);
+                }
+            });
+            snapshotCache.invalidate(from);
+            snapshotCache.invalidate(to);
+            return null;
+        });
+    }
+
+    /**
+     * Balance straight from the database, for use inside a mutating transaction where the cache must not be filled.
+     */
+    private AccountBalanceDto currentBalance(Long accountNumber) {
+        AccountSnapshot snapshot = accountRepository.findSnapshotByAccountNumber(accountNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", "account number", accountNumber.toString()));
-        return new AccountBalanceDto(account.getBalance());
+        return new AccountBalanceDto(snapshot.balance());
+    }
+
+    private void applyCredit(Long accountNumber, BigDecimal amount) {
+        if (accountRepository.credit(accountNumber, amount, AccountStatus.ACTIVE.name()) == 0) {
+            RuntimeException rejected = rejectedUpdate(accountNumber);
+            throw rejected != null ? rejected : new RuntimeException("Something went wrong while crediting account");
+        }
     }
 
+    private void applyDebit(Long accountNumber, BigDecimal amount) {
+        if (accountRepository.debit(accountNumber, amount, AccountStatus.ACTIVE.name()) == 0) {
+            RuntimeException rejected = rejectedUpdate(accountNumber);
+            throw rejected != null ? rejected : new InsufficientBalanceException(accountNumber);
+        }
+    }
+
+    /**
+     * Works out why a conditional balance update touched no row. Returns null when the account exists
+     * and is active, which for a debit means the balance was too low.
+     */
+    private RuntimeException rejectedUpdate(Long accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElse(null);
+        if (account == null) {
+            return new ResourceNotFoundException("Account", "account number", accountNumber.toString());
+        }
+        if (!AccountStatus.ACTIVE.name().equals(account.getStatus())) {
+            return new AccountNotActiveException(accountNumber, account.getStatus());
+        }
+        return null;
+    }
+
+    private static BigDecimal toMajorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, 2);
+    }
 
     /**
      * Creates a new account based on the provided customerId and accountDto.
@@ -250,23 +528,15 @@ public class AccountServiceImpl implements IAccountService {
      */
     private Account createNewAccount(String customerId, AccountDto accountDto) {
 
-        System.out.println(accountDto);
-
         Account newAccount = new Account();
         newAccount.setCustomerId(customerId);
         newAccount.setAccountType(accountDto.getAccountType());
         newAccount.setBranch(accountDto.getBranch());
-        newAccount.setBalance(0.0);
+        newAccount.setBalance(BigDecimal.ZERO);
         newAccount.setCurrency("Rupees");
         newAccount.setStatus(AccountStatus.UNDER_REVIEW.name());
 
-        long accNumber = 1000000000L + (long) (Math.random() * 9000000000L);
-
-        while (accountRepository.findByAccountNumber(accNumber).isPresent()) {
-            accNumber = 1000000000L + (long) (Math.random() * 9000000000L);
-        }
-
-        newAccount.setAccountNumber(accNumber);
+        newAccount.setAccountNumber(accountNumberAllocator.nextAccountNumber());
 
         return newAccount;
     }
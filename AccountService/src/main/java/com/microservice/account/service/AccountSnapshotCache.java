@@ -0,0 +1,104 @@
+package com.microservice.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microservice.account.dto.AccountSnapshot;
+import com.microservice.account.event.AccountsDeletedEvent;
+import com.microservice.account.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of account balance and status.
+ * <p>
+ * Misses load only the snapshot columns, not the whole entity. Every balance mutation and status change of
+ * {@link AccountServiceImpl} invalidates the account once its transaction is committed. A load that is still
+ * running for the account finishes before the invalidation, so an entry read before the commit never outlives
+ * it. Changes made by other instances are only seen once the entry expires after
+ * {@code accounts.snapshot-cache.ttl}, which bounds the staleness.
+ * <p>
+ * Hit and miss counts are published as {@code cache.*} metrics with {@code cache=account-snapshots}, and the
+ * age of every snapshot served from the cache as {@code accounts.snapshot.cache.staleness}.
+ */
+@Component
+@Slf4j
+public class AccountSnapshotCache {
+
+    private final AccountRepository accountRepository;
+    private final Cache<Long, CachedSnapshot> snapshots;
+    private final Timer staleness;
+
+    public AccountSnapshotCache(AccountRepository accountRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${accounts.snapshot-cache.ttl:30s}") Duration ttl,
+                                @Value("${accounts.snapshot-cache.max-size:200000}") long maxSize) {
+        this.accountRepository = accountRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.staleness = Timer.builder("accounts.snapshot.cache.staleness")
+                .description("Age of account snapshots served from the cache")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "account-snapshots");
+    }
+
+    /**
+     * Balance and status of an account, from the cache when present.
+     *
+     * @param accountNumber the unique identifier of the account
+     * @return the snapshot, empty if the account does not exist
+     */
+    public Optional<AccountSnapshot> get(Long accountNumber) {
+        long now = System.nanoTime();
+        CachedSnapshot cached = snapshots.get(accountNumber, this::load);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (cached.loadedAtNanos() < now) {
+            staleness.record(Duration.ofNanos(now - cached.loadedAtNanos()));
+        }
+        return Optional.of(cached.snapshot());
+    }
+
+    /**
+     * Drop an account from the cache. Call after the transaction that changed it is committed.
+     *
+     * @param accountNumber the unique identifier of the account
+     */
+    public void invalidate(Long accountNumber) {
+        snapshots.invalidate(accountNumber);
+    }
+
+    /**
+     * Evict the accounts the customer had right before the delete. An account opened between that read and the
+     * delete is not evicted, it expires after the TTL like changes made by other instances.
+     */
+    @EventListener
+    public void onAccountsDeleted(AccountsDeletedEvent event) {
+        snapshots.invalidateAll(event.accountNumbers());
+        log.debug("Evicted accounts of customer {} from snapshot cache", event.customerId());
+    }
+
+    /**
+     * Missing accounts are not cached, the loader answers null for them.
+     */
+    private CachedSnapshot load(Long accountNumber) {
+        return accountRepository.findSnapshotByAccountNumber(accountNumber)
+                .map(snapshot -> new CachedSnapshot(snapshot, System.nanoTime()))
+                .orElse(null);
+    }
+
+    private record CachedSnapshot(AccountSnapshot snapshot, long loadedAtNanos) {
+    }
+}
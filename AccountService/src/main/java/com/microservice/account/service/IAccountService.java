@@ -2,10 +2,17 @@ package com.microservice.account.service;
 
 import com.microservice.account.dto.AccountBalanceDto;
 import com.microservice.account.dto.AccountDto;
+import com.microservice.account.dto.AccountPageDto;
 import com.microservice.account.dto.AccountStatusDto;
+import com.microservice.account.dto.AccountSummaryDto;
+import com.microservice.account.dto.BulkAccountRequestDto;
+import com.microservice.account.dto.BulkAccountResultDto;
 import com.microservice.account.dto.CustomerDto;
+import com.microservice.account.dto.TransferDto;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for account service operations.
@@ -29,11 +36,26 @@ public interface IAccountService {
     boolean updateAccount(AccountDto accountDto);
 
     /**
-     * Retrieve all accounts.
+     * Retrieve one page of accounts ordered by account number.
      *
-     * @return a list of accounts
+     * @param after       account number to start after, null for the first page
+     * @param limit       maximum number of accounts in the page
+     * @param status      optional status filter
+     * @param branch      optional branch filter
+     * @param accountType optional account type filter
+     * @return the page of accounts with the cursor of the next page
      */
-    List<AccountDto> getAllAccounts();
+    AccountPageDto getAccounts(Long after, int limit, String status, String branch, String accountType);
+
+    /**
+     * Stream all accounts matching the filters to the given consumer, one at a time.
+     *
+     * @param status      optional status filter
+     * @param branch      optional branch filter
+     * @param accountType optional account type filter
+     * @param consumer    receives every matching account
+     */
+    void streamAccounts(String status, String branch, String accountType, Consumer<AccountSummaryDto> consumer);
 
     /**
      * Retrieve a specific account by id.
@@ -51,6 +73,23 @@ public interface IAccountService {
      */
     CustomerDto getAccountsByCustomerId(String customerId);
 
+    /**
+     * Create many accounts in chunks. Every row gets exactly one result, in request order.
+     *
+     * @param rows    the requested accounts, a {@code null} row stands for a line that could not be parsed
+     * @param results receives the outcome of every row
+     */
+    void createAccounts(Iterator<BulkAccountRequestDto> rows, Consumer<BulkAccountResultDto> results);
+
+    /**
+     * Retrieve the accounts of a customer without resolving the customer itself.
+     * Used by callers that already hold the customer, such as customer-service.
+     *
+     * @param customerId the unique identifier of the customer
+     * @return the accounts of the customer, empty if there are none
+     */
+    List<AccountSummaryDto> getAccountsOfCustomer(String customerId);
+
 
     /**
      * Delete an existing account.
@@ -74,4 +113,29 @@ public interface IAccountService {
     AccountStatusDto getAccountStatus(Long accountNumber);
 
     AccountBalanceDto getAccountBalance(Long accountNumber);
+
+    /**
+     * Credit an active account.
+     *
+     * @param accountNumber the account to credit
+     * @param amount        the amount in minor units
+     * @return the balance after the credit
+     */
+    AccountBalanceDto creditAccount(Long accountNumber, long amount);
+
+    /**
+     * Debit an active account if it has enough balance.
+     *
+     * @param accountNumber the account to debit
+     * @param amount        the amount in minor units
+     * @return the balance after the debit
+     */
+    AccountBalanceDto debitAccount(Long accountNumber, long amount);
+
+    /**
+     * Move money between two active accounts atomically.
+     *
+     * @param transferDto the accounts and the amount in minor units
+     */
+    void transfer(TransferDto transferDto);
 }
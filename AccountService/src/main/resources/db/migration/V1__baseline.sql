@@ -0,0 +1,18 @@
+-- Schema as it was managed by hibernate ddl-auto before migrations were introduced.
+-- Existing databases are baselined at this version and skip this script, so everything added since goes into
+-- the later versions.
+
+CREATE TABLE IF NOT EXISTS account (
+    account_number BIGINT         NOT NULL,
+    customer_id    VARCHAR(255)   NOT NULL,
+    account_type   VARCHAR(255)   NOT NULL,
+    branch         VARCHAR(255),
+    balance        DOUBLE,
+    status         VARCHAR(255),
+    currency       VARCHAR(255),
+    created_at     DATETIME(6),
+    created_by     VARCHAR(255),
+    updated_at     DATETIME(6),
+    updated_by     VARCHAR(255),
+    PRIMARY KEY (account_number)
+) ENGINE = InnoDB;
@@ -0,0 +1,39 @@
+-- Changes since the baseline. Databases that kept running on ddl-auto update after it may already have the new
+-- columns and tables, so those are only added when missing.
+
+-- Optimistic locking version. MySQL has no ADD COLUMN IF NOT EXISTS, the statement is picked from information_schema.
+SET @add_version = IF(
+    (SELECT COUNT(*) FROM information_schema.columns
+     WHERE table_schema = DATABASE() AND table_name = 'account' AND column_name = 'version') = 0,
+    'ALTER TABLE account ADD COLUMN version BIGINT NOT NULL DEFAULT 0',
+    'DO 0');
+PREPARE add_version FROM @add_version;
+EXECUTE add_version;
+DEALLOCATE PREPARE add_version;
+
+-- Every account has a branch since the API requires one. Accounts created before get a placeholder of their own,
+-- so that the unique key below does not reject accounts that were allowed until now.
+UPDATE account SET version = 0 WHERE version IS NULL;
+UPDATE account SET branch = CONCAT('UNASSIGNED-', account_number) WHERE branch IS NULL;
+
+-- ddl-auto update only adds columns, it never changes their type or nullability.
+ALTER TABLE account
+    MODIFY balance DECIMAL(19, 2),
+    MODIFY version BIGINT NOT NULL DEFAULT 0,
+    MODIFY branch VARCHAR(255) NOT NULL;
+
+-- Hi/lo account number sequence.
+CREATE TABLE IF NOT EXISTS account_number_sequence (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_hi       BIGINT       NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+-- A customer holds at most one account of a type per branch. The leftmost prefix also serves
+-- the lookups and deletes by customer_id.
+ALTER TABLE account
+    ADD CONSTRAINT uk_account_customer_type_branch UNIQUE (customer_id, account_type, branch);
+
+-- Filters of the account listing and export; InnoDB appends the primary key, so the keyset
+-- order on account_number is covered as well.
+CREATE INDEX idx_account_status_branch ON account (status, branch);
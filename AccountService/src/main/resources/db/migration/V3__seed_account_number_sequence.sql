@@ -0,0 +1,3 @@
+-- Seed the hi/lo account number sequence, so that instances only ever lock and update an existing row.
+-- Creating it on first use made concurrent instances race on the gap lock of the empty table.
+INSERT IGNORE INTO account_number_sequence (sequence_name, next_hi) VALUES ('account_number', 0);
@@ -18,6 +18,7 @@ public class AppConstants {
     public static final String STATUS_417 = "417";
     public static final String MESSAGE_417_UPDATE = "Update operation failed. Please try again or contact Dev team";
     public static final String MESSAGE_417_DELETE = "Delete operation failed. Please try again or contact Dev team";
+    public static final String MESSAGE_417_RETRY = "Only a failed customer deletion can be retried";
     public static final String STATUS_404 = "404";
     public static final String MESSAGE_404 = "Customer not found";
     public static final String MESSAGE_404_ADDRESS = "Address not found";
@@ -0,0 +1,8 @@
+package com.microservice.customer.constants;
+
+public enum DeletionStatus {
+    PENDING,     // Still to be purged, retried in the background
+    COMPLETED,   // Purged
+    FAILED,      // Gave up, listed in the reconciliation report until retried
+    CANCELLED    // Refused before anything was purged, the customer was restored
+}
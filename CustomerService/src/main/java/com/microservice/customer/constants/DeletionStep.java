@@ -0,0 +1,8 @@
+package com.microservice.customer.constants;
+
+public enum DeletionStep {
+    LOANS,       // Loans of the customer in loan-service, first because loan-service refuses while loans are payable
+    ACCOUNTS,    // Accounts of the customer in account-service
+    CARDS,       // Cards of the customer in card-service
+    ADDRESSES    // Addresses left in the legacy Addresses collection
+}
@@ -0,0 +1,7 @@
+package com.microservice.customer.constants;
+
+public enum SignupStatus {
+    CREATED,     // Customer was created
+    DUPLICATE,   // Another customer already has this email or phone
+    FAILED       // Customer could not be stored
+}
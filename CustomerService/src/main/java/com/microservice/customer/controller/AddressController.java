@@ -15,6 +15,7 @@ import com.microservice.customer.service.impl.CustomerServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
@@ -100,6 +101,16 @@ public class AddressController {
         }
     }
 
+    @Operation(
+            summary = "Replace all address for a customer REST API",
+            description = "REST API to replace all address for a customer by customer id in a single write, address without id are created"
+    )
+    @PutMapping("/customer/{customerId}/addresses")
+    @ApiResponse_200_500
+    public ResponseEntity<List<AddressDto>> replaceAddresses(@PathVariable String customerId, @RequestBody @Size(max = 100, message = "A customer can have at most 100 address") List<@Valid AddressDto> addressDtos) {
+        return new ResponseEntity<>(addressService.replaceAddresses(customerId, addressDtos), HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Delete address REST API",
             description = "REST API to delete address by address id"
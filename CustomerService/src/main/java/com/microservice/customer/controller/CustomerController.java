@@ -1,26 +1,47 @@
 package com.microservice.customer.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservice.customer.annotation.ApiResponse_200_417_500;
 import com.microservice.customer.annotation.ApiResponse_200_500;
 import com.microservice.customer.annotation.ApiResponse_201_500;
 import com.microservice.customer.constants.AppConstants;
+import com.microservice.customer.dto.Customer360Dto;
+import com.microservice.customer.dto.CustomerDeletionDto;
+import com.microservice.customer.dto.CustomerDeletionReportDto;
 import com.microservice.customer.dto.CustomerDto;
+import com.microservice.customer.dto.CustomerPageDto;
+import com.microservice.customer.dto.CustomerSignupResultDto;
 import com.microservice.customer.dto.CustomerUpdateDto;
 import com.microservice.customer.dto.CustomersContactInfo;
 import com.microservice.customer.dto.ResponseDto;
+import com.microservice.customer.service.ICustomerDeletionService;
 import com.microservice.customer.service.ICustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -32,15 +53,23 @@ import org.springframework.web.bind.annotation.*;
 )
 public class CustomerController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final List<String> CSV_HEADER = List.of("id", "first_name", "last_name", "email", "phone", "date_of_birth", "gender");
+
     private final ICustomerService ICustomerService;
+    private final ICustomerDeletionService customerDeletionService;
     private final CustomersContactInfo customersContactInfo;
+    private final ObjectMapper objectMapper;
 
     @Value("${build.version}")
     private String buildVersion;
 
-    public CustomerController(ICustomerService ICustomerService, CustomersContactInfo customersContactInfo) {
+    public CustomerController(ICustomerService ICustomerService, ICustomerDeletionService customerDeletionService,
+                              CustomersContactInfo customersContactInfo, ObjectMapper objectMapper) {
         this.customersContactInfo = customersContactInfo;
         this.ICustomerService = ICustomerService;
+        this.customerDeletionService = customerDeletionService;
+        this.objectMapper = objectMapper;
     }
 
 
@@ -100,18 +129,118 @@ public class CustomerController {
 
 
     /**
-     * Retrieve a list of all customers in the database.
+     * Create many customers in one call.
      *
-     * @return ResponseEntity containing the List of CustomerDto and HTTP status.
+     * @param customerDtos The customers to create.
+     * @return ResponseEntity containing the outcome of every customer and HTTP status.
      */
     @Operation(
-            summary = "Get All Customer REST API",
-            description = "REST API to fetch all customer details"
+            summary = "Batch Create Customers REST API",
+            description = "REST API to create many customers at once, a duplicate email or phone only rejects its own customer"
+    )
+    @ApiResponse_200_500
+    @PostMapping("/batch")
+    public ResponseEntity<List<CustomerSignupResultDto>> createCustomers(@RequestBody @NotEmpty(message = "Customers can not be empty") @Size(max = 1000, message = "At most 1000 customers can be created at once") List<@Valid CustomerDto> customerDtos) {
+        return new ResponseEntity<>(ICustomerService.createCustomers(customerDtos), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieve one page of customers ordered by ID.
+     *
+     * @param after The ID of the last customer of the previous page.
+     * @param limit The maximum number of customers to return.
+     * @return ResponseEntity containing the page of customers and HTTP status.
+     */
+    @Operation(
+            summary = "Get Customers REST API",
+            description = "REST API to fetch customers page by page, pass the returned nextCursor as 'after' to get the next page"
     )
     @ApiResponse_200_500
     @GetMapping
-    public ResponseEntity<?> getAllCustomers() {
-        return new ResponseEntity<>(ICustomerService.getAllCustomers(), HttpStatus.OK);
+    public ResponseEntity<CustomerPageDto> getCustomers(@Pattern(regexp = "[0-9a-fA-F]{24}", message = "after must be a customer id") @RequestParam(required = false) String after,
+                                                        @Min(value = 1, message = "limit must be at least 1") @Max(value = 1000, message = "limit must be at most 1000") @RequestParam(defaultValue = "100") int limit) {
+        return new ResponseEntity<>(ICustomerService.getCustomers(after, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Stream all customers as newline delimited JSON, one customer per line.
+     *
+     * @return ResponseEntity containing the streamed customers and HTTP status.
+     */
+    @Operation(
+            summary = "Export Customers REST API",
+            description = "REST API to stream all customers as newline delimited JSON"
+    )
+    @ApiResponse_200_500
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+        StreamingResponseBody body = outputStream ->
+                ICustomerService.streamCustomers(customer -> writeJsonLine(outputStream, customer));
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Stream all customers as CSV with a header row, one customer per row.
+     *
+     * @return ResponseEntity containing the streamed customers and HTTP status.
+     */
+    @Operation(
+            summary = "Export Customers as CSV REST API",
+            description = "REST API to stream all customers as CSV, selected with 'Accept: text/csv'"
+    )
+    @ApiResponse_200_500
+    @GetMapping(path = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCustomersCsv() {
+        StreamingResponseBody body = outputStream -> {
+            writeCsvLine(outputStream, CSV_HEADER);
+            ICustomerService.streamCustomers(customer -> writeCsvLine(outputStream, List.of(
+                    customer.id(), customer.firstName(), customer.lastName(), customer.email(),
+                    customer.phone(), customer.dateOfBirth(), customer.gender())));
+        };
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                .body(body);
+    }
+
+    private void writeJsonLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvLine(OutputStream outputStream, List<String> values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(csvField(values.get(i)));
+        }
+        line.append("\r\n");
+        try {
+            outputStream.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
     }
 
     /**
@@ -130,6 +259,27 @@ public class CustomerController {
         return new ResponseEntity<>(ICustomerService.getCustomer(customerId), HttpStatus.OK);
     }
 
+    /**
+     * Get a customer together with their accounts, loans and cards.
+     * <p>
+     * Account, loan and card service are called concurrently. If one of them fails or is too slow,
+     * its part is left empty and the response is marked as degraded.
+     *
+     * @param customerId the id of the customer
+     * @return the 360 view of the customer
+     */
+    @Operation(
+            summary = "Get Customer 360 REST API",
+            description = "REST API to get a customer together with their accounts, loans and cards"
+    )
+    @ApiResponse_200_500
+    @GetMapping("/{customerId}/360")
+    public ResponseEntity<Customer360Dto> getCustomer360(@PathVariable String customerId) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ICustomerService.getCustomer360(customerId));
+    }
+
     /**
      * Update an existing customer with the given ID.
      *
@@ -157,13 +307,16 @@ public class CustomerController {
 
     /**
      * Delete a customer by their ID.
+     * <p>
+     * The customer is gone once this returns, its accounts, loans, cards and addresses are purged in the background.
+     * A customer with outstanding loans is not deleted, the request answers 409.
      *
      * @param customerId The ID of the customer to delete.
      * @return ResponseEntity containing the Response and HTTP status.
      */
     @Operation(
             summary = "Delete customer details REST API",
-            description = "REST API to delete a customer details"
+            description = "REST API to delete a customer details, the data of the customer in the other services is purged in the background"
     )
     @ApiResponse_200_417_500
     @DeleteMapping("/{customerId}")
@@ -177,6 +330,58 @@ public class CustomerController {
     }
 
 
+    /**
+     * Retrieve the progress of a customer deletion.
+     *
+     * @param customerId The ID of the deleted customer.
+     * @return ResponseEntity containing the progress of every purge step and HTTP status.
+     */
+    @Operation(
+            summary = "Get Customer Deletion REST API",
+            description = "REST API to fetch the progress of the purge of a deleted customer"
+    )
+    @ApiResponse_200_500
+    @GetMapping("/deletions/{customerId}")
+    public ResponseEntity<CustomerDeletionDto> getDeletion(@PathVariable String customerId) {
+        return new ResponseEntity<>(customerDeletionService.getDeletion(customerId), HttpStatus.OK);
+    }
+
+    /**
+     * Reconcile the customer deletions.
+     *
+     * @param limit The maximum number of deletions to list.
+     * @return ResponseEntity containing the reconciliation report and HTTP status.
+     */
+    @Operation(
+            summary = "Customer Deletion Report REST API",
+            description = "REST API to count customer deletions by status and list those that failed or left the customer behind"
+    )
+    @ApiResponse_200_500
+    @GetMapping("/deletions/report")
+    public ResponseEntity<CustomerDeletionReportDto> getDeletionReport(@Min(value = 1, message = "limit must be at least 1") @Max(value = 1000, message = "limit must be at most 1000") @RequestParam(defaultValue = "100") int limit) {
+        return new ResponseEntity<>(customerDeletionService.getReport(limit), HttpStatus.OK);
+    }
+
+    /**
+     * Purge a failed customer deletion again.
+     *
+     * @param customerId The ID of the deleted customer.
+     * @return ResponseEntity containing the Response and HTTP status.
+     */
+    @Operation(
+            summary = "Retry Customer Deletion REST API",
+            description = "REST API to retry the failed purge steps of a deleted customer"
+    )
+    @ApiResponse_200_417_500
+    @PostMapping("/deletions/{customerId}/retry")
+    public ResponseEntity<ResponseDto> retryDeletion(@PathVariable String customerId) {
+        if (customerDeletionService.retryDeletion(customerId)) {
+            return new ResponseEntity<>(new ResponseDto(AppConstants.STATUS_200, AppConstants.MESSAGE_200), HttpStatus.OK);
+        } else {
+            return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).body(new ResponseDto(AppConstants.STATUS_417, AppConstants.MESSAGE_417_RETRY));
+        }
+    }
+
     @Operation(
             summary = "Check if a customer exists REST API",
             description = "REST API to check if a customer exists"
@@ -192,5 +397,20 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Check if many customers exist in one call.
+     *
+     * @param customerIds The IDs of the customers to check.
+     * @return ResponseEntity containing the existence flag of every requested customer ID.
+     */
+    @Operation(
+            summary = "Check if customers exist in batch REST API",
+            description = "REST API to check if many customers exist in a single call"
+    )
+    @ApiResponse_200_500
+    @PostMapping("/exists:batch")
+    public ResponseEntity<Map<String, Boolean>> customersExist(@RequestBody @NotEmpty(message = "Customer ids can not be empty") @Size(max = 1000, message = "At most 1000 customer ids can be checked at once") List<String> customerIds) {
+        return new ResponseEntity<>(ICustomerService.customersExist(customerIds), HttpStatus.OK);
+    }
 
 }
@@ -0,0 +1,66 @@
+package com.microservice.customer.dto;
+
+import com.microservice.customer.dto.external.AccountDto;
+import com.microservice.customer.dto.external.CardDto;
+import com.microservice.customer.dto.external.LoanDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(
+    name = "Customer360",
+    description = "Schema to hold a customer together with their accounts, loans and cards"
+)
+public class Customer360Dto {
+
+    @Schema(
+            description = "Customer details"
+    )
+    private CustomerDto customer;
+
+    @Schema(
+            description = "Accounts of the customer"
+    )
+    @Builder.Default
+    private List<AccountDto> accounts = new ArrayList<>();
+
+    @Schema(
+            description = "Loans of the customer"
+    )
+    @Builder.Default
+    private List<LoanDto> loans = new ArrayList<>();
+
+    @Schema(
+            description = "Cards of the customer, oldest first, at most customer.overview.max-cards of them"
+    )
+    @Builder.Default
+    private List<CardDto> cards = new ArrayList<>();
+
+    @Schema(
+            description = "Cursor to pass as 'after' to the cards API for the cards left out, null when all are listed",
+            example = "1042"
+    )
+    private String cardsNextCursor;
+
+    @Schema(
+            description = "True when at least one service did not answer in time and its part is missing",
+            example = "false"
+    )
+    private boolean degraded;
+
+    @Schema(
+            description = "Parts that are missing because their service failed or timed out",
+            example = "[\"loans\"]"
+    )
+    @Builder.Default
+    private List<String> failedParts = new ArrayList<>();
+}
@@ -0,0 +1,56 @@
+package com.microservice.customer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(
+    name = "CustomerDeletion",
+    description = "Schema to hold the progress of a customer deletion"
+)
+public class CustomerDeletionDto {
+
+    @Schema(
+            description = "Unique identifier of the deleted customer",
+            example = "6752d7a5c5ec2a3b8e0b3d41"
+    )
+    private String customerId;
+
+    @Schema(
+            description = "Status of the deletion",
+            example = "PENDING"
+    )
+    private String status;
+
+    @Schema(
+            description = "Number of purge attempts so far",
+            example = "1"
+    )
+    private int attempts;
+
+    @Schema(
+            description = "Time the customer was deleted"
+    )
+    private LocalDateTime createdAt;
+
+    @Schema(
+            description = "Time the purge completed"
+    )
+    private LocalDateTime completedAt;
+
+    @Schema(
+            description = "Progress of every purge step"
+    )
+    @Builder.Default
+    private List<CustomerDeletionStepDto> steps = new ArrayList<>();
+}
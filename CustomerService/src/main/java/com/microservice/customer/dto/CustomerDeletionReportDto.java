@@ -0,0 +1,57 @@
+package com.microservice.customer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(
+    name = "CustomerDeletionReport",
+    description = "Schema to hold the reconciliation report of customer deletions"
+)
+public class CustomerDeletionReportDto {
+
+    @Schema(
+            description = "Deletions still being purged",
+            example = "3"
+    )
+    private long pending;
+
+    @Schema(
+            description = "Deletions purged everywhere",
+            example = "1250"
+    )
+    private long completed;
+
+    @Schema(
+            description = "Deletions given up on, to be fixed and retried",
+            example = "1"
+    )
+    private long failed;
+
+    @Schema(
+            description = "Deletions refused before anything was purged, their customers restored",
+            example = "2"
+    )
+    private long cancelled;
+
+    @Schema(
+            description = "Failed deletions, oldest first"
+    )
+    @Builder.Default
+    private List<CustomerDeletionDto> failures = new ArrayList<>();
+
+    @Schema(
+            description = "Customers of unfinished deletions that are still in the customer collection, removed on the next attempt"
+    )
+    @Builder.Default
+    private List<String> customersNotRemoved = new ArrayList<>();
+}
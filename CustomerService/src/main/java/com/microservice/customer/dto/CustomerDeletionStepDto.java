@@ -0,0 +1,43 @@
+package com.microservice.customer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(
+    name = "CustomerDeletionStep",
+    description = "Schema to hold the progress of one purge step of a customer deletion"
+)
+public class CustomerDeletionStepDto {
+
+    @Schema(
+            description = "Data purged by the step",
+            example = "ACCOUNTS"
+    )
+    private String step;
+
+    @Schema(
+            description = "Status of the step",
+            example = "COMPLETED"
+    )
+    private String status;
+
+    @Schema(
+            description = "Error of the last failed attempt",
+            example = "Customer 6752d7a5c5ec2a3b8e0b3d41 still has outstanding loans"
+    )
+    private String lastError;
+
+    @Schema(
+            description = "Time the step completed"
+    )
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,35 @@
+package com.microservice.customer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "Customer Page",
+    description = "Schema to hold one page of customers ordered by id"
+)
+public class CustomerPageDto {
+
+    @Schema(
+            description = "Customers of the current page"
+    )
+    private List<CustomerSummaryDto> customers;
+
+    @Schema(
+            description = "Cursor to pass as 'after' to fetch the next page, null when this is the last page",
+            example = "6712f0c2a4b1e37d5c9e8a41"
+    )
+    private String nextCursor;
+
+    @Schema(
+            description = "Maximum number of customers requested for the page",
+            example = "100"
+    )
+    private int limit;
+}
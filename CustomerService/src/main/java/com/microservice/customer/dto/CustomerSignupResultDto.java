@@ -0,0 +1,42 @@
+package com.microservice.customer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(
+    name = "CustomerSignupResult",
+    description = "Outcome of one customer of a batch signup request"
+)
+public class CustomerSignupResultDto {
+
+    @Schema(
+            description = "Position of the customer in the request, starting at 0",
+            example = "0"
+    )
+    private int index;
+
+    @Schema(
+            description = "Email address of the customer",
+            example = "QK0qI@example.com"
+    )
+    private String email;
+
+    @Schema(
+            description = "Outcome of the customer",
+            example = "CREATED"
+    )
+    private String status;
+
+    @Schema(
+            description = "Reason the customer was not created",
+            example = "Customer already exists with the given phone : 1234567890"
+    )
+    private String message;
+}
@@ -0,0 +1,28 @@
+package com.microservice.customer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Read-only view of a customer for list endpoints. Only these fields are read from the customer document,
+ * addresses are left out and served by the single customer endpoint.
+ */
+@Schema(
+    name = "Customer Summary",
+    description = "Schema to hold Customer Information in customer lists"
+)
+public record CustomerSummaryDto(
+        @Schema(description = "Unique identifier for the customer", example = "123e4567-e89b-12d3-a456-426655440000")
+        String id,
+        @Schema(description = "First name of the customer", example = "John")
+        String firstName,
+        @Schema(description = "Last name of the customer", example = "Doe")
+        String lastName,
+        @Schema(description = "Email address of the customer", example = "QK0qI@example.com")
+        String email,
+        @Schema(description = "Phone number of the customer", example = "1234567890")
+        String phone,
+        @Schema(description = "Date of birth of the customer", example = "28/10/1994")
+        String dateOfBirth,
+        @Schema(description = "Gender of the customer", example = "MALE")
+        String gender) {
+}
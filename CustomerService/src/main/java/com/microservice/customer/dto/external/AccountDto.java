@@ -0,0 +1,36 @@
+package com.microservice.customer.dto.external;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(
+    name = "Account",
+    description = "Account of a customer as returned by account service"
+)
+public class AccountDto {
+
+    @Schema(
+            description = "Account number", example = "1234567890"
+    )
+    private String accountNumber;
+
+    @Schema(
+            description = "Type of the account", example = "Savings"
+    )
+    private String accountType;
+
+    @Schema(
+            description = "Branch of the account", example = "123 Main Streets, New York"
+    )
+    private String branch;
+
+    @Schema(
+            description = "Status of the account", example = "ACTIVE"
+    )
+    private String status;
+}
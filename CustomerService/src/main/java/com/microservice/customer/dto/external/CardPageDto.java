@@ -0,0 +1,34 @@
+package com.microservice.customer.dto.external;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(
+    name = "CardPage",
+    description = "One page of the cards of a customer as returned by card service, oldest card first"
+)
+public class CardPageDto {
+
+    @Schema(
+            description = "Cards of the page"
+    )
+    private List<CardDto> cards = new ArrayList<>();
+
+    @Schema(
+            description = "Cursor of the next page, null when this is the last page", example = "1042"
+    )
+    private String nextCursor;
+
+    @Schema(
+            description = "Maximum number of cards requested for the page", example = "20"
+    )
+    private int limit;
+}
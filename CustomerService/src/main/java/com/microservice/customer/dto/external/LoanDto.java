@@ -0,0 +1,53 @@
+package com.microservice.customer.dto.external;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(
+    name = "Loan",
+    description = "Loan of a customer as returned by loan service"
+)
+public class LoanDto {
+
+    @Schema(
+            description = "Loan Id", example = "1475125"
+    )
+    private long loanId;
+
+    @Schema(
+            description = "Loan Type of Loan", example = "PERSONAL"
+    )
+    private String loanType;
+
+    @Schema(
+            description = "Loan Amount of Loan", example = "10000"
+    )
+    private double loanAmount;
+
+    @Schema(
+            description = "Loan Status of Loan", example = "ACTIVE"
+    )
+    private String loanStatus;
+
+    @Schema(
+            description = "EMI of Loan", example = "879.16"
+    )
+    private double emi;
+
+    @Schema(
+            description = "Outstanding Amount of Loan", example = "5000"
+    )
+    private double outstandingAmount;
+
+    @Schema(
+            description = "Repayment Due Date of Loan", example = "01/01/2024"
+    )
+    private LocalDate repaymentDueDate;
+}
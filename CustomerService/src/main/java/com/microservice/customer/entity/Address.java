@@ -7,6 +7,10 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 
+/**
+ * Address of a customer, embedded in the customer document. The {@code Addresses} collection only holds
+ * addresses created before they were embedded and is read by the migration job.
+ */
 @Getter
 @Setter
 @Builder
@@ -34,9 +34,28 @@ public class Customer extends BaseEntity{
     @Indexed(unique = true)
     private String phone;
 
-    @DBRef
+    /**
+     * Addresses embedded in the customer document, so a customer is always read with a single fetch.
+     */
+    @Builder.Default
+    @Field(name = "addresses")
     private List<Address> address = new ArrayList<>();
 
+    /**
+     * Pre-embedding address references. Lazy so that reading a customer never resolves them implicitly;
+     * {@link com.microservice.customer.migration.AddressMigrationJob} moves them into {@link #address}.
+     */
+    @DBRef(lazy = true)
+    @Field(name = "address")
+    private List<Address> legacyAddress;
+
+    /**
+     * Bumped by every change of the embedded addresses, so that rewriting the whole address array can be guarded
+     * on the array not having changed since it was read. Missing on customers whose addresses never changed.
+     */
+    @Field(name = "address_version")
+    private Long addressVersion;
+
     @Field(name = "date_of_birth")
     private String dateOfBirth;
 
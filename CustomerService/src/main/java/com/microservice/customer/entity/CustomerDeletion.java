@@ -0,0 +1,54 @@
+package com.microservice.customer.entity;
+
+import com.microservice.customer.constants.DeletionStatus;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code CustomerDeleted} event in the customer outbox, one per deleted customer and keyed by its id.
+ * <p>
+ * The customer document is moved into the event when it is deleted, so until the purge completes the customer can
+ * still be looked at (and its legacy address references followed). The snapshot is dropped once every step is done.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "CustomerOutbox")
+@CompoundIndex(name = "status_next_attempt_at", def = "{ 'status': 1, 'next_attempt_at': 1 }")
+public class CustomerDeletion {
+
+    public static final String EVENT_TYPE = "CustomerDeleted";
+
+    @Id
+    private String id;
+
+    @Field(name = "event_type")
+    private String eventType;
+
+    private DeletionStatus status;
+
+    private org.bson.Document customer;
+
+    @Builder.Default
+    private List<CustomerDeletionStep> steps = new ArrayList<>();
+
+    private int attempts;
+
+    @Field(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Field(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Field(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,29 @@
+package com.microservice.customer.entity;
+
+import com.microservice.customer.constants.DeletionStatus;
+import com.microservice.customer.constants.DeletionStep;
+import lombok.*;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one consumer of a {@link CustomerDeletion}, embedded in it.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerDeletionStep {
+
+    private DeletionStep step;
+
+    private DeletionStatus status;
+
+    @Field(name = "last_error")
+    private String lastError;
+
+    @Field(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,12 @@
+package com.microservice.customer.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class AddressConflictException extends RuntimeException {
+
+    public AddressConflictException(String msg) {
+        super(msg);
+    }
+}
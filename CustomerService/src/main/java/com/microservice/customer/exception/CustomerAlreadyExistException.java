@@ -1,12 +1,25 @@
 package com.microservice.customer.exception;
 
+import lombok.Getter;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
+@Getter
 public class CustomerAlreadyExistException extends RuntimeException {
 
+    /**
+     * The unique field another customer already holds the value of, null when unknown.
+     */
+    private final String field;
+
     public CustomerAlreadyExistException(String msg) {
         super(msg);
+        this.field = null;
+    }
+
+    public CustomerAlreadyExistException(String field, String value) {
+        super(String.format("Customer already exists with the given %s : %s", field, value));
+        this.field = field;
     }
 }
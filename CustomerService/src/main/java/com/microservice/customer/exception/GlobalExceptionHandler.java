@@ -46,6 +46,20 @@ public class GlobalExceptionHandler {
                 HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(AddressConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handleAddressConflictException(AddressConflictException e, WebRequest request) {
+        return new ResponseEntity<>(
+                new ErrorResponseDto(request.getDescription(false),HttpStatus.CONFLICT, e.getMessage(), LocalDateTime.now()),
+                HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(CustomerDeletionConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handleCustomerDeletionConflictException(CustomerDeletionConflictException e, WebRequest request) {
+        return new ResponseEntity<>(
+                new ErrorResponseDto(request.getDescription(false),HttpStatus.CONFLICT, e.getMessage(), LocalDateTime.now()),
+                HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(CustomerAlreadyExistException.class)
     public ResponseEntity<ErrorResponseDto> handleCustomerAlreadyExistException(CustomerAlreadyExistException e, WebRequest request) {
         return new ResponseEntity<>(
@@ -1,14 +1,21 @@
 package com.microservice.customer.external;
 
+import com.microservice.customer.dto.external.AccountDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
+import java.util.List;
+
 @Service
 @FeignClient(name = "account-service", url = "${external.api.account-service.url}",path = "/api/accounts")
 public interface AccountService {
 
     @DeleteMapping("/customers/{customerId}")
     void deleteAccounts(@PathVariable String customerId);
+
+    @GetMapping("/customers/{customerId}/accounts")
+    List<AccountDto> getAccounts(@PathVariable String customerId);
 }
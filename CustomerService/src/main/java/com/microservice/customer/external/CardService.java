@@ -0,0 +1,19 @@
+package com.microservice.customer.external;
+
+import com.microservice.customer.dto.external.CardPageDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@FeignClient(name = "card-service", url = "${external.api.card-service.url}", path = "/api/cards")
+public interface CardService {
+
+    @GetMapping
+    CardPageDto getCards(@RequestParam("customerId") String customerId,
+                         @RequestParam(value = "after", required = false) String after,
+                         @RequestParam("limit") int limit);
+
+    @DeleteMapping("/delete")
+    void deleteCards(@RequestParam("customerId") String customerId);
+}
@@ -0,0 +1,19 @@
+package com.microservice.customer.external;
+
+import com.microservice.customer.dto.external.LoanDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.List;
+
+@FeignClient(name = "loan-service", url = "${external.api.loan-service.url}", path = "/api/loans")
+public interface LoanService {
+
+    @GetMapping("/customer/{customerId}")
+    List<LoanDto> getLoansByCustomerId(@PathVariable String customerId);
+
+    @DeleteMapping("/customer/{customerId}")
+    void deleteLoans(@PathVariable String customerId);
+}
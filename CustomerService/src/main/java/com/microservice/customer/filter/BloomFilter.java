@@ -0,0 +1,127 @@
+package com.microservice.customer.filter;
+
+/**
+ * Immutable Bloom filter over strings.
+ * <p>
+ * Filled once through a {@link Builder} and read-only afterwards, so it can be shared between threads without
+ * locking once published. The k bit positions of a key come from double hashing two 64-bit hashes of its chars.
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final long entries;
+    private final double expectedFalsePositiveRate;
+
+    private BloomFilter(long[] bits, long bitCount, int hashFunctions, long entries) {
+        this.bits = bits;
+        this.bitCount = bitCount;
+        this.hashFunctions = hashFunctions;
+        this.entries = entries;
+        long setBits = 0;
+        for (long word : bits) {
+            setBits += Long.bitCount(word);
+        }
+        this.expectedFalsePositiveRate = Math.pow((double) setBits / bitCount, hashFunctions);
+    }
+
+    /**
+     * @param expectedEntries       number of keys the filter is sized for
+     * @param falsePositiveRate     wanted false positive rate once that many keys are added
+     * @return a builder of a filter of the optimal size
+     */
+    public static Builder builder(long expectedEntries, double falsePositiveRate) {
+        long entries = Math.max(1, expectedEntries);
+        long bitCount = Math.max(64, (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashFunctions = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+        return new Builder(bitCount, hashFunctions);
+    }
+
+    /**
+     * @return false if the key was definitely not added, true if it probably was
+     */
+    public boolean mightContain(String key) {
+        long hash1 = hash1(key);
+        long hash2 = hash2(hash1);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = index(hash1, hash2, i, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of keys added to the filter
+     */
+    public long entries() {
+        return entries;
+    }
+
+    /**
+     * @return false positive rate to expect from the fill ratio of the filter
+     */
+    public double expectedFalsePositiveRate() {
+        return expectedFalsePositiveRate;
+    }
+
+    private static long index(long hash1, long hash2, int i, long bitCount) {
+        return Math.floorMod(hash1 + i * hash2, bitCount);
+    }
+
+    private static long hash1(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long hash2(long hash1) {
+        return mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Collects the keys of a filter. Not thread safe.
+     */
+    public static final class Builder {
+
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashFunctions;
+        private long entries;
+
+        private Builder(long bitCount, int hashFunctions) {
+            this.bits = new long[(int) ((bitCount + 63) >>> 6)];
+            this.bitCount = bitCount;
+            this.hashFunctions = hashFunctions;
+        }
+
+        public Builder add(String key) {
+            long hash1 = hash1(key);
+            long hash2 = hash2(hash1);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = index(hash1, hash2, i, bitCount);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            entries++;
+            return this;
+        }
+
+        public BloomFilter build() {
+            return new BloomFilter(bits, bitCount, hashFunctions, entries);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.microservice.customer.filter;
+
+import com.microservice.customer.entity.Customer;
+import com.microservice.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Existence check of customers, backed by a {@link BloomFilter} of the customer ids.
+ * <p>
+ * The filter is a snapshot of the {@code _id} index, rebuilt in the background when the application is ready and
+ * then every {@code customer.exists-filter.rebuild-interval}, or sooner once enough customers have been deleted.
+ * An id the filter rules out is answered without touching MongoDB. Every other id is confirmed with an {@code _id}
+ * only query that is covered by the index.
+ * <p>
+ * Customer ids are ObjectIds, which carry their creation time. The filter only answers for ids created before its
+ * snapshot was taken (minus {@code customer.exists-filter.clock-skew}), so a customer created since, possibly by
+ * another instance, is never reported missing.
+ * <p>
+ * Lookups are timed in {@code customer.exists} (with its p99), {@code customer.exists.filter} counts them by
+ * outcome and {@code customer.exists.filter.false.positive.rate} is the share of absent ids the filter let through.
+ */
+@Component
+@Slf4j
+public class CustomerIdFilter {
+
+    private static final String CUSTOMERS = "Customers";
+
+    private final CustomerRepository customerRepository;
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final Duration rebuildInterval;
+    private final Duration clockSkew;
+    private final int batchSize;
+
+    private final Timer lookups;
+    private final Counter negatives;
+    private final Counter falsePositives;
+    private final Counter positives;
+    private final Counter bypassed;
+
+    private final AtomicLong deletedSinceSnapshot = new AtomicLong();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "customer-id-filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Snapshot snapshot;
+
+    public CustomerIdFilter(CustomerRepository customerRepository,
+                            MongoTemplate mongoTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${customer.exists-filter.enabled:true}") boolean enabled,
+                            @Value("${customer.exists-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${customer.exists-filter.rebuild-interval:15m}") Duration rebuildInterval,
+                            @Value("${customer.exists-filter.clock-skew:1m}") Duration clockSkew,
+                            @Value("${customer.exists-filter.batch-size:10000}") int batchSize) {
+        this.customerRepository = customerRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildInterval = rebuildInterval;
+        this.clockSkew = clockSkew;
+        this.batchSize = batchSize;
+
+        this.lookups = Timer.builder("customer.exists")
+                .description("Time to check whether a customer exists")
+                .publishPercentiles(0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.negatives = outcome(meterRegistry, "negative");
+        this.falsePositives = outcome(meterRegistry, "false_positive");
+        this.positives = outcome(meterRegistry, "positive");
+        this.bypassed = outcome(meterRegistry, "bypassed");
+        Gauge.builder("customer.exists.filter.false.positive.rate", this, CustomerIdFilter::falsePositiveRate)
+                .description("Share of absent customer ids that the filter did not rule out")
+                .register(meterRegistry);
+        Gauge.builder("customer.exists.filter.expected.false.positive.rate", this, CustomerIdFilter::expectedFalsePositiveRate)
+                .description("False positive rate expected from the fill ratio of the current filter")
+                .register(meterRegistry);
+        Gauge.builder("customer.exists.filter.entries", this, filter -> filter.snapshot == null ? 0 : filter.snapshot.filter().entries())
+                .description("Customer ids in the current filter")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("customer.exists.filter")
+                .description("Customer existence checks by outcome of the filter")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rebuilder.scheduleWithFixedDelay(this::rebuild, 0, rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Check if a customer exists.
+     *
+     * @param customerId the id of the customer
+     * @return true if the customer exists
+     */
+    public boolean exists(String customerId) {
+        long start = System.nanoTime();
+        try {
+            if (!mightExist(customerId)) {
+                return false;
+            }
+            boolean exists = customerRepository.findIdById(customerId).isPresent();
+            record(customerId, exists);
+            return exists;
+        } finally {
+            lookups.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Check if many customers exist, ids ruled out by the filter are left out of the query.
+     *
+     * @param customerIds the ids of the customers
+     * @return the ids of the customers that exist
+     */
+    public Set<String> existing(Collection<String> customerIds) {
+        List<String> candidates = new ArrayList<>(customerIds.size());
+        for (String customerId : customerIds) {
+            if (mightExist(customerId)) {
+                candidates.add(customerId);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> existing = customerRepository.findIdsByIdIn(candidates).stream()
+                .map(Customer::getId)
+                .collect(Collectors.toSet());
+        candidates.forEach(customerId -> record(customerId, existing.contains(customerId)));
+        return existing;
+    }
+
+    /**
+     * A Bloom filter cannot forget a key, so deleted customers stay in the filter until the next rebuild.
+     * Once they make up a tenth of it, the rebuild is brought forward.
+     */
+    public void onDeleted(String customerId) {
+        Snapshot current = snapshot;
+        if (current != null && deletedSinceSnapshot.incrementAndGet() > current.filter().entries() / 10 + 1_000) {
+            requestRebuild();
+        }
+    }
+
+    private void requestRebuild() {
+        if (rebuildRequested.compareAndSet(false, true)) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    private boolean mightExist(String customerId) {
+        Snapshot current = snapshot;
+        if (!covers(current, customerId)) {
+            bypassed.increment();
+            return true;
+        }
+        if (!current.filter().mightContain(customerId)) {
+            negatives.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void record(String customerId, boolean exists) {
+        if (covers(snapshot, customerId)) {
+            (exists ? positives : falsePositives).increment();
+        }
+    }
+
+    private static boolean covers(Snapshot snapshot, String customerId) {
+        return snapshot != null && ObjectId.isValid(customerId)
+                && new ObjectId(customerId).getDate().toInstant().isBefore(snapshot.coversBefore());
+    }
+
+    /**
+     * Read every customer id through the {@code _id} index and swap in a new filter.
+     */
+    public void rebuild() {
+        rebuildRequested.set(false);
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Instant takenAt = Instant.now();
+            long deletedBefore = deletedSinceSnapshot.get();
+            long expected = mongoTemplate.estimatedCount(CUSTOMERS);
+            BloomFilter.Builder builder = BloomFilter.builder(expected + expected / 10 + 1_000, falsePositiveRate);
+
+            Query query = new Query().cursorBatchSize(batchSize);
+            query.fields().include("_id");
+            try (Stream<Document> ids = mongoTemplate.stream(query, Document.class, CUSTOMERS)) {
+                ids.forEach(id -> builder.add(id.get("_id") instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id.get("_id"))));
+            }
+
+            BloomFilter filter = builder.build();
+            snapshot = new Snapshot(filter, takenAt.minus(clockSkew));
+            deletedSinceSnapshot.addAndGet(-deletedBefore);
+            log.info("Customer id filter rebuilt with {} ids in {} ms, expected false positive rate {}",
+                    filter.entries(), Duration.between(takenAt, Instant.now()).toMillis(), filter.expectedFalsePositiveRate());
+        } catch (RuntimeException e) {
+            log.error("Customer id filter rebuild failed, keeping the previous filter: {}", e.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private double falsePositiveRate() {
+        double absent = negatives.count() + falsePositives.count();
+        return absent == 0 ? 0 : falsePositives.count() / absent;
+    }
+
+    private double expectedFalsePositiveRate() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.filter().expectedFalsePositiveRate();
+    }
+
+    /**
+     * @param filter       the ids of the customers
+     * @param coversBefore ids created before this instant are in the filter if the customer existed
+     */
+    private record Snapshot(BloomFilter filter, Instant coversBefore) {
+    }
+}
@@ -2,6 +2,7 @@ package com.microservice.customer.mapper;
 
 import com.microservice.customer.dto.AddressDto;
 import com.microservice.customer.entity.Address;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -16,6 +17,15 @@ public class AddressMapper {
         return addressDto;
     }
 
+    /**
+     * Embedded addresses get no id from MongoDB, so new ones are given an ObjectId here.
+     */
+    public static Address newAddress(AddressDto addressDto){
+        Address address = mapToAddress(addressDto, new Address());
+        address.setId(new ObjectId().toHexString());
+        return address;
+    }
+
     public static Address mapToAddress(AddressDto addressDto,Address address){
         address.setCity(addressDto.getCity() == null ? address.getCity() : addressDto.getCity());
         address.setState(addressDto.getState() == null ? address.getState() : addressDto.getState());
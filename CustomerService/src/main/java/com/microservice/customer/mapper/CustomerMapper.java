@@ -6,7 +6,9 @@ import com.microservice.customer.entity.Customer;
 import com.microservice.customer.dto.CustomerDto;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class CustomerMapper {
@@ -17,7 +19,7 @@ public class CustomerMapper {
         customer.setLastName(customerDto.getLastName() == null? customer.getLastName() : customerDto.getLastName());
         customer.setEmail(customerDto.getEmail() == null? customer.getEmail() : customerDto.getEmail());
         customer.setPhone(customerDto.getPhone() == null? customer.getPhone() : customerDto.getPhone());
-        customer.setAddress(customerDto.getAddress() == null ? List.of() : customerDto.getAddress().stream().map(addressDto -> AddressMapper.mapToAddress(addressDto, new Address())).toList());
+        customer.setAddress(customerDto.getAddress() == null ? new ArrayList<>() : customerDto.getAddress().stream().map(addressDto -> AddressMapper.newAddress(addressDto)).collect(Collectors.toCollection(ArrayList::new)));
         customer.setDateOfBirth(customerDto.getDateOfBirth() == null? customer.getDateOfBirth() : customerDto.getDateOfBirth());
         customer.setGender(customerDto.getGender());
         return customer;
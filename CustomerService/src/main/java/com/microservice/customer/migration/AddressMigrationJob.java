@@ -0,0 +1,164 @@
+package com.microservice.customer.migration;
+
+import com.microservice.customer.entity.Address;
+import com.microservice.customer.entity.Customer;
+import com.mongodb.DBRef;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Online migration of customer addresses from {@code @DBRef} references to embedded documents.
+ * <p>
+ * At startup a background thread walks the customers that still carry the legacy {@code address} field
+ * in {@code _id} order, batch by batch. For every batch the referenced addresses are loaded with a single
+ * {@code $in} query and the customers are rewritten with one unordered bulk write that sets {@code addresses}
+ * and removes {@code address}. The update is guarded on {@code address} still existing, so a customer that was
+ * migrated on access in the meantime is left alone.
+ * <p>
+ * Customers touched by a request before the job reaches them are migrated on the spot by {@link #ensureEmbedded},
+ * with the same guarded partial update: the migration never rewrites the whole customer document.
+ */
+@Component
+@Slf4j
+public class AddressMigrationJob {
+
+    private static final String CUSTOMERS = "Customers";
+    private static final String ADDRESSES = "Addresses";
+    private static final String LEGACY_FIELD = "address";
+    private static final String EMBEDDED_FIELD = "addresses";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public AddressMigrationJob(MongoTemplate mongoTemplate,
+                               @Value("${customer.address-migration.enabled:true}") boolean enabled,
+                               @Value("${customer.address-migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::migrateAll, "address-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Migrate a single customer that still has legacy address references and return it with embedded addresses.
+     * <p>
+     * The customer may be a projection, so it is never saved back. The legacy addresses are appended to the embedded
+     * ones with the same guarded update as the batch migration, and if another request or the job migrated the
+     * customer first, the embedded addresses are read again instead.
+     *
+     * @param customer the customer as read from the database
+     * @return the same customer, with its embedded addresses and without legacy references
+     */
+    public Customer ensureEmbedded(Customer customer) {
+        if (customer.getLegacyAddress() == null) {
+            return customer;
+        }
+        List<Address> legacy = customer.getLegacyAddress().stream().filter(Objects::nonNull).toList();
+        Query unmigrated = new Query(Criteria.where("id").is(customer.getId()).and("legacyAddress").exists(true));
+        Update migrate = new Update().push("address").each(legacy.toArray()).unset("legacyAddress");
+
+        List<Address> addresses = new ArrayList<>(customer.getAddress() == null ? List.of() : customer.getAddress());
+        if (mongoTemplate.updateFirst(unmigrated, migrate, Customer.class).getModifiedCount() > 0) {
+            addresses.addAll(legacy);
+        } else {
+            Query embedded = new Query(Criteria.where("id").is(customer.getId()));
+            embedded.fields().include("address");
+            Customer migrated = mongoTemplate.findOne(embedded, Customer.class);
+            addresses = migrated == null || migrated.getAddress() == null ? new ArrayList<>() : migrated.getAddress();
+        }
+        customer.setAddress(addresses);
+        customer.setLegacyAddress(null);
+        return customer;
+    }
+
+    /**
+     * Migrate every customer that still has legacy address references.
+     */
+    public void migrateAll() {
+        long migrated = 0;
+        Object lastId = null;
+        try {
+            while (true) {
+                Query query = new Query(Criteria.where(LEGACY_FIELD).exists(true))
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                        .limit(batchSize);
+                if (lastId != null) {
+                    query.addCriteria(Criteria.where("_id").gt(lastId));
+                }
+                query.fields().include("_id").include(LEGACY_FIELD);
+
+                List<Document> batch = mongoTemplate.find(query, Document.class, CUSTOMERS);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                migrated += migrateBatch(batch);
+                lastId = batch.get(batch.size() - 1).get("_id");
+            }
+            log.info("Address migration finished, {} customers migrated", migrated);
+        } catch (RuntimeException e) {
+            log.error("Address migration stopped after {} customers: {}", migrated, e.getMessage());
+        }
+    }
+
+    private int migrateBatch(List<Document> customers) {
+        List<Object> addressIds = new ArrayList<>();
+        customers.forEach(customer -> references(customer).forEach(ref -> addressIds.add(ref.getId())));
+
+        Map<Object, Document> addresses = new HashMap<>();
+        if (!addressIds.isEmpty()) {
+            mongoTemplate.find(new Query(Criteria.where("_id").in(addressIds)), Document.class, ADDRESSES)
+                    .forEach(address -> addresses.put(address.get("_id"), address));
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CUSTOMERS);
+        for (Document customer : customers) {
+            List<Document> embedded = new ArrayList<>();
+            for (DBRef ref : references(customer)) {
+                Document address = addresses.get(ref.getId());
+                if (address != null) {
+                    Document copy = new Document(address);
+                    copy.remove("_class");
+                    embedded.add(copy);
+                }
+            }
+            bulk.updateOne(
+                    new Query(Criteria.where("_id").is(customer.get("_id")).and(LEGACY_FIELD).exists(true)),
+                    new Update().set(EMBEDDED_FIELD, embedded).unset(LEGACY_FIELD));
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    private static List<DBRef> references(Document customer) {
+        Object value = customer.get(LEGACY_FIELD);
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream().filter(DBRef.class::isInstance).map(DBRef.class::cast).toList();
+    }
+}
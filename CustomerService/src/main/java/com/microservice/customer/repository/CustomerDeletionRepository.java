@@ -0,0 +1,17 @@
+package com.microservice.customer.repository;
+
+import com.microservice.customer.constants.DeletionStatus;
+import com.microservice.customer.entity.CustomerDeletion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CustomerDeletionRepository extends MongoRepository<CustomerDeletion, String> {
+
+    long countByStatus(DeletionStatus status);
+
+    List<CustomerDeletion> findByStatusOrderByCreatedAtAsc(DeletionStatus status, Limit limit);
+}
@@ -2,8 +2,11 @@ package com.microservice.customer.repository;
 
 import com.microservice.customer.entity.Customer;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,5 +16,13 @@ public interface CustomerRepository extends MongoRepository<Customer, String> {
     Optional<Customer> findCustomerByPhone(String phone);
     Optional<Customer> findCustomerByEmailOrPhone(String email,String phone);
 
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ '_id': 1 }")
+    List<Customer> findIdsByIdIn(Collection<String> ids);
+
+    /**
+     * The id of a customer, answered from the {@code _id} index alone.
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ '_id': 1 }")
+    Optional<Customer> findIdById(String id);
 
 }
@@ -45,6 +45,15 @@ public interface IAddressService {
      */
     boolean updateAddress(String addressId, AddressDto addressDto);
 
+    /**
+     * Replace all addresses of a customer with the given ones.
+     *
+     * @param customerId  The ID of the customer whose addresses to replace.
+     * @param addressDtos The new addresses, with their ID to keep an existing address.
+     * @return The addresses of the customer after the replacement.
+     */
+    List<AddressDto> replaceAddresses(String customerId, List<AddressDto> addressDtos);
+
     /**
      * Delete an address by its ID.
      *
@@ -0,0 +1,41 @@
+package com.microservice.customer.service;
+
+import com.microservice.customer.dto.CustomerDeletionDto;
+import com.microservice.customer.dto.CustomerDeletionReportDto;
+import com.microservice.customer.exception.CustomerDeletionConflictException;
+
+public interface ICustomerDeletionService {
+
+    /**
+     * Delete a customer and record a {@code CustomerDeleted} event, its data in the other services is purged
+     * in the background.
+     *
+     * @param customerId The ID of the customer to delete.
+     * @throws CustomerDeletionConflictException if the customer still has outstanding loans.
+     */
+    void deleteCustomer(String customerId);
+
+    /**
+     * Retrieve the progress of a customer deletion.
+     *
+     * @param customerId The ID of the deleted customer.
+     * @return The progress of every purge step.
+     */
+    CustomerDeletionDto getDeletion(String customerId);
+
+    /**
+     * Reconcile the customer deletions.
+     *
+     * @param limit The maximum number of failed deletions and of not removed customers to list.
+     * @return The counts by status with the deletions that need attention.
+     */
+    CustomerDeletionReportDto getReport(int limit);
+
+    /**
+     * Purge a failed deletion again.
+     *
+     * @param customerId The ID of the deleted customer.
+     * @return True if the deletion was failed and is pending again, false otherwise.
+     */
+    boolean retryDeletion(String customerId);
+}
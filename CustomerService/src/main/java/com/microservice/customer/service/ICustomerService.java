@@ -1,9 +1,15 @@
 package com.microservice.customer.service;
 
+import com.microservice.customer.dto.Customer360Dto;
 import com.microservice.customer.dto.CustomerDto;
+import com.microservice.customer.dto.CustomerPageDto;
+import com.microservice.customer.dto.CustomerSignupResultDto;
+import com.microservice.customer.dto.CustomerSummaryDto;
 import com.microservice.customer.dto.CustomerUpdateDto;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface ICustomerService {
 
@@ -14,6 +20,14 @@ public interface ICustomerService {
      */
     void createCustomer(CustomerDto customerDto);
 
+    /**
+     * Create many customers at once.
+     *
+     * @param customerDtos The customers to create.
+     * @return The outcome of every customer, in request order.
+     */
+    List<CustomerSignupResultDto> createCustomers(List<CustomerDto> customerDtos);
+
     /**
      * Update an existing customer with the given ID.
      *
@@ -31,11 +45,20 @@ public interface ICustomerService {
     CustomerDto getCustomer(String customerId);
 
     /**
-     * Retrieve a list of all customers in the database.
+     * Retrieve one page of customers ordered by ID.
      *
-     * @return A list of all customers.
+     * @param after The ID of the last customer of the previous page, null for the first page.
+     * @param limit The maximum number of customers to return.
+     * @return The page of customers with the cursor of the next page.
      */
-    List<CustomerDto> getAllCustomers();
+    CustomerPageDto getCustomers(String after, int limit);
+
+    /**
+     * Stream all customers ordered by ID to the given consumer, one at a time.
+     *
+     * @param consumer Receives every customer.
+     */
+    void streamCustomers(Consumer<CustomerSummaryDto> consumer);
 
     /**
      * Delete a customer by their ID.
@@ -59,4 +82,20 @@ public interface ICustomerService {
      * @return True if the customer exists, false otherwise.
      */
     boolean isCustomerExist(String customerId);
+
+    /**
+     * Check if many customers exist in a single database round trip.
+     *
+     * @param customerIds The IDs of the customers to check.
+     * @return Existence flag for every requested customer ID.
+     */
+    Map<String, Boolean> customersExist(List<String> customerIds);
+
+    /**
+     * Retrieve a customer together with their accounts, loans and cards.
+     *
+     * @param customerId The ID of the customer to retrieve.
+     * @return The 360 view of the customer, marked degraded if a part could not be loaded.
+     */
+    Customer360Dto getCustomer360(String customerId);
 }
@@ -4,12 +4,14 @@ import com.microservice.customer.dto.AddressDto;
 import com.microservice.customer.dto.CustomerDto;
 import com.microservice.customer.entity.Address;
 import com.microservice.customer.entity.Customer;
+import com.microservice.customer.exception.AddressConflictException;
 import com.microservice.customer.exception.AddressNotFoundException;
 import com.microservice.customer.exception.CustomerAlreadyExistException;
 import com.microservice.customer.exception.CustomerNotFoundException;
 import com.microservice.customer.external.AccountService;
 import com.microservice.customer.mapper.AddressMapper;
 import com.microservice.customer.mapper.CustomerMapper;
+import com.microservice.customer.migration.AddressMigrationJob;
 import com.microservice.customer.repository.AddressRepository;
 import com.microservice.customer.repository.CustomerRepository;
 import com.microservice.customer.service.IAddressService;
@@ -18,10 +20,19 @@ import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -30,13 +41,23 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AddressServiceImpl implements IAddressService {
 
+    private static final String ADDRESS = "address";
+    private static final String LEGACY_ADDRESS = "legacyAddress";
+    private static final String ADDRESS_VERSION = "addressVersion";
+    private static final int MAX_REPLACE_ATTEMPTS = 3;
+
     private final AddressRepository addressRepository;
     private final CustomerRepository customerRepository;
+    private final MongoTemplate mongoTemplate;
+    private final AddressMigrationJob addressMigrationJob;
+    private final AuditorAware<String> auditorAware;
 
 
 
     /**
      * Create a new address with the given information.
+     * <p>
+     * The address is appended to the customer with a single {@code $push}, the rest of the document is not rewritten.
      *
      * @param customerId The ID of the customer for whom the address will be created.
      * @param addressDto The address information to create.
@@ -44,18 +65,10 @@ public class AddressServiceImpl implements IAddressService {
      */
     @Override
     public void createAddress(String customerId, AddressDto addressDto) {
-
-        Customer customer = customerRepository.findById(customerId).orElseThrow(() -> new CustomerNotFoundException("Customer not found with id " + customerId));
-
-        try {
-            Address address = AddressMapper.mapToAddress(addressDto, new Address());
-            Address savedAddress = addressRepository.save(address);
-            customer.addAddress(savedAddress);
-            customerRepository.save(customer);
-        } catch (Exception e) {
-            log.error("Error creating address: {}", e.getMessage());
+        Update update = touched(new Update().push(ADDRESS, AddressMapper.newAddress(addressDto)));
+        if (!updateEmbedded(Criteria.where("id").is(customerId), update)) {
+            throw new CustomerNotFoundException("Customer not found with id " + customerId);
         }
-
     }
 
     /**
@@ -66,7 +79,13 @@ public class AddressServiceImpl implements IAddressService {
     @Override
     public List<AddressDto> getAllAddresses() {
         try {
-            return addressRepository.findAll().stream().map(address -> AddressMapper.mapToAddressDto(address, new AddressDto())).toList();
+            Query query = new Query();
+            query.fields().include("address").include("legacyAddress");
+            return mongoTemplate.find(query, Customer.class).stream()
+                    .map(addressMigrationJob::ensureEmbedded)
+                    .flatMap(customer -> customer.getAddress().stream())
+                    .map(address -> AddressMapper.mapToAddressDto(address, new AddressDto()))
+                    .toList();
         } catch (Exception e) {
             log.error("Error getting all addresses: {}", e.getMessage());
         }
@@ -83,7 +102,9 @@ public class AddressServiceImpl implements IAddressService {
      */
     @Override
     public AddressDto getAddress(String addressId) {
-        Address address = addressRepository.findById(addressId)
+        Address address = findCustomerByAddressId(addressId)
+                .flatMap(customer -> findAddress(customer, addressId))
+                .or(() -> addressRepository.findById(addressId))
                 .orElseThrow(() -> new AddressNotFoundException("Address not found with given id : " + addressId));
         return AddressMapper.mapToAddressDto(address, new AddressDto());
     }
@@ -99,13 +120,15 @@ public class AddressServiceImpl implements IAddressService {
     @Override
     public List<AddressDto> getAddressByCustomerId(String customerId) {
 
-        Customer customer = customerRepository.findById(customerId).orElseThrow(() -> new CustomerNotFoundException("Customer not found with id " + customerId));
+        Customer customer = findCustomer(customerId);
 
         return customer.getAddress().stream().map(address -> AddressMapper.mapToAddressDto(address, new AddressDto())).toList();
     }
 
     /**
      * Update an existing address with the given information.
+     * <p>
+     * Only the fields given are set, in place on the matched array element.
      *
      * @param addressDto The updated address information.
      * @return True if the update was successful, false otherwise.
@@ -113,47 +136,89 @@ public class AddressServiceImpl implements IAddressService {
      */
     @Override
     public boolean updateAddress(String addressId, AddressDto addressDto) {
-        boolean isUpdated = false;
+        Update update = new Update();
+        Optional.ofNullable(addressDto.getCity()).ifPresent(city -> update.set(ADDRESS + ".$.city", city));
+        Optional.ofNullable(addressDto.getState()).ifPresent(state -> update.set(ADDRESS + ".$.state", state));
+        Optional.ofNullable(addressDto.getCountry()).ifPresent(country -> update.set(ADDRESS + ".$.country", country));
+        Optional.ofNullable(addressDto.getZip()).ifPresent(zip -> update.set(ADDRESS + ".$.zip", zip));
 
-        Address address = addressRepository.findById(addressId).orElseThrow(() -> new AddressNotFoundException("Address not found with given id : " + addressDto.getId()));
-        try {
-            AddressMapper.mapToAddress(addressDto, address);
-            addressRepository.save(address);
-            isUpdated = true;
-        } catch (Exception e) {
-            log.error("Error updating address: {}", e.getMessage());
+        if (!updateEmbedded(Criteria.where("address.id").is(addressId), touched(update))) {
+            throw new AddressNotFoundException("Address not found with given id : " + addressId);
+        }
+        return true;
+    }
+
+    /**
+     * Replace all addresses of a customer with the given ones.
+     * <p>
+     * Addresses with an ID must already belong to the customer and keep that ID, fields left out keep their value.
+     * Addresses without an ID are created. The new list is written with a single {@code $set} of the address array,
+     * guarded on the address version that was read, so an address added or removed in the meantime is neither lost
+     * nor brought back; the replacement is then computed again. The legacy copies of the addresses that were left out
+     * are removed with a single delete.
+     *
+     * @param customerId  The ID of the customer whose addresses to replace.
+     * @param addressDtos The new addresses of the customer.
+     * @return The addresses of the customer after the replacement.
+     * @throws CustomerNotFoundException if the customer with the given ID is not found.
+     * @throws AddressNotFoundException  if an address ID does not belong to the customer.
+     * @throws AddressConflictException  if the addresses kept changing while being replaced.
+     */
+    @Override
+    public List<AddressDto> replaceAddresses(String customerId, List<AddressDto> addressDtos) {
+        for (int attempt = 1; attempt <= MAX_REPLACE_ATTEMPTS; attempt++) {
+            Customer customer = findCustomer(customerId);
+
+            Map<String, Address> removed = new LinkedHashMap<>();
+            customer.getAddress().forEach(address -> removed.putIfAbsent(address.getId(), address));
+
+            List<Address> addresses = new ArrayList<>(addressDtos.size());
+            for (AddressDto addressDto : addressDtos) {
+                if (addressDto.getId() == null) {
+                    addresses.add(AddressMapper.newAddress(addressDto));
+                    continue;
+                }
+                Address address = removed.remove(addressDto.getId());
+                if (address == null) {
+                    throw new AddressNotFoundException("Address not found with given id : " + addressDto.getId());
+                }
+                addresses.add(AddressMapper.mapToAddress(addressDto, address));
+            }
+
+            Query unchanged = new Query(Criteria.where("id").is(customerId).and(ADDRESS_VERSION).is(customer.getAddressVersion()));
+            if (mongoTemplate.updateFirst(unchanged, touched(new Update().set(ADDRESS, addresses)), Customer.class).getMatchedCount() == 0) {
+                log.debug("Addresses of customer {} changed while being replaced, attempt {}", customerId, attempt);
+                continue;
+            }
+            if (!removed.isEmpty()) {
+                addressRepository.deleteAllById(removed.keySet());
+            }
+            return addresses.stream().map(address -> AddressMapper.mapToAddressDto(address, new AddressDto())).toList();
         }
-        return isUpdated;
+        throw new AddressConflictException("Addresses of customer " + customerId + " changed while being replaced, please try again");
     }
 
     /**
      * Delete an address by its ID.
+     * <p>
+     * The address is removed from the customer with a single {@code $pull}.
      *
      * @param addressId The ID of the address to delete.
      * @return True if the deletion was successful, false otherwise.
+     * @throws CustomerNotFoundException if the customer with the given ID is not found.
      * @throws AddressNotFoundException if the address with the given ID is not found.
      */
     @Override
     public boolean deleteAddress(String customerId, String addressId) {
-        Address addressFromDB = addressRepository.findById(addressId).orElseThrow(() -> new AddressNotFoundException("Address not found with given id : " + addressId));
+        Update update = touched(new Update().pull(ADDRESS, new Query(Criteria.where("id").is(addressId))));
+        if (!updateEmbedded(Criteria.where("id").is(customerId).and("address.id").is(addressId), update)) {
+            if (!customerRepository.existsById(customerId)) {
+                throw new CustomerNotFoundException("Customer not found with id " + customerId);
+            }
+            throw new AddressNotFoundException("Address not found with given id : " + addressId);
+        }
 
         try {
-//            Customer updatedCustomer = customerRepository.findById(customerId)
-//                    .map(customer -> {
-//                        List<Address> collect = customer.getAddress().stream().filter(address -> address.getId() != addressId).collect(Collectors.toList());
-//                        customer.setAddress(collect);
-//                        return customer;
-//                    })
-//                    .orElseThrow(() -> new CustomerNotFoundException("Customer not found with id " + customerId));
-
-            Customer updatedCustomer = customerRepository.findById(customerId)
-                    .map(customer -> {
-                        customer.getAddress().removeIf(address -> address.getId().equals(addressId));
-                        return customer;
-                    })
-                    .orElseThrow(() -> new CustomerNotFoundException("Customer not found with id " + customerId));
-
-            customerRepository.save(updatedCustomer);
             addressRepository.deleteById(addressId);
             return true;
         } catch (Exception e) {
@@ -164,6 +229,8 @@ public class AddressServiceImpl implements IAddressService {
 
     /**
      * Delete addresses by customer ID.
+     * <p>
+     * The address array is emptied with a single update, and the legacy copies are removed with a single delete.
      *
      * @param customerId The ID of the customer whose addresses to delete.
      * @return True if the deletion was successful, false otherwise.
@@ -171,15 +238,59 @@ public class AddressServiceImpl implements IAddressService {
      */
     @Override
     public boolean deleteAddressByCustomerId(String customerId) {
-        Customer customer = customerRepository.findById(customerId).orElseThrow(() -> new CustomerNotFoundException("Customer not found with id " + customerId));
+        Customer customer = findCustomer(customerId);
         try {
-            addressRepository.deleteAll(customer.getAddress());
-            customer.setAddress(List.of());
-            customerRepository.save(customer);
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(customerId)), touched(new Update().set(ADDRESS, new ArrayList<>())), Customer.class);
+            addressRepository.deleteAllById(customer.getAddress().stream().map(Address::getId).toList());
             return true;
         }catch (Exception e) {
             log.error("Error deleting address: {}", e.getMessage());
         }
         return false;
     }
+
+    /**
+     * Apply a partial update to the customer matched by the criteria, as long as its addresses are embedded.
+     * A matched customer that still has legacy address references is migrated first, with the guarded update of
+     * {@link AddressMigrationJob#ensureEmbedded}, and the update retried, so that the migration can not overwrite it.
+     *
+     * @return True if a customer was updated, false if none matched.
+     */
+    private boolean updateEmbedded(Criteria criteria, Update update) {
+        Query embedded = new Query(criteria).addCriteria(Criteria.where(LEGACY_ADDRESS).exists(false));
+        if (mongoTemplate.updateFirst(embedded, update, Customer.class).getMatchedCount() > 0) {
+            return true;
+        }
+        Query unmigrated = new Query(criteria).addCriteria(Criteria.where(LEGACY_ADDRESS).exists(true));
+        unmigrated.fields().include("id").include(ADDRESS).include(LEGACY_ADDRESS);
+        Customer legacy = mongoTemplate.findOne(unmigrated, Customer.class);
+        if (legacy == null) {
+            return false;
+        }
+        addressMigrationJob.ensureEmbedded(legacy);
+        return mongoTemplate.updateFirst(embedded, update, Customer.class).getMatchedCount() > 0;
+    }
+
+    /**
+     * Partial updates bypass the auditing of {@code save}, so the last modification is set here. The address version
+     * is bumped as well, which makes a concurrent {@link #replaceAddresses} start over.
+     */
+    private Update touched(Update update) {
+        return update.set("updatedAt", LocalDateTime.now())
+                .set("updatedBy", auditorAware.getCurrentAuditor().orElse(null))
+                .inc(ADDRESS_VERSION, 1);
+    }
+
+    private Customer findCustomer(String customerId) {
+        Customer customer = customerRepository.findById(customerId).orElseThrow(() -> new CustomerNotFoundException("Customer not found with id " + customerId));
+        return addressMigrationJob.ensureEmbedded(customer);
+    }
+
+    private Optional<Customer> findCustomerByAddressId(String addressId) {
+        return Optional.ofNullable(mongoTemplate.findOne(new Query(Criteria.where("address.id").is(addressId)), Customer.class));
+    }
+
+    private static Optional<Address> findAddress(Customer customer, String addressId) {
+        return customer.getAddress().stream().filter(address -> addressId.equals(address.getId())).findFirst();
+    }
 }
@@ -0,0 +1,135 @@
+package com.microservice.customer.service.impl;
+
+import com.microservice.customer.dto.Customer360Dto;
+import com.microservice.customer.dto.CustomerDto;
+import com.microservice.customer.dto.external.AccountDto;
+import com.microservice.customer.dto.external.CardDto;
+import com.microservice.customer.dto.external.CardPageDto;
+import com.microservice.customer.dto.external.LoanDto;
+import com.microservice.customer.external.AccountService;
+import com.microservice.customer.external.CardService;
+import com.microservice.customer.external.LoanService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the customer 360 view by calling account, loan and card service concurrently.
+ * <p>
+ * Every request gets its own scope of virtual threads, one per service call, so the view takes as long as
+ * the slowest call instead of the sum of all of them. Each call has its own deadline counted from the start
+ * of the fan-out. A call that fails or misses its deadline is cancelled and its part is left empty, and the
+ * view is marked as degraded instead of failing as a whole. When the view is returned, the scope is shut down
+ * and any call still running is interrupted.
+ */
+@Component
+@Slf4j
+public class Customer360Aggregator {
+
+    private static final String ACCOUNTS = "accounts";
+    private static final String LOANS = "loans";
+    private static final String CARDS = "cards";
+    private static final int CARDS_PAGE_SIZE = 100;
+
+    private final AccountService accountService;
+    private final LoanService loanService;
+    private final CardService cardService;
+    private final Duration accountsTimeout;
+    private final Duration loansTimeout;
+    private final Duration cardsTimeout;
+    private final int maxCards;
+
+    public Customer360Aggregator(AccountService accountService,
+                                 LoanService loanService,
+                                 CardService cardService,
+                                 @Value("${customer.overview.timeout.accounts:2s}") Duration accountsTimeout,
+                                 @Value("${customer.overview.timeout.loans:2s}") Duration loansTimeout,
+                                 @Value("${customer.overview.timeout.cards:2s}") Duration cardsTimeout,
+                                 @Value("${customer.overview.max-cards:100}") int maxCards) {
+        this.accountService = accountService;
+        this.loanService = loanService;
+        this.cardService = cardService;
+        this.accountsTimeout = accountsTimeout;
+        this.loansTimeout = loansTimeout;
+        this.cardsTimeout = cardsTimeout;
+        this.maxCards = maxCards;
+    }
+
+    /**
+     * Collect the accounts, loans and cards of a customer.
+     *
+     * @param customer the customer, already loaded
+     * @return the 360 view, degraded if a part could not be loaded
+     */
+    public Customer360Dto aggregate(CustomerDto customer) {
+        String customerId = customer.getId();
+        Customer360Dto overview = Customer360Dto.builder().customer(customer).build();
+
+        ExecutorService scope = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("customer-360-", 1).factory());
+        try {
+            long startNanos = System.nanoTime();
+            Future<List<AccountDto>> accounts = scope.submit(() -> accountService.getAccounts(customerId));
+            Future<List<LoanDto>> loans = scope.submit(() -> loanService.getLoansByCustomerId(customerId));
+            Future<CardPageDto> cards = scope.submit(fetchCards(customerId));
+
+            List<String> failedParts = overview.getFailedParts();
+            overview.setAccounts(await(ACCOUNTS, accounts, accountsTimeout, startNanos, List.of(), failedParts));
+            overview.setLoans(await(LOANS, loans, loansTimeout, startNanos, List.of(), failedParts));
+            CardPageDto cardPage = await(CARDS, cards, cardsTimeout, startNanos, null, failedParts);
+            if (cardPage != null) {
+                overview.setCards(cardPage.getCards());
+                overview.setCardsNextCursor(cardPage.getNextCursor());
+            }
+            overview.setDegraded(!failedParts.isEmpty());
+        } finally {
+            scope.shutdownNow();
+        }
+        return overview;
+    }
+
+    /**
+     * The cards of the customer page by page, oldest first, until {@code customer.overview.max-cards} are listed.
+     * The cursor of the cards left out is returned with them.
+     */
+    private Callable<CardPageDto> fetchCards(String customerId) {
+        return () -> {
+            List<CardDto> cards = new ArrayList<>();
+            String after = null;
+            do {
+                CardPageDto page = cardService.getCards(customerId, after, Math.min(maxCards - cards.size(), CARDS_PAGE_SIZE));
+                cards.addAll(page.getCards());
+                after = page.getNextCursor();
+            } while (after != null && cards.size() < maxCards);
+            return new CardPageDto(cards, after, maxCards);
+        };
+    }
+
+    private <T> T await(String part, Future<T> future, Duration timeout, long startNanos, T fallback, List<String> failedParts) {
+        long remainingNanos = timeout.toNanos() - (System.nanoTime() - startNanos);
+        try {
+            T result = future.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+            return result == null ? fallback : result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Customer 360: {} did not answer within {}", part, timeout);
+        } catch (ExecutionException e) {
+            log.warn("Customer 360: {} failed: {}", part, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        failedParts.add(part);
+        return fallback;
+    }
+}
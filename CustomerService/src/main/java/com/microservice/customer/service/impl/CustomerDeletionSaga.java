@@ -0,0 +1,334 @@
+package com.microservice.customer.service.impl;
+
+import com.microservice.customer.constants.DeletionStatus;
+import com.microservice.customer.constants.DeletionStep;
+import com.microservice.customer.entity.CustomerDeletion;
+import com.microservice.customer.entity.CustomerDeletionStep;
+import com.microservice.customer.external.AccountService;
+import com.microservice.customer.external.CardService;
+import com.microservice.customer.external.LoanService;
+import com.mongodb.DBRef;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Purges the data of deleted customers, the background part of the deletion saga.
+ * <p>
+ * A single poller thread claims up to {@code customer.deletion.batch-size} due {@code CustomerDeleted} events at a
+ * time, each with a {@code findAndModify} that leases it by pushing its next attempt {@code customer.deletion.lease}
+ * into the future, so several instances can drain the outbox side by side. The events of a batch are purged
+ * together by {@code customer.deletion.concurrency} workers, or one virtual thread each when virtual threads are
+ * enabled.
+ * <p>
+ * The steps of an event run in order, each attempt resuming at the first one not done yet: loans, accounts and
+ * cards through their services, then the addresses still in the legacy {@code Addresses} collection directly. Loans
+ * go first, so that nothing is purged while loan-service refuses. A step that answers 404 has nothing left to purge.
+ * Transport errors, 5xx and 429 are retried with exponential backoff until {@code customer.deletion.max-attempts},
+ * other 4xx answers fail the step at once. When the first step fails, the customer is restored from the snapshot and
+ * the event is {@code CANCELLED}. An event that failed later stays {@code FAILED} with its snapshot and shows up in
+ * the reconciliation report. Once every step is done the customer snapshot is dropped and the event is
+ * {@code COMPLETED}.
+ */
+@Component
+@Slf4j
+public class CustomerDeletionSaga implements SmartLifecycle {
+
+    private static final String ADDRESSES = "Addresses";
+
+    private final MongoTemplate mongoTemplate;
+    private final AccountService accountService;
+    private final LoanService loanService;
+    private final CardService cardService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int concurrency;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final int maxAttempts;
+    private final boolean virtualThreads;
+
+    private volatile boolean running;
+    private Thread pollerThread;
+    private ExecutorService workers;
+
+    public CustomerDeletionSaga(MongoTemplate mongoTemplate,
+                                AccountService accountService,
+                                LoanService loanService,
+                                CardService cardService,
+                                @Value("${customer.deletion.enabled:true}") boolean enabled,
+                                @Value("${customer.deletion.batch-size:20}") int batchSize,
+                                @Value("${customer.deletion.concurrency:4}") int concurrency,
+                                @Value("${customer.deletion.poll-interval:500ms}") Duration pollInterval,
+                                @Value("${customer.deletion.lease:2m}") Duration lease,
+                                @Value("${customer.deletion.retry-backoff:5s}") Duration retryBackoff,
+                                @Value("${customer.deletion.max-attempts:10}") int maxAttempts,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.mongoTemplate = mongoTemplate;
+        this.accountService = accountService;
+        this.loanService = loanService;
+        this.cardService = cardService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.maxAttempts = maxAttempts;
+        this.virtualThreads = virtualThreads;
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                List<CustomerDeletion> batch = claim();
+                if (batch.isEmpty()) {
+                    Thread.sleep(pollInterval.toMillis());
+                    continue;
+                }
+                List<Callable<Void>> purges = new ArrayList<>(batch.size());
+                batch.forEach(deletion -> purges.add(() -> {
+                    purge(deletion);
+                    return null;
+                }));
+                workers.invokeAll(purges);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error polling the customer outbox: {}", e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Lease the due events to this instance, one {@code findAndModify} each.
+     */
+    private List<CustomerDeletion> claim() {
+        List<CustomerDeletion> claimed = new ArrayList<>();
+        while (claimed.size() < batchSize) {
+            LocalDateTime now = LocalDateTime.now();
+            Query due = new Query(Criteria.where("status").is(DeletionStatus.PENDING.name()).and("next_attempt_at").lte(now))
+                    .with(Sort.by(Sort.Direction.ASC, "next_attempt_at"));
+            Update leased = new Update().set("next_attempt_at", now.plus(lease)).inc("attempts", 1);
+            CustomerDeletion deletion = mongoTemplate.findAndModify(due, leased, FindAndModifyOptions.options().returnNew(true), CustomerDeletion.class);
+            if (deletion == null) {
+                break;
+            }
+            claimed.add(deletion);
+        }
+        return claimed;
+    }
+
+    private void purge(CustomerDeletion deletion) {
+        String customerId = deletion.getId();
+        try {
+            mongoTemplate.remove(CustomerDeletionServiceImpl.byId(customerId), CustomerDeletionServiceImpl.CUSTOMERS);
+        } catch (RuntimeException e) {
+            log.warn("Customer {} could not be removed, retrying: {}", customerId, e.getMessage());
+            finish(deletion);
+            return;
+        }
+
+        for (CustomerDeletionStep step : deletion.getSteps()) {
+            if (step.getStatus() == DeletionStatus.COMPLETED) {
+                continue;
+            }
+            if (step.getStatus() != DeletionStatus.PENDING) {
+                break;
+            }
+            try {
+                purge(step.getStep(), deletion);
+                step.setStatus(DeletionStatus.COMPLETED);
+                step.setCompletedAt(LocalDateTime.now());
+                step.setLastError(null);
+            } catch (FeignException e) {
+                step.setLastError(e.getMessage());
+                if (e.status() >= 400 && e.status() < 500 && e.status() != 429) {
+                    step.setStatus(DeletionStatus.FAILED);
+                    log.error("Purge of {} of customer {} was rejected: {}", step.getStep(), customerId, e.status());
+                } else {
+                    log.warn("Purge of {} of customer {} attempt {} failed, retrying: {}", step.getStep(), customerId, deletion.getAttempts(), e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                step.setLastError(e.getMessage());
+                log.warn("Purge of {} of customer {} attempt {} failed, retrying: {}", step.getStep(), customerId, deletion.getAttempts(), e.getMessage());
+            }
+            if (step.getStatus() != DeletionStatus.COMPLETED) {
+                break;
+            }
+        }
+        finish(deletion);
+    }
+
+    private void purge(DeletionStep step, CustomerDeletion deletion) {
+        String customerId = deletion.getId();
+        try {
+            switch (step) {
+                case ACCOUNTS -> accountService.deleteAccounts(customerId);
+                case LOANS -> loanService.deleteLoans(customerId);
+                case CARDS -> cardService.deleteCards(customerId);
+                case ADDRESSES -> purgeAddresses(deletion.getCustomer());
+            }
+        } catch (FeignException.NotFound e) {
+            log.info("No {} found for customer {}", step, customerId);
+        }
+    }
+
+    /**
+     * Remove the addresses of the customer from the legacy collection, both those still referenced and those
+     * already copied into the customer document.
+     */
+    private void purgeAddresses(Document customer) {
+        if (customer == null) {
+            return;
+        }
+        List<Object> addressIds = new ArrayList<>();
+        if (customer.get("addresses") instanceof List<?> embedded) {
+            embedded.stream()
+                    .filter(Document.class::isInstance)
+                    .map(address -> ((Document) address).get("_id"))
+                    .filter(Objects::nonNull)
+                    .forEach(addressIds::add);
+        }
+        if (customer.get("address") instanceof List<?> references) {
+            references.stream()
+                    .filter(DBRef.class::isInstance)
+                    .map(reference -> ((DBRef) reference).getId())
+                    .forEach(addressIds::add);
+        }
+        if (!addressIds.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(addressIds)), ADDRESSES);
+        }
+    }
+
+    /**
+     * Store the progress of the steps. The event completes when every step is done, fails when a step failed or
+     * the attempts are used up, and is otherwise scheduled again with backoff. It is cancelled instead of failed
+     * when nothing was purged and the customer could be restored.
+     */
+    private void finish(CustomerDeletion deletion) {
+        List<CustomerDeletionStep> steps = deletion.getSteps();
+        boolean failed = steps.stream().anyMatch(step -> step.getStatus() == DeletionStatus.FAILED);
+        boolean pending = steps.stream().anyMatch(step -> step.getStatus() == DeletionStatus.PENDING);
+        if (!failed && pending && deletion.getAttempts() >= maxAttempts) {
+            steps.stream()
+                    .filter(step -> step.getStatus() == DeletionStatus.PENDING)
+                    .findFirst()
+                    .ifPresent(step -> step.setStatus(DeletionStatus.FAILED));
+            failed = true;
+            log.error("Purge of customer {} gave up after {} attempts", deletion.getId(), deletion.getAttempts());
+        }
+
+        Update update = new Update().set("steps", steps);
+        LocalDateTime now = LocalDateTime.now();
+        if (failed && steps.stream().noneMatch(step -> step.getStatus() == DeletionStatus.COMPLETED) && restore(deletion)) {
+            update.set("status", DeletionStatus.CANCELLED).unset("next_attempt_at").unset("customer");
+            log.warn("Purge of customer {} failed before anything was purged, customer restored", deletion.getId());
+        } else if (failed) {
+            update.set("status", DeletionStatus.FAILED).unset("next_attempt_at");
+        } else if (pending) {
+            update.set("next_attempt_at", now.plus(backoff(deletion.getAttempts())));
+        } else {
+            update.set("status", DeletionStatus.COMPLETED).set("completed_at", now).unset("next_attempt_at").unset("customer");
+            log.info("Purge of customer {} completed", deletion.getId());
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(deletion.getId())), update, CustomerDeletion.class);
+    }
+
+    /**
+     * Put the customer document back into {@code Customers}. Fails when its email or phone has been taken since.
+     */
+    private boolean restore(CustomerDeletion deletion) {
+        if (deletion.getCustomer() == null) {
+            return false;
+        }
+        try {
+            mongoTemplate.insert(deletion.getCustomer(), CustomerDeletionServiceImpl.CUSTOMERS);
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.error("Customer {} could not be restored: {}", deletion.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        return retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 10));
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (virtualThreads) {
+            workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("customer-deletion-", 1).factory());
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "customer-deletion-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        running = true;
+        pollerThread = new Thread(this::runLoop, "customer-outbox-poller");
+        pollerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (pollerThread != null) {
+            pollerThread.interrupt();
+        }
+        if (workers == null) {
+            return;
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Customer deletion saga did not finish in time, unfinished purges are retried after their lease");
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,177 @@
+package com.microservice.customer.service.impl;
+
+import com.microservice.customer.constants.DeletionStatus;
+import com.microservice.customer.constants.DeletionStep;
+import com.microservice.customer.dto.CustomerDeletionDto;
+import com.microservice.customer.dto.CustomerDeletionReportDto;
+import com.microservice.customer.dto.CustomerDeletionStepDto;
+import com.microservice.customer.entity.Customer;
+import com.microservice.customer.entity.CustomerDeletion;
+import com.microservice.customer.entity.CustomerDeletionStep;
+import com.microservice.customer.exception.CustomerDeletionConflictException;
+import com.microservice.customer.exception.CustomerNotFoundException;
+import com.microservice.customer.external.LoanService;
+import com.microservice.customer.filter.CustomerIdFilter;
+import com.microservice.customer.repository.CustomerDeletionRepository;
+import com.microservice.customer.repository.CustomerRepository;
+import com.microservice.customer.service.ICustomerDeletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Customer deletion, first step of the deletion saga.
+ * <p>
+ * A customer that still owes money on a loan is not deleted, loan-service would refuse to purge the loans. Otherwise
+ * the customer document is copied into a {@code CustomerDeleted} event of the {@code CustomerOutbox} collection and
+ * then removed from {@code Customers}, two single document writes that do not depend on how much data the customer
+ * has elsewhere. {@link CustomerDeletionSaga} picks the event up and purges accounts, loans, cards and addresses.
+ * It removes the customer again on every attempt, so a delete that failed after the event was written still
+ * completes. The event keeps the customer document until every step is done, and the saga puts it back when the
+ * purge fails before anything was purged.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerDeletionServiceImpl implements ICustomerDeletionService {
+
+    static final String CUSTOMERS = "Customers";
+
+    /**
+     * Loan statuses loan-service keeps the loans in when their customer is deleted.
+     */
+    private static final Set<String> PAYABLE_LOAN_STATUSES = Set.of("DISBURSED", "ACTIVE", "IN_ARREARS", "DEFAULTED");
+
+    private final MongoTemplate mongoTemplate;
+    private final CustomerRepository customerRepository;
+    private final CustomerDeletionRepository customerDeletionRepository;
+    private final CustomerIdFilter customerIdFilter;
+    private final LoanService loanService;
+
+    @Override
+    public void deleteCustomer(String customerId) {
+        Document customer = mongoTemplate.findOne(byId(customerId), Document.class, CUSTOMERS);
+        if (customer == null) {
+            throw new CustomerNotFoundException("Customer not found");
+        }
+        if (loanService.getLoansByCustomerId(customerId).stream().anyMatch(loan -> PAYABLE_LOAN_STATUSES.contains(loan.getLoanStatus()))) {
+            throw new CustomerDeletionConflictException("Customer " + customerId + " still has outstanding loans");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        CustomerDeletion deletion = CustomerDeletion.builder()
+                .id(customerId)
+                .eventType(CustomerDeletion.EVENT_TYPE)
+                .status(DeletionStatus.PENDING)
+                .customer(customer)
+                .steps(Arrays.stream(DeletionStep.values())
+                        .map(step -> CustomerDeletionStep.builder().step(step).status(DeletionStatus.PENDING).build())
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(customerId).and("status").is(DeletionStatus.CANCELLED.name())),
+                CustomerDeletion.class);
+        try {
+            customerDeletionRepository.insert(deletion);
+        } catch (DuplicateKeyException e) {
+            throw new CustomerNotFoundException("Customer not found");
+        }
+
+        mongoTemplate.remove(byId(customerId), CUSTOMERS);
+        customerIdFilter.onDeleted(customerId);
+        log.info("Customer {} deleted, purge of its data scheduled", customerId);
+    }
+
+    @Override
+    public CustomerDeletionDto getDeletion(String customerId) {
+        return customerDeletionRepository.findById(customerId)
+                .map(CustomerDeletionServiceImpl::toDto)
+                .orElseThrow(() -> new CustomerNotFoundException("Customer deletion not found"));
+    }
+
+    /**
+     * Count the deletions by status, list the failed ones and the customers of unfinished deletions that are
+     * still in {@code Customers}.
+     */
+    @Override
+    public CustomerDeletionReportDto getReport(int limit) {
+        List<CustomerDeletionDto> failures = customerDeletionRepository
+                .findByStatusOrderByCreatedAtAsc(DeletionStatus.FAILED, Limit.of(limit)).stream()
+                .map(CustomerDeletionServiceImpl::toDto)
+                .toList();
+
+        Query unfinished = new Query(Criteria.where("status").in(DeletionStatus.PENDING.name(), DeletionStatus.FAILED.name())).limit(limit);
+        unfinished.fields().include("_id");
+        List<String> unfinishedIds = mongoTemplate.find(unfinished, CustomerDeletion.class).stream()
+                .map(CustomerDeletion::getId)
+                .toList();
+        List<String> customersNotRemoved = unfinishedIds.isEmpty() ? List.of()
+                : customerRepository.findIdsByIdIn(unfinishedIds).stream().map(Customer::getId).toList();
+
+        return CustomerDeletionReportDto.builder()
+                .pending(customerDeletionRepository.countByStatus(DeletionStatus.PENDING))
+                .completed(customerDeletionRepository.countByStatus(DeletionStatus.COMPLETED))
+                .failed(customerDeletionRepository.countByStatus(DeletionStatus.FAILED))
+                .cancelled(customerDeletionRepository.countByStatus(DeletionStatus.CANCELLED))
+                .failures(failures)
+                .customersNotRemoved(customersNotRemoved)
+                .build();
+    }
+
+    @Override
+    public boolean retryDeletion(String customerId) {
+        CustomerDeletion deletion = customerDeletionRepository.findById(customerId)
+                .orElseThrow(() -> new CustomerNotFoundException("Customer deletion not found"));
+        if (deletion.getStatus() != DeletionStatus.FAILED) {
+            return false;
+        }
+        deletion.getSteps().stream()
+                .filter(step -> step.getStatus() == DeletionStatus.FAILED)
+                .forEach(step -> step.setStatus(DeletionStatus.PENDING));
+        deletion.setStatus(DeletionStatus.PENDING);
+        deletion.setAttempts(0);
+        deletion.setNextAttemptAt(LocalDateTime.now());
+        customerDeletionRepository.save(deletion);
+        return true;
+    }
+
+    /**
+     * Query on the {@code _id} of a raw customer document, stored as an ObjectId when the id is one.
+     */
+    static Query byId(String customerId) {
+        return new Query(Criteria.where("_id").is(ObjectId.isValid(customerId) ? new ObjectId(customerId) : customerId));
+    }
+
+    private static CustomerDeletionDto toDto(CustomerDeletion deletion) {
+        return CustomerDeletionDto.builder()
+                .customerId(deletion.getId())
+                .status(deletion.getStatus().name())
+                .attempts(deletion.getAttempts())
+                .createdAt(deletion.getCreatedAt())
+                .completedAt(deletion.getCompletedAt())
+                .steps(deletion.getSteps().stream()
+                        .map(step -> CustomerDeletionStepDto.builder()
+                                .step(step.getStep().name())
+                                .status(step.getStatus().name())
+                                .lastError(step.getLastError())
+                                .completedAt(step.getCompletedAt())
+                                .build())
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .build();
+    }
+}
@@ -1,85 +1,180 @@
 package com.microservice.customer.service.impl;
 
+import com.microservice.customer.constants.SignupStatus;
+import com.microservice.customer.dto.Customer360Dto;
+import com.microservice.customer.dto.CustomerSignupResultDto;
 import com.microservice.customer.dto.CustomerUpdateDto;
 import com.microservice.customer.entity.Address;
 import com.microservice.customer.entity.Customer;
 import com.microservice.customer.dto.CustomerDto;
+import com.microservice.customer.dto.CustomerPageDto;
+import com.microservice.customer.dto.CustomerSummaryDto;
 import com.microservice.customer.exception.CustomerAlreadyExistException;
-import com.microservice.customer.external.AccountService;
+import com.microservice.customer.filter.CustomerIdFilter;
 import com.microservice.customer.mapper.CustomerMapper;
+import com.microservice.customer.migration.AddressMigrationJob;
 import com.microservice.customer.exception.CustomerNotFoundException;
 import com.microservice.customer.repository.CustomerRepository;
+import com.microservice.customer.service.ICustomerDeletionService;
 import com.microservice.customer.service.ICustomerService;
-import feign.FeignException;
+import com.mongodb.bulk.BulkWriteError;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ExecutableFindOperation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CustomerServiceImpl implements ICustomerService {
 
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Pattern DUPLICATE_KEY_INDEX = Pattern.compile("index: (\\w+?)(?:_-?1)? dup key");
+
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
-    private final AccountService accountService;
+    private final AddressMigrationJob addressMigrationJob;
+    private final Customer360Aggregator customer360Aggregator;
+    private final MongoTemplate mongoTemplate;
+    private final CustomerIdFilter customerIdFilter;
+    private final ICustomerDeletionService customerDeletionService;
+    private final AuditorAware<String> auditorAware;
+
+    @Value("${customer.export.batch-size:500}")
+    private int exportBatchSize;
 
     /**
      * Create a new customer with the given information.
+     * <p>
+     * The customer is inserted in a single round trip, the unique indexes on email and phone reject duplicates.
      *
      * @param customerDto The customer information to create.
+     * @throws CustomerAlreadyExistException if another customer already has the email or phone.
      */
     @Override
     public void createCustomer(CustomerDto customerDto) {
-        Customer customer = new Customer();
-        customer = customerMapper.dtoToCustomer(customerDto, customer);
-        Optional<Customer> customerByEmailOrPhone = customerRepository.findCustomerByEmailOrPhone(customerDto.getEmail(), customerDto.getPhone());
-        if(customerByEmailOrPhone.isPresent()){
-            throw new CustomerAlreadyExistException("Customer with email or phone already exists");
+        Customer customer = customerMapper.dtoToCustomer(customerDto, new Customer());
+        try {
+            customerRepository.insert(customer);
+        } catch (DuplicateKeyException e) {
+            throw alreadyExists(customer, e.getMessage());
         }
+    }
+
+    /**
+     * Create many customers with one unordered insert.
+     * <p>
+     * A customer rejected by the unique indexes does not stop the others from being inserted.
+     *
+     * @param customerDtos The customers to create.
+     * @return The outcome of every customer, in request order.
+     */
+    @Override
+    public List<CustomerSignupResultDto> createCustomers(List<CustomerDto> customerDtos) {
+        List<Customer> customers = customerDtos.stream()
+                .map(customerDto -> customerMapper.dtoToCustomer(customerDto, new Customer()))
+                .toList();
+
+        Map<Integer, CustomerSignupResultDto> rejected = new HashMap<>();
         try {
-            Customer savedCustomer = customerRepository.save(customer);
-        } catch (Exception e) {
-            log.error("Error creating customer: {}", e.getMessage());
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Customer.class).insert(customers).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                Customer customer = customers.get(error.getIndex());
+                rejected.put(error.getIndex(), error.getCode() == DUPLICATE_KEY
+                        ? signupResult(error.getIndex(), customer, SignupStatus.DUPLICATE, alreadyExists(customer, error.getMessage()).getMessage())
+                        : signupResult(error.getIndex(), customer, SignupStatus.FAILED, "Customer could not be stored"));
+            }
         }
+
+        List<CustomerSignupResultDto> results = new ArrayList<>(customers.size());
+        for (int i = 0; i < customers.size(); i++) {
+            CustomerSignupResultDto result = rejected.get(i);
+            results.add(result != null ? result : signupResult(i, customers.get(i), SignupStatus.CREATED, null));
+        }
+        return results;
+    }
+
+    private static CustomerSignupResultDto signupResult(int index, Customer customer, SignupStatus status, String message) {
+        return CustomerSignupResultDto.builder()
+                .index(index)
+                .email(customer.getEmail())
+                .status(status.name())
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Name the unique field of a duplicate key error, the index names of {@link Customer} are its field names.
+     */
+    private static CustomerAlreadyExistException alreadyExists(Customer customer, String message) {
+        Matcher matcher = DUPLICATE_KEY_INDEX.matcher(message == null ? "" : message);
+        String field = matcher.find() ? matcher.group(1) : "";
+        return switch (field) {
+            case "email" -> new CustomerAlreadyExistException("email", customer.getEmail());
+            case "phone" -> new CustomerAlreadyExistException("phone", customer.getPhone());
+            default -> new CustomerAlreadyExistException("Customer with email or phone already exists");
+        };
     }
 
     /**
      * Update an existing customer with the given ID.
+     * <p>
+     * Only the given profile fields are written, with a single {@code $set}, so the addresses and their version are
+     * never overwritten with what a concurrent address change has replaced.
      *
      * @param customerId The ID of the customer to update.
      * @param customerUpdateDto The updated customer information.
+     * @throws CustomerNotFoundException if no customer has the given ID.
+     * @throws CustomerAlreadyExistException if the new phone number belongs to another customer.
      */
-
     @Override
     public boolean updateCustomer(String customerId, CustomerUpdateDto customerUpdateDto) {
+        Update update = new Update()
+                .set("updatedAt", LocalDateTime.now())
+                .set("updatedBy", auditorAware.getCurrentAuditor().orElse(null));
+        setIfPresent(update, "firstName", customerUpdateDto.getFirstName());
+        setIfPresent(update, "lastName", customerUpdateDto.getLastName());
+        setIfPresent(update, "phone", customerUpdateDto.getPhone());
+        setIfPresent(update, "dateOfBirth", customerUpdateDto.getDateOfBirth());
+        setIfPresent(update, "gender", customerUpdateDto.getGender());
 
-        boolean isUpdated = false;
-
-        Customer customer = customerRepository.findById(customerId).orElseThrow(() -> new CustomerNotFoundException("Customer not found"));
         try {
-            customer = updateCustomer(customerUpdateDto, customer);
-            customerRepository.save(customer);
-            isUpdated = true;
-        } catch (Exception e) {
-            log.error("Error updating customer: {}", e.getMessage());
+            if (mongoTemplate.updateFirst(new Query(Criteria.where("id").is(customerId)), update, Customer.class).getMatchedCount() == 0) {
+                throw new CustomerNotFoundException("Customer not found");
+            }
+        } catch (DuplicateKeyException e) {
+            throw alreadyExists(Customer.builder().phone(customerUpdateDto.getPhone()).build(), e.getMessage());
         }
-        return isUpdated;
+        return true;
     }
 
-    private Customer updateCustomer(CustomerUpdateDto customerUpdateDto, Customer customer) {
-
-        customer.setFirstName(customerUpdateDto.getFirstName() == null ? customer.getFirstName() : customerUpdateDto.getFirstName());
-        customer.setLastName(customerUpdateDto.getLastName() == null? customer.getLastName() : customerUpdateDto.getLastName());
-        customer.setPhone(customerUpdateDto.getPhone() == null? customer.getPhone() : customerUpdateDto.getPhone());
-        customer.setDateOfBirth(customerUpdateDto.getDateOfBirth() == null? customer.getDateOfBirth() : customerUpdateDto.getDateOfBirth());
-        customer.setGender(customerUpdateDto.getGender() == null? customer.getGender() : customerUpdateDto.getGender());
-
-        return customer;
+    private static void setIfPresent(Update update, String field, String value) {
+        if (value != null) {
+            update.set(field, value);
+        }
     }
 
 
@@ -93,57 +188,66 @@ public class CustomerServiceImpl implements ICustomerService {
     public CustomerDto getCustomer(String customerId) {
 
         Customer customer = customerRepository.findById(customerId).orElseThrow(() -> new CustomerNotFoundException("Customer not found"));
-        return customerMapper.customerToDto(customer, new CustomerDto());
+        return customerMapper.customerToDto(addressMigrationJob.ensureEmbedded(customer), new CustomerDto());
     }
 
     /**
-     * Retrieve a list of all customers in the database.
+     * Retrieve one page of customers ordered by ID.
+     * <p>
+     * The page starts right after the given ID on the {@code _id} index, and only the summary fields are read.
+     * One extra document is fetched to know whether a next page exists without a count query.
      *
-     * @return A list of all customers.
+     * @return The page of customers with the cursor of the next page.
+     */
+    @Override
+    public CustomerPageDto getCustomers(String after, int limit) {
+        Query query = summariesById().limit(limit + 1);
+        if (after != null) {
+            query.addCriteria(Criteria.where("_id").gt(after));
+        }
+        List<CustomerSummaryDto> customers = summaries(query).all();
+
+        boolean hasNext = customers.size() > limit;
+        List<CustomerSummaryDto> page = hasNext ? customers.subList(0, limit) : customers;
+        String nextCursor = hasNext ? page.get(page.size() - 1).id() : null;
+
+        return new CustomerPageDto(page, nextCursor, limit);
+    }
+
+    /**
+     * Stream all customers ordered by ID.
+     * <p>
+     * Documents are read through a Mongo cursor, {@code customer.export.batch-size} at a time and projected on the
+     * summary fields. The next batch is only requested once the consumer has taken the previous one, so a slow
+     * reader on the other end holds the cursor back instead of letting documents pile up in memory.
      */
     @Override
-    public List<CustomerDto> getAllCustomers() {
+    public void streamCustomers(Consumer<CustomerSummaryDto> consumer) {
+        try (Stream<CustomerSummaryDto> customers = summaries(summariesById().cursorBatchSize(exportBatchSize)).stream()) {
+            customers.forEach(consumer);
+        }
+    }
 
-        List<Customer> customers = customerRepository.findAll();
+    private static Query summariesById() {
+        return new Query().with(Sort.by(Sort.Direction.ASC, "_id"));
+    }
 
-        return customers.stream().map(customer -> customerMapper.customerToDto(customer, new CustomerDto())).toList();
+    private ExecutableFindOperation.TerminatingFind<CustomerSummaryDto> summaries(Query query) {
+        return mongoTemplate.query(Customer.class).as(CustomerSummaryDto.class).matching(query);
     }
 
 
     /**
      * Delete a customer by their ID.
+     * The customer is removed right away, its accounts, loans, cards and addresses are purged in the background,
+     * see {@link CustomerDeletionServiceImpl}.
      *
      * @param customerId The ID of the customer to delete.
      */
     @Override
-    @Transactional
     public boolean deleteCustomer(String customerId) {
-        boolean isDeleted = false;
-        CustomerDto customer = getCustomer(customerId);
-        try {
-            if (customer != null) {
-                accountService.deleteAccounts(customerId);
-                customerRepository.deleteById(customerId);
-                isDeleted = true;
-            }
-        }catch (FeignException.NotFound e) {
-            log.info("No Accounts Found for customer {}", customerId);
-            customerRepository.deleteById(customerId);
-            isDeleted = true;
-        }catch(FeignException.InternalServerError e) {
-
-            log.error("Error deleting accounts: {}", e.getMessage());
-            throw new RuntimeException("Error deleting accounts");
-
-        }catch (FeignException e) {
-            log.error("Error deleting accounts : {}", e.getMessage());
-            throw new RuntimeException("Error deleting accounts");
-
-        }catch (Exception e) {
-            log.error("Error deleting customer: {}", e.getMessage());
-            throw new RuntimeException("Error deleting customer");
-        }
-        return isDeleted;
+        customerDeletionService.deleteCustomer(customerId);
+        return true;
     }
 
 
@@ -158,17 +262,46 @@ public class CustomerServiceImpl implements ICustomerService {
 
         Customer customer = customerRepository.findCustomerByEmail(email).orElseThrow(() -> new CustomerNotFoundException("Customer not found"));
 
-        return customerMapper.customerToDto(customer,new CustomerDto());
+        return customerMapper.customerToDto(addressMigrationJob.ensureEmbedded(customer),new CustomerDto());
     }
 
     /**
      * Check if a customer exists by their ID.
+     * Only the {@code _id} index is read, and IDs ruled out by {@link CustomerIdFilter} are answered in memory.
      *
      * @param customerId The ID of the customer to check.
      * @return True if the customer exists, false otherwise.
      */
     @Override
     public boolean isCustomerExist(String customerId) {
-        return this.customerRepository.findById(customerId).isPresent();
+        return customerIdFilter.exists(customerId);
+    }
+
+    /**
+     * Check if many customers exist in a single database round trip.
+     * Only the ids are read, and IDs ruled out by {@link CustomerIdFilter} are left out of the query.
+     *
+     * @param customerIds The IDs of the customers to check.
+     * @return Existence flag for every requested customer ID.
+     */
+    @Override
+    public Map<String, Boolean> customersExist(List<String> customerIds) {
+        Set<String> existingIds = customerIdFilter.existing(customerIds);
+
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        customerIds.forEach(customerId -> result.put(customerId, existingIds.contains(customerId)));
+        return result;
+    }
+
+    /**
+     * Retrieve a customer together with their accounts, loans and card.
+     * The other services are called concurrently, see {@link Customer360Aggregator}.
+     *
+     * @param customerId The ID of the customer to retrieve.
+     * @return The 360 view of the customer, marked degraded if a part could not be loaded.
+     */
+    @Override
+    public Customer360Dto getCustomer360(String customerId) {
+        return customer360Aggregator.aggregate(getCustomer(customerId));
     }
 }
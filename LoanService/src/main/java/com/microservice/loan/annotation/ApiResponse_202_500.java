@@ -0,0 +1,35 @@
+package com.microservice.loan.annotation;
+
+
+import com.microservice.loan.dto.ErrorResponseDto;
+import com.microservice.loan.dto.LoanPaymentStatusDto;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ElementType.METHOD,ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ApiResponses({
+        @ApiResponse(
+                responseCode = "202",
+                description = "HTTP Status ACCEPTED",
+                content = @Content(
+                        schema = @Schema(implementation = LoanPaymentStatusDto.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "500",
+                description = "HTTP Status Internal Server Error",
+                content = @Content(
+                        schema = @Schema(implementation = ErrorResponseDto.class)
+                )
+        )
+})
+public @interface ApiResponse_202_500 {
+}
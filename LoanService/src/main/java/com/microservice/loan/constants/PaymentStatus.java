@@ -0,0 +1,7 @@
+package com.microservice.loan.constants;
+
+public enum PaymentStatus {
+    PENDING,
+    PAID,
+    FAILED
+}
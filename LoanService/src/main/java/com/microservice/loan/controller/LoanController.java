@@ -1,9 +1,11 @@
 package com.microservice.loan.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservice.loan.annotation.ApiResponse_200_417_500;
 import com.microservice.loan.annotation.ApiResponse_200_500;
 import com.microservice.loan.annotation.ApiResponse_201_500;
+import com.microservice.loan.annotation.ApiResponse_202_500;
 import com.microservice.loan.constants.LoanConstants;
 import com.microservice.loan.dto.*;
 import com.microservice.loan.dto.external.LoanPaymentRequestDto;
@@ -12,6 +14,8 @@ import com.microservice.loan.service.ILoanService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,8 +24,14 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping(path = "/api/loans", produces = {MediaType.APPLICATION_JSON_VALUE})
@@ -35,13 +45,15 @@ public class LoanController {
 
     private final ILoanService loanService;
     private final LoansContactInfo loansContactInfo;
+    private final ObjectMapper objectMapper;
 
     @Value("${build.version}")
     private String buildVersion;
 
-    public LoanController(ILoanService loanService, LoansContactInfo loansContactInfo) {
+    public LoanController(ILoanService loanService, LoansContactInfo loansContactInfo, ObjectMapper objectMapper) {
         this.loansContactInfo = loansContactInfo;
         this.loanService = loanService;
+        this.objectMapper = objectMapper;
     }
 
 
@@ -117,7 +129,7 @@ public class LoanController {
     public ResponseEntity<ResponseDto> updateLoanStatus( @PathVariable long loanId, @Valid LoanStatusUpdateRequestDto loanStatusUpdateRequestDto) {
         boolean isUpdated = this.loanService.updateLoanStatus(loanId, loanStatusUpdateRequestDto);
 
-        if(!isUpdated) {
+        if(isUpdated) {
             return ResponseEntity
                     .status(HttpStatus.OK)
                     .body(new ResponseDto(LoanConstants.STATUS_200, LoanConstants.MESSAGE_200));
@@ -147,6 +159,45 @@ public class LoanController {
                 .body(loanById);
     }
 
+    /**
+     * Rest API to get the repayment schedule of a Loan.
+     * <p>
+     * The schedule is streamed as newline delimited JSON, one installment per line, so long tenures
+     * are never built up in memory.
+     *
+     * @param loanId the loan id
+     * @return ResponseEntity streaming the installments of the loan
+     */
+    @Operation(
+            summary = "Get Loan Repayment Schedule REST API",
+            description = "Rest API to stream the amortization schedule of a Loan as newline delimited JSON"
+    )
+    @ApiResponse_200_500
+    @GetMapping(path = "/{loanId}/schedule", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getRepaymentSchedule(@PathVariable long loanId) {
+        Stream<RepaymentInstallmentDto> schedule = this.loanService.getRepaymentSchedule(loanId);
+
+        StreamingResponseBody body = outputStream -> {
+            try (schedule) {
+                schedule.forEach(installment -> writeLine(outputStream, installment));
+            }
+        };
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Rest API to get All Loans
      *
@@ -158,7 +209,7 @@ public class LoanController {
     )
     @ApiResponse_200_500
     @GetMapping("/all")
-    public ResponseEntity<List<LoanResponseDto>> getAllLoans() {
+    public ResponseEntity<List<LoanSummaryDto>> getAllLoans() {
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(this.loanService.getAllLoans());
@@ -176,36 +227,74 @@ public class LoanController {
     )
     @ApiResponse_200_417_500
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<LoanResponseDto>> getAllLoansByCustomerId(@PathVariable String customerId) {
+    public ResponseEntity<List<LoanSummaryDto>> getAllLoansByCustomerId(@PathVariable String customerId) {
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(this.loanService.getLoansByCustomerId(customerId));
     }
 
     /**
-     * Rest API to make Payment
+     * Rest API to delete the loans of a customer that is being deleted.
+     *
+     * @param customerId the customer id
+     * @return ResponseEntity with the ResponseDto
+     */
+    @Operation(
+            summary = "Delete Loans By Customer Id REST API",
+            description = "Rest API to delete the loans of a customer, fails with 409 while the customer has loans that can still be paid"
+    )
+    @ApiResponse_200_417_500
+    @DeleteMapping("/customer/{customerId}")
+    public ResponseEntity<ResponseDto> deleteLoansByCustomerId(@PathVariable String customerId) {
+        this.loanService.deleteLoansByCustomerId(customerId);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(LoanConstants.STATUS_200, LoanConstants.MESSAGE_200));
+    }
+
+    /**
+     * Rest API to make Payment.
+     * <p>
+     * The payment is accepted and sent to payment-service in the background. Retrying with the same
+     * Idempotency-Key returns the payment accepted the first time instead of paying twice.
      *
      * @param loanId the loan id
+     * @param idempotencyKey the client chosen key identifying this payment
      * @param loanPaymentRequestDto the loan payment request object
-     * @return ResponseEntity with the ResponseDto
+     * @return ResponseEntity with the status of the accepted payment
      */
     @Operation(
             summary = "Make Payment REST API",
-            description = "Rest API to make Payment"
+            description = "Rest API to make Payment, the payment is processed asynchronously and can be polled with its reference"
     )
-    @ApiResponse_200_417_500
+    @ApiResponse_202_500
     @PostMapping("/payment/{loanId}")
-    public ResponseEntity<ResponseDto> makePayment(@PathVariable long loanId, @Valid LoanPaymentRequestDto loanPaymentRequestDto) {
-        boolean isPaymentCompleted = this.loanService.makePayments(loanId, loanPaymentRequestDto);
-        if(isPaymentCompleted) {
-            return ResponseEntity
-                    .status(HttpStatus.OK)
-                    .body(new ResponseDto(LoanConstants.STATUS_200, LoanConstants.MESSAGE_200));
-        }else{
-            return ResponseEntity
-                    .status(HttpStatus.EXPECTATION_FAILED)
-                    .body(new ResponseDto(LoanConstants.STATUS_417, LoanConstants.MESSAGE_417_PAYMENT));
-        }
+    public ResponseEntity<LoanPaymentStatusDto> makePayment(@PathVariable long loanId,
+                                                            @RequestHeader("Idempotency-Key") @NotBlank @Size(max = 100) String idempotencyKey,
+                                                            @Valid LoanPaymentRequestDto loanPaymentRequestDto) {
+        LoanPaymentStatusDto payment = this.loanService.makePayment(loanId, idempotencyKey, loanPaymentRequestDto);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/loans/payment/status/" + payment.getPaymentReference()))
+                .body(payment);
+    }
+
+    /**
+     * Rest API to get the status of a Payment
+     *
+     * @param paymentReference the reference returned when the payment was accepted
+     * @return ResponseEntity with the status of the payment
+     */
+    @Operation(
+            summary = "Get Payment Status REST API",
+            description = "Rest API to poll the status of a Payment by its reference"
+    )
+    @ApiResponse_200_500
+    @GetMapping("/payment/status/{paymentReference}")
+    public ResponseEntity<LoanPaymentStatusDto> getPaymentStatus(@PathVariable String paymentReference) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(this.loanService.getPaymentStatus(paymentReference));
     }
 
     /**
@@ -247,7 +336,7 @@ public class LoanController {
         }else{
             return ResponseEntity
                     .status(HttpStatus.EXPECTATION_FAILED)
-                    .body(new ResponseDto(LoanConstants.STATUS_417, LoanConstants.MESSAGE_417_PAYMENT));
+                    .body(new ResponseDto(LoanConstants.STATUS_417, LoanConstants.MESSAGE_417_UPDATE));
         }
     }
 
@@ -272,7 +361,7 @@ public class LoanController {
         } else {
             return ResponseEntity
                     .status(HttpStatus.EXPECTATION_FAILED)
-                    .body(new ResponseDto(LoanConstants.STATUS_417, LoanConstants.MESSAGE_417_PAYMENT));
+                    .body(new ResponseDto(LoanConstants.STATUS_417, LoanConstants.MESSAGE_417_UPDATE));
         }
     }
 
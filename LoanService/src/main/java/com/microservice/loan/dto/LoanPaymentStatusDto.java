@@ -0,0 +1,50 @@
+package com.microservice.loan.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter@Setter@NoArgsConstructor@AllArgsConstructor@Builder
+@Schema(
+    name = "LoanPaymentStatusDto",
+    description = "Status of a payment accepted for a Loan"
+)
+public class LoanPaymentStatusDto {
+
+    @Schema(
+        description = "Reference to poll the payment with",example = "5b0f4c52-1d7e-4a43-9a55-1f0c3b9e2a10"
+    )
+    private String paymentReference;
+
+    @Schema(
+        description = "Loan Id",example = "1475125"
+    )
+    private long loanId;
+
+    @Schema(
+        description = "Amount of the payment",example = "1000"
+    )
+    private BigDecimal amount;
+
+    @Schema(
+        description = "Payment date of the payment",example = "01/01/2024"
+    )
+    private LocalDate paymentDate;
+
+    @Schema(
+        description = "Status of the payment",example = "PENDING"
+    )
+    private String status;
+
+    @Schema(
+        description = "Transaction Id assigned by payment-service",example = "1475125"
+    )
+    private String transactionId;
+
+    @Schema(
+        description = "Reason the payment failed",example = "Insufficient funds"
+    )
+    private String failureReason;
+}
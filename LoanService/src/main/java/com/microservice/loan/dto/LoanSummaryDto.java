@@ -0,0 +1,42 @@
+package com.microservice.loan.dto;
+
+import com.microservice.loan.constants.LoanStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of a loan for list endpoints, filled straight from the query without loading the entity.
+ */
+@Schema(
+    name = "LoanSummaryDto",
+    description = "Loan Summary Dto"
+)
+public record LoanSummaryDto(
+        @Schema(description = "Loan Id", example = "1475125")
+        long loanId,
+        @Schema(description = "Customer Id", example = "1234567890")
+        String customerId,
+        @Schema(description = "Loan Type of Loan", example = "PERSONAL")
+        String loanType,
+        @Schema(description = "Loan Amount of Loan", example = "10000")
+        double loanAmount,
+        @Schema(description = "Interest Rate of Loan", example = "10")
+        double interestRate,
+        @Schema(description = "Loan Status of Loan", example = "ACTIVE")
+        LoanStatus loanStatus,
+        @Schema(description = "Loan Duration in months of Loan", example = "12")
+        int loanDuration,
+        @Schema(description = "Start Date of Loan", example = "01/01/2024")
+        LocalDate startDate,
+        @Schema(description = "EMI of Loan", example = "10000")
+        double emi,
+        @Schema(description = "Amount Paid of Loan", example = "50000")
+        double amountPaid,
+        @Schema(description = "Outstanding Amount of Loan", example = "5000")
+        double outstandingAmount,
+        @Schema(description = "Last Payment Date of Loan", example = "01/01/2024")
+        LocalDate lastPaymentDate,
+        @Schema(description = "Repayment Due Date of Loan", example = "01/01/2024")
+        LocalDate repaymentDueDate) {
+}
@@ -0,0 +1,45 @@
+package com.microservice.loan.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter@Setter@NoArgsConstructor@AllArgsConstructor@Builder
+@Schema(
+    name = "RepaymentInstallmentDto",
+    description = "One period of a loan repayment schedule"
+)
+public class RepaymentInstallmentDto {
+
+    @Schema(
+        description = "Period number, starting at 1",example = "1"
+    )
+    private int period;
+
+    @Schema(
+        description = "Due date of the installment",example = "01/02/2024"
+    )
+    private LocalDate dueDate;
+
+    @Schema(
+        description = "Total amount due for the period",example = "879.16"
+    )
+    private BigDecimal payment;
+
+    @Schema(
+        description = "Principal part of the payment",example = "795.83"
+    )
+    private BigDecimal principal;
+
+    @Schema(
+        description = "Interest part of the payment",example = "83.33"
+    )
+    private BigDecimal interest;
+
+    @Schema(
+        description = "Outstanding principal after the payment",example = "9204.17"
+    )
+    private BigDecimal balance;
+}
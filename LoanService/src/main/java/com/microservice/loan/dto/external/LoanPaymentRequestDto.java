@@ -39,7 +39,7 @@ public class LoanPaymentRequestDto {
     @Schema(
         description = "Payment date of the payment",example = "01/01/2023"
     )
-    @NotEmpty(message = "Payment date cannot be null or empty")
+    @NotNull(message = "Payment date cannot be null")
     @PastOrPresent(message = "Payment date must be in the past or present")
     private LocalDate paymentDate;
 }
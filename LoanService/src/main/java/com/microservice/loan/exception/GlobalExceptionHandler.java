@@ -1,7 +1,49 @@
 package com.microservice.loan.exception;
 
+import com.microservice.loan.dto.ErrorResponseDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponseDto(request.getDescription(false), HttpStatus.NOT_FOUND, ex.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(InvalidLoanStatusException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidLoanStatusException(InvalidLoanStatusException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponseDto(request.getDescription(false), HttpStatus.BAD_REQUEST, ex.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(LoanAlreadyApprovedException.class)
+    public ResponseEntity<ErrorResponseDto> handleLoanAlreadyApprovedException(LoanAlreadyApprovedException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponseDto(request.getDescription(false), HttpStatus.CONFLICT, ex.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(LoanStatusConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handleLoanStatusConflictException(LoanStatusConflictException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponseDto(request.getDescription(false), HttpStatus.CONFLICT, ex.getMessage(), LocalDateTime.now()));
+    }
+
+    @ExceptionHandler(LoanPaymentException.class)
+    public ResponseEntity<ErrorResponseDto> handleLoanPaymentException(LoanPaymentException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponseDto(request.getDescription(false), HttpStatus.BAD_REQUEST, ex.getMessage(), LocalDateTime.now()));
+    }
 }
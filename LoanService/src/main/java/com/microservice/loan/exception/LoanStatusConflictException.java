@@ -0,0 +1,12 @@
+package com.microservice.loan.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class LoanStatusConflictException extends RuntimeException {
+
+    public LoanStatusConflictException(String message) {
+        super(message);
+    }
+}
@@ -6,14 +6,18 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 import java.util.List;
 
 @FeignClient(name = "payment-service", url = "${external.api.payment-service.url}", path = "/api/payments")
 public interface PaymentService {
 
-    @GetMapping("/make-payment")
-    ResponseEntity<LoanPaymentResponseDto> makePayment(LoanPaymentRequestDto loanPaymentRequestDto);
+    @PostMapping("/make-payment")
+    ResponseEntity<LoanPaymentResponseDto> makePayment(@RequestHeader("Idempotency-Key") String idempotencyKey,
+                                                       @RequestBody LoanPaymentRequestDto loanPaymentRequestDto);
 
     @GetMapping("/loan/{loanId}")
     ResponseEntity<List<LoanPaymentResponseDto>> getLoanPaymentsByLoanId(@PathVariable("loanId") long loanId);
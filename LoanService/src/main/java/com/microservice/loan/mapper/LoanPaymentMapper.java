@@ -0,0 +1,33 @@
+package com.microservice.loan.mapper;
+
+import com.microservice.loan.dto.LoanPaymentStatusDto;
+import com.microservice.loan.dto.external.LoanPaymentRequestDto;
+import com.microservice.loan.model.LoanPayment;
+
+public class LoanPaymentMapper {
+
+    public static LoanPaymentStatusDto mapToLoanPaymentStatusDto(LoanPayment loanPayment, LoanPaymentStatusDto loanPaymentStatusDto) {
+
+        loanPaymentStatusDto.setPaymentReference(loanPayment.getPaymentReference());
+        loanPaymentStatusDto.setLoanId(loanPayment.getLoanId());
+        loanPaymentStatusDto.setAmount(loanPayment.getAmount());
+        loanPaymentStatusDto.setPaymentDate(loanPayment.getPaymentDate());
+        loanPaymentStatusDto.setStatus(loanPayment.getStatus().name());
+        loanPaymentStatusDto.setTransactionId(loanPayment.getTransactionId());
+        loanPaymentStatusDto.setFailureReason(loanPayment.getFailureReason());
+
+        return loanPaymentStatusDto;
+    }
+
+    public static LoanPaymentRequestDto mapToLoanPaymentRequestDto(LoanPayment loanPayment, LoanPaymentRequestDto loanPaymentRequestDto) {
+
+        loanPaymentRequestDto.setLoanId(loanPayment.getLoanId());
+        loanPaymentRequestDto.setCustomerId(loanPayment.getCustomerId());
+        loanPaymentRequestDto.setAmount(loanPayment.getAmount().doubleValue());
+        loanPaymentRequestDto.setPaymentMethod(loanPayment.getPaymentMethod());
+        loanPaymentRequestDto.setPaymentDate(loanPayment.getPaymentDate());
+
+        return loanPaymentRequestDto;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.microservice.loan.model;
+
+import com.microservice.loan.constants.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A payment accepted for a loan. The unique idempotency key makes this table the idempotency record
+ * of the payment API: a retried request finds its payment here instead of creating a second one.
+ */
+@Getter@Setter@NoArgsConstructor@AllArgsConstructor@Builder
+@Entity
+@Table(
+        name = "loan_payment",
+        uniqueConstraints = @UniqueConstraint(name = "uk_loan_payment_idempotency_key", columnNames = "idempotency_key"),
+        indexes = @Index(name = "idx_loan_payment_loan_id", columnList = "loan_id")
+)
+public class LoanPayment extends BaseEntity {
+
+    @Id
+    @Column(name = "payment_reference", length = 36)
+    private String paymentReference;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "loan_id", nullable = false)
+    private long loanId;
+
+    @Column(name = "customer_id")
+    private String customerId;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "payment_method")
+    private String paymentMethod;
+
+    @Column(name = "payment_date")
+    private LocalDate paymentDate;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus status;
+
+    @Column(name = "transaction_id")
+    private String transactionId;
+
+    @Column(name = "failure_reason")
+    private String failureReason;
+}
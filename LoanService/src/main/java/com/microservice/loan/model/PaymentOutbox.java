@@ -0,0 +1,29 @@
+package com.microservice.loan.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A payment waiting to be sent to payment-service. Written in the same transaction as the
+ * {@link LoanPayment}, so an accepted payment is never lost, and deleted once payment-service answered.
+ */
+@Getter@Setter@NoArgsConstructor@AllArgsConstructor@Builder
+@Entity
+@Table(name = "payment_outbox", indexes = @Index(name = "idx_payment_outbox_next_attempt_at", columnList = "next_attempt_at"))
+public class PaymentOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "payment_reference", nullable = false, length = 36)
+    private String paymentReference;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+}
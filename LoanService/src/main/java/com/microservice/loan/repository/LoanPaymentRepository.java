@@ -0,0 +1,33 @@
+package com.microservice.loan.repository;
+
+import com.microservice.loan.constants.PaymentStatus;
+import com.microservice.loan.model.LoanPayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface LoanPaymentRepository extends JpaRepository<LoanPayment, String> {
+
+    Optional<LoanPayment> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Record the outcome of a payment only if it is still pending.
+     *
+     * @return number of updated rows, 0 when the payment already has an outcome
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update LoanPayment p set p.status = :status, p.transactionId = :transactionId," +
+            " p.failureReason = :failureReason, p.updatedAt = :updatedAt" +
+            " where p.paymentReference = :paymentReference and p.status = com.microservice.loan.constants.PaymentStatus.PENDING")
+    int complete(@Param("paymentReference") String paymentReference,
+                 @Param("status") PaymentStatus status,
+                 @Param("transactionId") String transactionId,
+                 @Param("failureReason") String failureReason,
+                 @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -1,14 +1,64 @@
 package com.microservice.loan.repository;
 
+import com.microservice.loan.constants.LoanStatus;
+import com.microservice.loan.dto.LoanSummaryDto;
 import com.microservice.loan.model.Loan;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
 
-    List<Loan> findByCustomerId(String customerId);
+    @Query("select new com.microservice.loan.dto.LoanSummaryDto(l.loanId, l.customerId, l.loanType, l.loanAmount," +
+            " l.interestRate, l.loanStatus, l.loanDuration, l.startDate, l.emi, l.amountPaid, l.outstandingAmount," +
+            " l.lastPaymentDate, l.repaymentDueDate) from Loan l order by l.loanId")
+    List<LoanSummaryDto> findAllSummaries();
+
+    @Query("select new com.microservice.loan.dto.LoanSummaryDto(l.loanId, l.customerId, l.loanType, l.loanAmount," +
+            " l.interestRate, l.loanStatus, l.loanDuration, l.startDate, l.emi, l.amountPaid, l.outstandingAmount," +
+            " l.lastPaymentDate, l.repaymentDueDate) from Loan l where l.customerId = :customerId order by l.loanId")
+    List<LoanSummaryDto> findSummariesByCustomerId(@Param("customerId") String customerId);
+
+    /**
+     * Delete the loans of a customer that are not in one of the given statuses.
+     *
+     * @return number of deleted loans
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Loan l where l.customerId = :customerId and l.loanStatus not in :kept")
+    int deleteAllByCustomerIdAndLoanStatusNotIn(@Param("customerId") String customerId,
+                                                 @Param("kept") Collection<LoanStatus> kept);
+
+    boolean existsByCustomerIdAndLoanStatusIn(String customerId, Collection<LoanStatus> loanStatuses);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Loan l where l.loanId = :loanId")
+    Optional<Loan> findByIdForUpdate(@Param("loanId") long loanId);
+
+    /**
+     * Move a loan to a new status only if it is still in the expected one.
+     *
+     * @return number of updated rows, 0 when the loan is missing or its status changed in the meantime
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Loan l set l.loanStatus = :to, l.updatedAt = :updatedAt" +
+            " where l.loanId = :loanId and l.loanStatus = :from")
+    int compareAndSetStatus(@Param("loanId") long loanId,
+                            @Param("from") LoanStatus from,
+                            @Param("to") LoanStatus to,
+                            @Param("updatedAt") LocalDateTime updatedAt);
 
 }
@@ -0,0 +1,30 @@
+package com.microservice.loan.repository;
+
+import com.microservice.loan.model.PaymentOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+
+    /**
+     * Lock the oldest entries that are due. Rows locked by another instance are skipped,
+     * so several dispatchers can drain the outbox side by side.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from PaymentOutbox o where o.nextAttemptAt <= :now order by o.nextAttemptAt, o.id")
+    List<PaymentOutbox> findDue(@Param("now") LocalDateTime now, Limit limit);
+
+    void deleteByPaymentReference(String paymentReference);
+}
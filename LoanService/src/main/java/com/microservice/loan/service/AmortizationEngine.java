@@ -0,0 +1,118 @@
+package com.microservice.loan.service;
+
+import com.microservice.loan.dto.RepaymentInstallmentDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Computes EMIs and amortization schedules for fixed rate loans.
+ * <p>
+ * Rounding policy: the annuity factor is computed with {@link MathContext#DECIMAL128}, every money amount
+ * (EMI, interest per period) is rounded to 2 decimals with {@link RoundingMode#HALF_EVEN}, and the last
+ * installment absorbs the rounding residue so the schedule always ends with a zero balance.
+ * <p>
+ * Annuity factors only depend on the rate and the tenure, of which a bank offers a handful of combinations,
+ * so they are computed once and cached.
+ */
+@Component
+public class AmortizationEngine {
+
+    private static final MathContext FACTOR_CONTEXT = MathContext.DECIMAL128;
+    private static final int MONEY_SCALE = 2;
+    private static final RoundingMode MONEY_ROUNDING = RoundingMode.HALF_EVEN;
+    private static final BigDecimal MONTHS_TIMES_PERCENT = BigDecimal.valueOf(1200);
+
+    private final Map<FactorKey, BigDecimal> annuityFactors = new ConcurrentHashMap<>();
+    private final int maxCachedFactors;
+
+    public AmortizationEngine(@Value("${loans.amortization.factor-cache-size:10000}") int maxCachedFactors) {
+        this.maxCachedFactors = maxCachedFactors;
+    }
+
+    /**
+     * Calculate the equated monthly installment of a loan.
+     *
+     * @param principal         the loan amount
+     * @param annualRatePercent the yearly interest rate in percent
+     * @param months            the tenure in months
+     * @return the EMI rounded to 2 decimals
+     */
+    public BigDecimal emi(BigDecimal principal, BigDecimal annualRatePercent, int months) {
+        return principal.multiply(annuityFactor(annualRatePercent, months)).setScale(MONEY_SCALE, MONEY_ROUNDING);
+    }
+
+    /**
+     * Generate the repayment schedule of a loan. Installments are computed lazily, one per element,
+     * so a 360 month schedule can be streamed without being held in memory.
+     *
+     * @param principal         the loan amount
+     * @param annualRatePercent the yearly interest rate in percent
+     * @param months            the tenure in months
+     * @param startDate         the date the loan started, the first installment is due one month later
+     * @return the installments in period order
+     */
+    public Stream<RepaymentInstallmentDto> schedule(BigDecimal principal, BigDecimal annualRatePercent, int months, LocalDate startDate) {
+        BigDecimal monthlyRate = monthlyRate(annualRatePercent);
+        BigDecimal emi = emi(principal, annualRatePercent, months);
+        BigDecimal openingBalance = principal.setScale(MONEY_SCALE, MONEY_ROUNDING);
+
+        RepaymentInstallmentDto first = installment(1, openingBalance, monthlyRate, emi, months, startDate);
+        return Stream.iterate(first, Objects::nonNull, previous -> previous.getPeriod() == months
+                ? null
+                : installment(previous.getPeriod() + 1, previous.getBalance(), monthlyRate, emi, months, startDate));
+    }
+
+    private RepaymentInstallmentDto installment(int period, BigDecimal openingBalance, BigDecimal monthlyRate,
+                                                BigDecimal emi, int months, LocalDate startDate) {
+        BigDecimal interest = openingBalance.multiply(monthlyRate).setScale(MONEY_SCALE, MONEY_ROUNDING);
+        BigDecimal principal = period == months ? openingBalance : emi.subtract(interest).min(openingBalance);
+        return RepaymentInstallmentDto.builder()
+                .period(period)
+                .dueDate(startDate.plusMonths(period))
+                .payment(principal.add(interest))
+                .principal(principal)
+                .interest(interest)
+                .balance(openingBalance.subtract(principal))
+                .build();
+    }
+
+    private BigDecimal annuityFactor(BigDecimal annualRatePercent, int months) {
+        if (months <= 0) {
+            throw new IllegalArgumentException("Loan duration must be a positive number");
+        }
+        FactorKey key = new FactorKey(annualRatePercent.stripTrailingZeros(), months);
+        BigDecimal factor = annuityFactors.get(key);
+        if (factor == null) {
+            factor = computeAnnuityFactor(key);
+            if (annuityFactors.size() < maxCachedFactors) {
+                annuityFactors.putIfAbsent(key, factor);
+            }
+        }
+        return factor;
+    }
+
+    private static BigDecimal computeAnnuityFactor(FactorKey key) {
+        BigDecimal monthlyRate = monthlyRate(key.annualRatePercent());
+        if (monthlyRate.signum() == 0) {
+            return BigDecimal.ONE.divide(BigDecimal.valueOf(key.months()), FACTOR_CONTEXT);
+        }
+        BigDecimal growth = BigDecimal.ONE.add(monthlyRate).pow(key.months(), FACTOR_CONTEXT);
+        return monthlyRate.multiply(growth, FACTOR_CONTEXT).divide(growth.subtract(BigDecimal.ONE), FACTOR_CONTEXT);
+    }
+
+    private static BigDecimal monthlyRate(BigDecimal annualRatePercent) {
+        return annualRatePercent.divide(MONTHS_TIMES_PERCENT, FACTOR_CONTEXT);
+    }
+
+    private record FactorKey(BigDecimal annualRatePercent, int months) {
+    }
+}
@@ -1,12 +1,16 @@
 package com.microservice.loan.service;
 
+import com.microservice.loan.dto.LoanPaymentStatusDto;
 import com.microservice.loan.dto.LoanRequestDto;
 import com.microservice.loan.dto.LoanResponseDto;
 import com.microservice.loan.dto.LoanStatusUpdateRequestDto;
+import com.microservice.loan.dto.LoanSummaryDto;
+import com.microservice.loan.dto.RepaymentInstallmentDto;
 import com.microservice.loan.dto.external.LoanPaymentRequestDto;
 import com.microservice.loan.dto.external.LoanPaymentResponseDto;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ILoanService {
 
@@ -33,29 +37,54 @@ public interface ILoanService {
      */
     LoanResponseDto getLoanById(long loanId);
 
+    /**
+     * Get the repayment schedule of a loan.
+     *
+     * @param loanId the loan id.
+     * @return the installments of the loan in period order, generated lazily.
+     */
+    Stream<RepaymentInstallmentDto> getRepaymentSchedule(long loanId);
+
     /**
      * Get all loans.
      *
-     * @return a list of loan response objects.
+     * @return a list of loan summaries.
      */
-    List<LoanResponseDto> getAllLoans();
+    List<LoanSummaryDto> getAllLoans();
 
     /**
      * Get all loans for a customer.
      *
      * @param customerId the customer id.
-     * @return a list of loan response objects.
+     * @return a list of loan summaries.
      */
-    List<LoanResponseDto> getLoansByCustomerId(String customerId);
+    List<LoanSummaryDto> getLoansByCustomerId(String customerId);
 
     /**
-     * Make a payment for a loan.
+     * Delete the loans of a customer that is being deleted.
+     *
+     * @param customerId the customer id.
+     * @return the number of deleted loans.
+     */
+    int deleteLoansByCustomerId(String customerId);
+
+    /**
+     * Accept a payment for a loan, to be sent to payment-service in the background.
      *
      * @param loanId the loan id.
+     * @param idempotencyKey the client chosen key identifying this payment.
      * @param loanPaymentRequestDto the loan payment request object.
-     * @return the loan response object.
+     * @return the status of the accepted payment, including the reference to poll it with.
+     */
+    LoanPaymentStatusDto makePayment(long loanId, String idempotencyKey, LoanPaymentRequestDto loanPaymentRequestDto);
+
+    /**
+     * Get the status of a payment accepted for a loan.
+     *
+     * @param paymentReference the payment reference.
+     * @return the status of the payment.
      */
-    boolean makePayments(long loanId, LoanPaymentRequestDto loanPaymentRequestDto);
+    LoanPaymentStatusDto getPaymentStatus(String paymentReference);
 
     /**
      * Get the loan payments for a loan.
@@ -1,37 +1,63 @@
 package com.microservice.loan.service;
 
 import com.microservice.loan.constants.LoanStatus;
+import com.microservice.loan.constants.PaymentStatus;
+import com.microservice.loan.dto.LoanPaymentStatusDto;
 import com.microservice.loan.dto.LoanRequestDto;
 import com.microservice.loan.dto.LoanResponseDto;
 import com.microservice.loan.dto.LoanStatusUpdateRequestDto;
+import com.microservice.loan.dto.LoanSummaryDto;
+import com.microservice.loan.dto.RepaymentInstallmentDto;
 import com.microservice.loan.dto.external.LoanPaymentRequestDto;
 import com.microservice.loan.dto.external.LoanPaymentResponseDto;
 import com.microservice.loan.exception.GeneralLoanServiceException;
 import com.microservice.loan.exception.InvalidLoanStatusException;
-import com.microservice.loan.exception.PaymentFailedException;
+import com.microservice.loan.exception.LoanAlreadyApprovedException;
+import com.microservice.loan.exception.LoanPaymentException;
+import com.microservice.loan.exception.LoanStatusConflictException;
 import com.microservice.loan.exception.ResourceNotFoundException;
 import com.microservice.loan.external.CustomerService;
 import com.microservice.loan.external.PaymentService;
 import com.microservice.loan.mapper.LoanMapper;
+import com.microservice.loan.mapper.LoanPaymentMapper;
 import com.microservice.loan.model.Loan;
+import com.microservice.loan.model.LoanPayment;
+import com.microservice.loan.model.PaymentOutbox;
+import com.microservice.loan.repository.LoanPaymentRepository;
 import com.microservice.loan.repository.LoanRepository;
+import com.microservice.loan.repository.PaymentOutboxRepository;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LoanServiceImpl implements ILoanService {
 
+    private static final Set<LoanStatus> PAYABLE_STATUSES = EnumSet.of(LoanStatus.DISBURSED, LoanStatus.ACTIVE, LoanStatus.IN_ARREARS, LoanStatus.DEFAULTED);
+
     private final LoanRepository loanRepository;
     private final PaymentService paymentService;
     private final CustomerService customerService;
+    private final AmortizationEngine amortizationEngine;
+    private final LoanStatusMachine loanStatusMachine;
+    private final LoanPaymentRepository loanPaymentRepository;
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
 
 
     /**
@@ -54,8 +80,10 @@ public class LoanServiceImpl implements ILoanService {
         loan.setLoanStatus(LoanStatus.PENDING);
         loan.setStartDate(LocalDate.now());
 
-        double emi = this.calculateEmi(loan);
-        loan.setEmi(emi);
+        BigDecimal emi = this.amortizationEngine.emi(BigDecimal.valueOf(loan.getLoanAmount()), BigDecimal.valueOf(loan.getInterestRate()), loan.getLoanDuration());
+        loan.setEmi(emi.doubleValue());
+        loan.setOutstandingAmount(emi.multiply(BigDecimal.valueOf(loan.getLoanDuration())).doubleValue());
+        loan.setRepaymentDueDate(loan.getStartDate().plusMonths(1));
 
         try {
             this.loanRepository.save(loan);
@@ -72,44 +100,33 @@ public class LoanServiceImpl implements ILoanService {
      */
     @Override
     public boolean updateLoanStatus(long loanId, LoanStatusUpdateRequestDto loanStatusUpdateRequestDto) {
-        boolean isStatusUpdated = false;
         Loan loan = this.loanRepository.findById(loanId).orElseThrow(() -> new ResourceNotFoundException("Loan", "id", String.valueOf(loanId)));
+        LoanStatus target = LoanStatus.valueOf(loanStatusUpdateRequestDto.getLoanStatus());
 
-        if(loan.getLoanStatus().equals("PENDING") && loanStatusUpdateRequestDto.getLoanStatus().equals("APPROVED")) {
-            loan.setLoanStatus(LoanStatus.APPROVED);
-            isStatusUpdated = true;
-        }else if(loan.getLoanStatus().equals("APPROVED") && loanStatusUpdateRequestDto.getLoanStatus().equals("DISBURSED")) {
-            loan.setLoanStatus(LoanStatus.DISBURSED);
-            isStatusUpdated = true;
-        }else if(loan.getLoanStatus().equals("DISBURSED") && loanStatusUpdateRequestDto.getLoanStatus().equals("ACTIVE")) {
-            loan.setLoanStatus(LoanStatus.ACTIVE);
-            isStatusUpdated = true;
-        }else if(loan.getLoanStatus().equals("ACTIVE") && loanStatusUpdateRequestDto.getLoanStatus().equals("COMPLETED")) {
-
-//            If the amount paid is equal to the total amount of the loan + interest, update the loan status to "COMPLETED".
-
-            if(loan.getEmi() * loan.getLoanDuration() == loan.getAmountPaid()){
-                loan.setLoanStatus(LoanStatus.COMPLETED);
-            }
-            isStatusUpdated = true;
-
-        }else{
-            throw new InvalidLoanStatusException("Invalid loan status");
+//        A loan can only be completed once the amount paid covers the total amount of the loan + interest.
+        if(target == LoanStatus.COMPLETED && loan.getAmountPaid() < loan.getEmi() * loan.getLoanDuration()){
+            throw new InvalidLoanStatusException("Loan cannot be completed before it is fully repaid");
         }
 
-        this.loanRepository.save(loan);
-        return isStatusUpdated;
+        this.loanStatusMachine.transition(loan, target);
+        return true;
     }
 
-    private double calculateEmi(Loan loan) {
-        double annualInterestRate = loan.getInterestRate();
-        int loanDuration = loan.getLoanDuration();
-        double loanAmount = loan.getLoanAmount();
-
-        double monthlyInterestRate = annualInterestRate / 12 / 100;
-        double emi = loanAmount * monthlyInterestRate * Math.pow(1 + monthlyInterestRate, loanDuration) / (Math.pow(1 + monthlyInterestRate, loanDuration) - 1);
-        return emi;
+    /**
+     * Get the repayment schedule of a loan.
+     *
+     * @param loanId the loan id.
+     * @return the installments of the loan, generated lazily.
+     */
+    @Override
+    public Stream<RepaymentInstallmentDto> getRepaymentSchedule(long loanId) {
+        Loan loan = this.loanRepository.findById(loanId).orElseThrow(() -> new ResourceNotFoundException("Loan", "id", String.valueOf(loanId)));
 
+        return this.amortizationEngine.schedule(
+                BigDecimal.valueOf(loan.getLoanAmount()),
+                BigDecimal.valueOf(loan.getInterestRate()),
+                loan.getLoanDuration(),
+                loan.getStartDate());
     }
 
     /**
@@ -131,64 +148,117 @@ public class LoanServiceImpl implements ILoanService {
     /**
      * Get all loans.
      *
-     * @return a list of loan response objects.
+     * @return a list of loan summaries.
      */
     @Override
-    public List<LoanResponseDto> getAllLoans() {
-
-        return this.loanRepository
-                .findAll()
-                .stream()
-                .map(loan -> LoanMapper.mapToLoanResponseDto(loan, new LoanResponseDto()))
-                .collect(Collectors.toList());
+    public List<LoanSummaryDto> getAllLoans() {
+        return this.loanRepository.findAllSummaries();
     }
 
     /**
      * Get all loans for a customer.
      *
      * @param customerId the customer id.
-     * @return a list of loan response objects.
+     * @return a list of loan summaries.
      */
     @Override
-    public List<LoanResponseDto> getLoansByCustomerId(String customerId) {
-        return this.loanRepository
-                .findByCustomerId(customerId)
-                .stream()
-                .map(loan -> LoanMapper.mapToLoanResponseDto(loan, new LoanResponseDto()))
-                .collect(Collectors.toList());
+    public List<LoanSummaryDto> getLoansByCustomerId(String customerId) {
+        return this.loanRepository.findSummariesByCustomerId(customerId);
     }
 
     /**
-     * Make a payment for a loan.
+     * Delete the loans of a customer that is being deleted.
+     * <p>
+     * While the customer has loans that can still be paid, nothing is deleted and the deletion fails with a
+     * conflict, so that customer-service restores the customer instead of completing it. A loan disbursed while the
+     * others are deleted is kept and fails the deletion the same way.
+     *
+     * @param customerId the customer id.
+     * @return the number of deleted loans.
+     * @throws LoanStatusConflictException if the customer still has outstanding loans.
+     */
+    @Override
+    public int deleteLoansByCustomerId(String customerId) {
+        if (this.loanRepository.existsByCustomerIdAndLoanStatusIn(customerId, PAYABLE_STATUSES)) {
+            throw new LoanStatusConflictException("Customer " + customerId + " still has outstanding loans");
+        }
+        int deleted = this.loanRepository.deleteAllByCustomerIdAndLoanStatusNotIn(customerId, PAYABLE_STATUSES);
+        log.info("Deleted {} loans of customer {}", deleted, customerId);
+        if (this.loanRepository.existsByCustomerIdAndLoanStatusIn(customerId, PAYABLE_STATUSES)) {
+            throw new LoanStatusConflictException("Customer " + customerId + " still has outstanding loans");
+        }
+        return deleted;
+    }
+
+    /**
+     * Accept a payment for a loan. The payment and its outbox entry are stored in one transaction and
+     * sent to payment-service in the background; a retried request with the same idempotency key
+     * returns the payment accepted the first time.
      *
      * @param loanId                the loan id.
+     * @param idempotencyKey        the client chosen key identifying this payment.
      * @param loanPaymentRequestDto the loan payment request object.
-     * @return the loan response object.
+     * @return the status of the accepted payment.
      */
     @Override
-    public boolean makePayments(long loanId, LoanPaymentRequestDto loanPaymentRequestDto) {
-        boolean isPaymentSuccessful = false;
+    public LoanPaymentStatusDto makePayment(long loanId, String idempotencyKey, LoanPaymentRequestDto loanPaymentRequestDto) {
+        Optional<LoanPayment> existingPayment = this.loanPaymentRepository.findByIdempotencyKey(idempotencyKey);
+        if(existingPayment.isPresent()){
+            return replayPayment(existingPayment.get(), loanId, loanPaymentRequestDto);
+        }
+
         Loan loan = this.loanRepository.findById(loanId).orElseThrow(() -> new ResourceNotFoundException("Loan", "id", String.valueOf(loanId)));
+        if(!PAYABLE_STATUSES.contains(loan.getLoanStatus())){
+            throw new LoanPaymentException("Payments are not accepted for a loan in status " + loan.getLoanStatus());
+        }
 
-        try {
-            LoanPaymentResponseDto loanPaymentResponseDto = this.paymentService.makePayment(loanPaymentRequestDto).getBody();
+        LoanPayment payment = LoanPayment.builder()
+                .paymentReference(UUID.randomUUID().toString())
+                .idempotencyKey(idempotencyKey)
+                .loanId(loanId)
+                .customerId(loanPaymentRequestDto.getCustomerId())
+                .amount(BigDecimal.valueOf(loanPaymentRequestDto.getAmount()))
+                .paymentMethod(loanPaymentRequestDto.getPaymentMethod())
+                .paymentDate(loanPaymentRequestDto.getPaymentDate())
+                .status(PaymentStatus.PENDING)
+                .build();
 
-            if(loanPaymentResponseDto.getStatus().equals("PAID")){
-                loan.setAmountPaid(loan.getAmountPaid() + loanPaymentResponseDto.getAmount());
-                this.loanRepository.save(loan);
-                isPaymentSuccessful = true;
-            }else{
-                throw new PaymentFailedException("Payment failed");
-            }
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                this.loanPaymentRepository.saveAndFlush(payment);
+                this.paymentOutboxRepository.save(PaymentOutbox.builder()
+                        .paymentReference(payment.getPaymentReference())
+                        .nextAttemptAt(LocalDateTime.now())
+                        .build());
+            });
+        } catch (DataIntegrityViolationException e) {
+//            A concurrent request with the same idempotency key won the insert.
+            LoanPayment concurrentPayment = this.loanPaymentRepository.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+            return replayPayment(concurrentPayment, loanId, loanPaymentRequestDto);
+        }
 
+        return LoanPaymentMapper.mapToLoanPaymentStatusDto(payment, new LoanPaymentStatusDto());
+    }
 
-        }catch (FeignException e){
-            log.error("Payment failed for loan id: {}", loanId);
-        }catch (Exception e){
-            log.error("Something went wrong while saving loan to the database");
+    private LoanPaymentStatusDto replayPayment(LoanPayment payment, long loanId, LoanPaymentRequestDto loanPaymentRequestDto) {
+        if(payment.getLoanId() != loanId || payment.getAmount().compareTo(BigDecimal.valueOf(loanPaymentRequestDto.getAmount())) != 0){
+            throw new LoanPaymentException("Idempotency key was already used for a different payment");
         }
+        return LoanPaymentMapper.mapToLoanPaymentStatusDto(payment, new LoanPaymentStatusDto());
+    }
 
-        return isPaymentSuccessful;
+    /**
+     * Get the status of a payment accepted for a loan.
+     *
+     * @param paymentReference the reference returned when the payment was accepted.
+     * @return the status of the payment.
+     */
+    @Override
+    public LoanPaymentStatusDto getPaymentStatus(String paymentReference) {
+        return this.loanPaymentRepository
+                .findById(paymentReference)
+                .map(payment -> LoanPaymentMapper.mapToLoanPaymentStatusDto(payment, new LoanPaymentStatusDto()))
+                .orElseThrow(() -> new ResourceNotFoundException("Payment", "reference", paymentReference));
     }
 
     /**
@@ -222,9 +292,14 @@ public class LoanServiceImpl implements ILoanService {
      */
     @Override
     public boolean approveLoan(long loanId) {
+        Loan loan = this.loanRepository.findById(loanId).orElseThrow(() -> new ResourceNotFoundException("Loan", "id", String.valueOf(loanId)));
 
+        if(loan.getLoanStatus() == LoanStatus.APPROVED){
+            throw new LoanAlreadyApprovedException("Loan is already approved");
+        }
 
-        return false;
+        this.loanStatusMachine.transition(loan, LoanStatus.APPROVED);
+        return true;
     }
 
     /**
@@ -235,7 +310,10 @@ public class LoanServiceImpl implements ILoanService {
      */
     @Override
     public boolean cancelLoan(long loanId) {
-        return false;
+        Loan loan = this.loanRepository.findById(loanId).orElseThrow(() -> new ResourceNotFoundException("Loan", "id", String.valueOf(loanId)));
+
+        this.loanStatusMachine.transition(loan, LoanStatus.CANCELLED);
+        return true;
     }
 
 
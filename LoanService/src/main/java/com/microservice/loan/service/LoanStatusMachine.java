@@ -0,0 +1,99 @@
+package com.microservice.loan.service;
+
+import com.microservice.loan.constants.LoanStatus;
+import com.microservice.loan.exception.InvalidLoanStatusException;
+import com.microservice.loan.exception.LoanStatusConflictException;
+import com.microservice.loan.model.Loan;
+import com.microservice.loan.repository.LoanRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.microservice.loan.constants.LoanStatus.*;
+
+/**
+ * Allowed loan status transitions and the compare-and-set that applies them.
+ * <p>
+ * A transition is a single conditional update on the status the caller read, so two concurrent calls
+ * (e.g. a double approve or disburse) cannot both succeed: the second one matches no row and is rejected
+ * as a conflict. Every attempt is counted in {@code loans.status.transitions}, tagged with the source and
+ * target status and the outcome ({@code applied}, {@code rejected} or {@code conflict}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoanStatusMachine {
+
+    private static final String METRIC_NAME = "loans.status.transitions";
+
+    private static final Map<LoanStatus, Set<LoanStatus>> TRANSITIONS = new EnumMap<>(LoanStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(APPROVED, REJECTED, CANCELLED));
+        TRANSITIONS.put(APPROVED, EnumSet.of(DISBURSED, CANCELLED));
+        TRANSITIONS.put(DISBURSED, EnumSet.of(ACTIVE));
+        TRANSITIONS.put(ACTIVE, EnumSet.of(COMPLETED, IN_ARREARS, CLOSED));
+        TRANSITIONS.put(IN_ARREARS, EnumSet.of(ACTIVE, DEFAULTED, SETTLED, CLOSED));
+        TRANSITIONS.put(DEFAULTED, EnumSet.of(SETTLED, CLOSED));
+        TRANSITIONS.put(COMPLETED, EnumSet.of(CLOSED));
+        TRANSITIONS.put(SETTLED, EnumSet.of(CLOSED));
+        TRANSITIONS.put(REJECTED, EnumSet.noneOf(LoanStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(LoanStatus.class));
+        TRANSITIONS.put(CLOSED, EnumSet.noneOf(LoanStatus.class));
+    }
+
+    private final LoanRepository loanRepository;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Check whether a loan may move from one status to another.
+     */
+    public static boolean isAllowed(LoanStatus from, LoanStatus to) {
+        return TRANSITIONS.getOrDefault(from, Collections.emptySet()).contains(to);
+    }
+
+    /**
+     * Move the loan from the status it was read with to the target status.
+     *
+     * @param loan   the loan as read from the database
+     * @param target the status to move to
+     * @throws InvalidLoanStatusException  if the transition is not allowed
+     * @throws LoanStatusConflictException if the status was changed by someone else since the loan was read
+     */
+    public void transition(Loan loan, LoanStatus target) {
+        LoanStatus current = loan.getLoanStatus();
+
+        if (!isAllowed(current, target)) {
+            count(current, target, "rejected");
+            throw new InvalidLoanStatusException("Loan status cannot change from " + current + " to " + target);
+        }
+
+        int updated = loanRepository.compareAndSetStatus(loan.getLoanId(), current, target, LocalDateTime.now());
+        if (updated == 0) {
+            count(current, target, "conflict");
+            log.info("Loan {} changed status concurrently, {} -> {} not applied", loan.getLoanId(), current, target);
+            throw new LoanStatusConflictException("Loan status was changed concurrently, please retry");
+        }
+
+        count(current, target, "applied");
+        loan.setLoanStatus(target);
+    }
+
+    private void count(LoanStatus from, LoanStatus to, String outcome) {
+        Counter.builder(METRIC_NAME)
+                .tag("from", String.valueOf(from))
+                .tag("to", to.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
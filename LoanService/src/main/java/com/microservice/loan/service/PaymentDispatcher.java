@@ -0,0 +1,257 @@
+package com.microservice.loan.service;
+
+import com.microservice.loan.constants.PaymentStatus;
+import com.microservice.loan.dto.external.LoanPaymentRequestDto;
+import com.microservice.loan.dto.external.LoanPaymentResponseDto;
+import com.microservice.loan.external.PaymentService;
+import com.microservice.loan.mapper.LoanPaymentMapper;
+import com.microservice.loan.model.Loan;
+import com.microservice.loan.model.LoanPayment;
+import com.microservice.loan.model.PaymentOutbox;
+import com.microservice.loan.repository.LoanPaymentRepository;
+import com.microservice.loan.repository.LoanRepository;
+import com.microservice.loan.repository.PaymentOutboxRepository;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends accepted loan payments to payment-service.
+ * <p>
+ * A single poller thread claims up to {@code loans.payments.dispatcher.batch-size} due outbox rows at a time
+ * (locked with SKIP LOCKED and leased by pushing their next attempt into the future) and hands the whole batch
+ * to a pool of {@code loans.payments.dispatcher.concurrency} workers, or to one virtual thread per call when
+ * virtual threads are enabled, so the calls of a batch are in flight together instead of one after another.
+ * <p>
+ * payment-service receives the payment reference as idempotency key, and the outcome is recorded with a
+ * conditional update on the still pending payment, so a redelivered entry never counts a payment twice.
+ * Transport errors and 5xx answers are retried with exponential backoff until
+ * {@code loans.payments.dispatcher.max-attempts} is reached.
+ */
+@Component
+@Slf4j
+public class PaymentDispatcher implements SmartLifecycle {
+
+    private static final String PAID = "PAID";
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final LoanPaymentRepository loanPaymentRepository;
+    private final LoanRepository loanRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int concurrency;
+    private final Duration pollInterval;
+    private final Duration retryBackoff;
+    private final int maxAttempts;
+    private final boolean virtualThreads;
+
+    private volatile boolean running;
+    private Thread pollerThread;
+    private ExecutorService workers;
+
+    public PaymentDispatcher(PaymentOutboxRepository paymentOutboxRepository,
+                             LoanPaymentRepository loanPaymentRepository,
+                             LoanRepository loanRepository,
+                             PaymentService paymentService,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${loans.payments.dispatcher.batch-size:100}") int batchSize,
+                             @Value("${loans.payments.dispatcher.concurrency:16}") int concurrency,
+                             @Value("${loans.payments.dispatcher.poll-interval:200ms}") Duration pollInterval,
+                             @Value("${loans.payments.dispatcher.retry-backoff:5s}") Duration retryBackoff,
+                             @Value("${loans.payments.dispatcher.max-attempts:10}") int maxAttempts,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.paymentOutboxRepository = paymentOutboxRepository;
+        this.loanPaymentRepository = loanPaymentRepository;
+        this.loanRepository = loanRepository;
+        this.paymentService = paymentService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.pollInterval = pollInterval;
+        this.retryBackoff = retryBackoff;
+        this.maxAttempts = maxAttempts;
+        this.virtualThreads = virtualThreads;
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                List<PaymentOutbox> batch = claim();
+                if (batch.isEmpty()) {
+                    Thread.sleep(pollInterval.toMillis());
+                    continue;
+                }
+                List<Callable<Void>> calls = new ArrayList<>(batch.size());
+                batch.forEach(entry -> calls.add(() -> {
+                    dispatch(entry);
+                    return null;
+                }));
+                workers.invokeAll(calls);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error polling the payment outbox: {}", e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Lock the due entries and lease them to this instance until their next attempt.
+     */
+    private List<PaymentOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PaymentOutbox> due = paymentOutboxRepository.findDue(now, Limit.of(batchSize));
+            due.forEach(entry -> {
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+            });
+            return due;
+        });
+    }
+
+    private void dispatch(PaymentOutbox entry) {
+        String paymentReference = entry.getPaymentReference();
+        LoanPayment payment = loanPaymentRepository.findById(paymentReference).orElse(null);
+        if (payment == null || payment.getStatus() != PaymentStatus.PENDING) {
+            transactionTemplate.executeWithoutResult(status -> paymentOutboxRepository.deleteByPaymentReference(paymentReference));
+            return;
+        }
+
+        try {
+            LoanPaymentRequestDto request = LoanPaymentMapper.mapToLoanPaymentRequestDto(payment, new LoanPaymentRequestDto());
+            LoanPaymentResponseDto response = paymentService.makePayment(paymentReference, request).getBody();
+
+            if (response != null && PAID.equals(response.getStatus())) {
+                complete(payment, PaymentStatus.PAID, response.getTransactionId(), null);
+            } else {
+                complete(payment, PaymentStatus.FAILED, null, "Payment was declined with status " + (response == null ? null : response.getStatus()));
+            }
+        } catch (FeignException e) {
+            if (e.status() >= 400 && e.status() < 500 && e.status() != 429) {
+                complete(payment, PaymentStatus.FAILED, null, "Payment was rejected by payment-service: " + e.status());
+            } else {
+                retryLater(payment, entry, e);
+            }
+        } catch (RuntimeException e) {
+            retryLater(payment, entry, e);
+        }
+    }
+
+    private void retryLater(LoanPayment payment, PaymentOutbox entry, RuntimeException e) {
+        if (entry.getAttempts() >= maxAttempts) {
+            log.error("Payment {} failed after {} attempts: {}", payment.getPaymentReference(), entry.getAttempts(), e.getMessage());
+            complete(payment, PaymentStatus.FAILED, null, "Payment-service could not be reached");
+        } else {
+            log.warn("Payment {} attempt {} failed, retrying: {}", payment.getPaymentReference(), entry.getAttempts(), e.getMessage());
+        }
+    }
+
+    /**
+     * Record the outcome and drop the outbox entry in one transaction. Only the call that moves the payment
+     * out of PENDING books it on the loan.
+     */
+    private void complete(LoanPayment payment, PaymentStatus outcome, String transactionId, String failureReason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int updated = loanPaymentRepository.complete(payment.getPaymentReference(), outcome, transactionId, failureReason, LocalDateTime.now());
+            if (updated == 1 && outcome == PaymentStatus.PAID) {
+                loanRepository.findByIdForUpdate(payment.getLoanId())
+                        .ifPresent(loan -> applyPayment(loan, payment.getAmount()));
+            }
+            paymentOutboxRepository.deleteByPaymentReference(payment.getPaymentReference());
+        });
+    }
+
+    /**
+     * Book a payment on the loan: the outstanding amount goes down and the next due date moves to the
+     * first installment that is not fully covered by the payments made so far.
+     */
+    private void applyPayment(Loan loan, BigDecimal amount) {
+        BigDecimal amountPaid = BigDecimal.valueOf(loan.getAmountPaid()).add(amount);
+        BigDecimal outstanding = BigDecimal.valueOf(loan.getOutstandingAmount()).subtract(amount).max(BigDecimal.ZERO);
+
+        loan.setAmountPaid(amountPaid.doubleValue());
+        loan.setOutstandingAmount(outstanding.doubleValue());
+        loan.setLastPaymentDate(LocalDate.now());
+
+        if (loan.getEmi() > 0 && loan.getStartDate() != null) {
+            int installmentsCovered = amountPaid.divideToIntegralValue(BigDecimal.valueOf(loan.getEmi())).intValue();
+            loan.setRepaymentDueDate(installmentsCovered >= loan.getLoanDuration()
+                    ? null
+                    : loan.getStartDate().plusMonths(installmentsCovered + 1L));
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        return retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 10));
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (virtualThreads) {
+            workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-dispatcher-", 1).factory());
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "payment-dispatcher-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        running = true;
+        pollerThread = new Thread(this::runLoop, "payment-outbox-poller");
+        pollerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (pollerThread != null) {
+            pollerThread.interrupt();
+        }
+        if (workers == null) {
+            return;
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Payment dispatcher did not finish in time, unfinished payments stay in the outbox");
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
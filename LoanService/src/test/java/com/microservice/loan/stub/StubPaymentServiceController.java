@@ -0,0 +1,50 @@
+package com.microservice.loan.stub;
+
+import com.microservice.loan.dto.external.LoanPaymentRequestDto;
+import com.microservice.loan.dto.external.LoanPaymentResponseDto;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for payment-service, active with the {@code stub-payment-service} profile.
+ * Every payment is accepted once per idempotency key, replays return the first answer.
+ */
+@RestController
+@Profile("stub-payment-service")
+@RequestMapping("/api/payments")
+public class StubPaymentServiceController {
+
+    private final Map<String, StubPayment> payments = new ConcurrentHashMap<>();
+
+    @PostMapping("/make-payment")
+    public ResponseEntity<LoanPaymentResponseDto> makePayment(@RequestHeader("Idempotency-Key") String idempotencyKey,
+                                                              @RequestBody LoanPaymentRequestDto loanPaymentRequestDto) {
+        StubPayment payment = payments.computeIfAbsent(idempotencyKey, key -> new StubPayment(loanPaymentRequestDto.getLoanId(), LoanPaymentResponseDto.builder()
+                .id(UUID.randomUUID().toString())
+                .customerId(loanPaymentRequestDto.getCustomerId())
+                .amount(loanPaymentRequestDto.getAmount())
+                .paymentMethod(loanPaymentRequestDto.getPaymentMethod())
+                .paymentDate(String.valueOf(loanPaymentRequestDto.getPaymentDate()))
+                .status("PAID")
+                .transactionId(UUID.randomUUID().toString())
+                .build()));
+        return ResponseEntity.ok(payment.response());
+    }
+
+    @GetMapping("/loan/{loanId}")
+    public ResponseEntity<List<LoanPaymentResponseDto>> getLoanPaymentsByLoanId(@PathVariable("loanId") long loanId) {
+        return ResponseEntity.ok(payments.values().stream()
+                .filter(payment -> payment.loanId() == loanId)
+                .map(StubPayment::response)
+                .toList());
+    }
+
+    private record StubPayment(long loanId, LoanPaymentResponseDto response) {
+    }
+}
@@ -1,8 +1,8 @@
 package com.microservice.transaction.annotation;
 
 
-import com.microservice.loan.dto.ErrorResponseDto;
-import com.microservice.loan.dto.ResponseDto;
+import com.microservice.transaction.dto.ErrorResponseDto;
+import com.microservice.transaction.dto.ResponseDto;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
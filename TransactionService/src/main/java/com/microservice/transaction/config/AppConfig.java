@@ -1,7 +1,9 @@
 package com.microservice.transaction.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
 
 @Configuration
+@EnableMongoAuditing(auditorAwareRef = "auditAwareImpl")
 public class AppConfig {
 }
@@ -0,0 +1,6 @@
+package com.microservice.transaction.constants;
+
+public enum EntryType {
+    DEBIT,                // Money leaves the account
+    CREDIT                // Money enters the account
+}
@@ -0,0 +1,12 @@
+package com.microservice.transaction.constants;
+
+public enum TransactionType {
+    DEPOSIT,              // Cash or external money paid into an account
+    WITHDRAWAL,           // Cash or external money taken out of an account
+    TRANSFER,             // Money moved between two internal accounts
+    LOAN_DISBURSEMENT,    // Loan amount paid out to the borrower
+    LOAN_REPAYMENT,       // Instalment paid towards a loan
+    CARD_PAYMENT,         // Spend captured on a card
+    FEE,                  // Charges levied by the bank
+    REVERSAL              // Compensating posting for an earlier transaction
+}
@@ -1,7 +1,97 @@
 package com.microservice.transaction.controller;
 
-import org.springframework.web.bind.annotation.RestController;
+import com.microservice.transaction.annotation.ApiResponse_200_500;
+import com.microservice.transaction.annotation.ApiResponse_201_500;
+import com.microservice.transaction.dto.TransactionDto;
+import com.microservice.transaction.dto.TransactionRequestDto;
+import com.microservice.transaction.service.ITransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
 
 @RestController
+@RequestMapping(path = "/api/transactions", produces = {MediaType.APPLICATION_JSON_VALUE})
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+@Tag(
+        name = "REST APIs for Transactions",
+        description = "REST APIs to POST and READ double-entry ledger transactions"
+)
 public class TransactionController {
+
+    private final ITransactionService transactionService;
+
+    /**
+     * Post a new transaction to the ledger.
+     *
+     * @param idempotencyKey client supplied key, retries with the same key return the original transaction
+     * @param transactionRequestDto the balanced debit and credit entries to post
+     * @return the posted transaction
+     */
+    @Operation(
+            summary = "Post Transaction REST API",
+            description = "REST API to post a balanced double-entry transaction, retries with the same Idempotency-Key are safe"
+    )
+    @ApiResponse_201_500
+    @PostMapping
+    public ResponseEntity<TransactionDto> postTransaction(@RequestHeader("Idempotency-Key") @NotBlank(message = "Idempotency key can not be empty") @Size(max = 64, message = "Idempotency key must be at most 64 characters long") String idempotencyKey,
+                                                          @Valid @RequestBody TransactionRequestDto transactionRequestDto) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(transactionService.postTransaction(idempotencyKey, transactionRequestDto));
+    }
+
+    /**
+     * Fetch a transaction by its id.
+     *
+     * @param transactionId the unique identifier of the transaction
+     * @return the transaction
+     */
+    @Operation(
+            summary = "Fetch Transaction REST API",
+            description = "REST API to fetch a transaction by its id"
+    )
+    @ApiResponse_200_500
+    @GetMapping("/{transactionId}")
+    public ResponseEntity<TransactionDto> getTransaction(@PathVariable String transactionId) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(transactionService.getTransaction(transactionId));
+    }
+
+    /**
+     * Fetch the transactions of an account, newest first.
+     *
+     * @param accountNumber the account number
+     * @param page the zero based page number
+     * @param size the page size
+     * @return the transactions of the requested page
+     */
+    @Operation(
+            summary = "Fetch Account Transactions REST API",
+            description = "REST API to fetch the transactions of an account page by page, newest first"
+    )
+    @ApiResponse_200_500
+    @GetMapping("/accounts/{accountNumber}")
+    public ResponseEntity<List<TransactionDto>> getTransactionsByAccountNumber(@PathVariable String accountNumber,
+                                                                               @Min(value = 0, message = "page must not be negative") @RequestParam(defaultValue = "0") int page,
+                                                                               @Min(value = 1, message = "size must be at least 1") @Max(value = 500, message = "size must be at most 500") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(transactionService.getTransactionsByAccountNumber(accountNumber, page, size));
+    }
 }
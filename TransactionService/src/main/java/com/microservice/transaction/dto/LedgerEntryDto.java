@@ -0,0 +1,42 @@
+package com.microservice.transaction.dto;
+
+import com.microservice.transaction.constants.EntryType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(
+    name = "LedgerEntry",
+    description = "Schema to hold one debit or credit leg of a transaction"
+)
+public class LedgerEntryDto {
+
+    @Schema(
+        description = "Account number the entry is posted to", example = "1234567890"
+    )
+    @NotEmpty(message = "Account number can not be null or empty")
+    @Pattern(regexp = "(^$|[0-9]{10})", message = "Account number must be 10 digits")
+    private String accountNumber;
+
+    @Schema(
+        description = "Whether the entry debits or credits the account", example = "DEBIT"
+    )
+    @NotNull(message = "Entry type can not be null")
+    private EntryType entryType;
+
+    @Schema(
+        description = "Amount of the entry in minor units (paise)", example = "150000"
+    )
+    @Positive(message = "Amount must be a positive number")
+    private long amount;
+}
@@ -0,0 +1,57 @@
+package com.microservice.transaction.dto;
+
+import com.microservice.transaction.constants.TransactionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(
+    name = "Transaction",
+    description = "Schema to hold a posted ledger transaction"
+)
+public class TransactionDto {
+
+    @Schema(
+        description = "Unique identifier of the transaction", example = "677278b471465638d65b141a"
+    )
+    private String id;
+
+    @Schema(
+        description = "Idempotency key the transaction was posted with", example = "b1c3e8f4-7a0d-4d6b-9a61-1f3f5c3c2a10"
+    )
+    private String idempotencyKey;
+
+    @Schema(
+        description = "Type of the transaction", example = "TRANSFER"
+    )
+    private TransactionType transactionType;
+
+    @Schema(
+        description = "ISO currency code of all entries", example = "INR"
+    )
+    private String currency;
+
+    @Schema(
+        description = "Free text description of the transaction", example = "Rent for January"
+    )
+    private String description;
+
+    @Schema(
+        description = "Debit and credit entries of the transaction"
+    )
+    private List<LedgerEntryDto> entries;
+
+    @Schema(
+        description = "Time the transaction was posted to the ledger"
+    )
+    private Instant postedAt;
+}
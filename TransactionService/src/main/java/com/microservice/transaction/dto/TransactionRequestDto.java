@@ -0,0 +1,51 @@
+package com.microservice.transaction.dto;
+
+import com.microservice.transaction.constants.TransactionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(
+    name = "TransactionRequest",
+    description = "Schema to hold a transaction to post to the ledger"
+)
+public class TransactionRequestDto {
+
+    @Schema(
+        description = "Type of the transaction", example = "TRANSFER"
+    )
+    @NotNull(message = "Transaction type can not be null")
+    private TransactionType transactionType;
+
+    @Schema(
+        description = "ISO currency code of all entries", example = "INR"
+    )
+    @NotEmpty(message = "Currency can not be null or empty")
+    @Size(min = 3, max = 3, message = "Currency must be a 3 letter ISO code")
+    private String currency;
+
+    @Schema(
+        description = "Free text description of the transaction", example = "Rent for January"
+    )
+    @Size(max = 255, message = "Description must be at most 255 characters long")
+    private String description;
+
+    @Schema(
+        description = "Debit and credit entries, debits must equal credits"
+    )
+    @NotNull(message = "Entries can not be null")
+    @Size(min = 2, max = 100, message = "A transaction must have between 2 and 100 entries")
+    private List<@Valid LedgerEntryDto> entries;
+}
@@ -0,0 +1,23 @@
+package com.microservice.transaction.entity;
+
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+@Getter@Setter@ToString
+public class BaseEntity {
+
+    @Field(name = "created_at")
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @Field(name = "created_by")
+    @CreatedBy
+    private String createdBy;
+}
@@ -0,0 +1,24 @@
+package com.microservice.transaction.entity;
+
+import com.microservice.transaction.constants.EntryType;
+import lombok.*;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * One leg of a double-entry transaction. Amounts are kept in minor units (paise) to avoid rounding.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntry {
+
+    @Field(name = "account_number")
+    private String accountNumber;
+
+    @Field(name = "entry_type")
+    private EntryType entryType;
+
+    private long amount;
+}
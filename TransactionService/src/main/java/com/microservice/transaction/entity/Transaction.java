@@ -1,4 +1,47 @@
 package com.microservice.transaction.entity;
 
-public class Transaction {
+import com.microservice.transaction.constants.TransactionType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only double-entry ledger record. Documents are only ever inserted, never updated;
+ * corrections are posted as a new {@link TransactionType#REVERSAL} transaction.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "transactions")
+@CompoundIndex(name = "entries_account_posted_at", def = "{'entries.account_number': 1, 'posted_at': -1}")
+public class Transaction extends BaseEntity {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    @Field(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Field(name = "transaction_type")
+    private TransactionType transactionType;
+
+    private String currency;
+
+    private String description;
+
+    @Builder.Default
+    private List<LedgerEntry> entries = new ArrayList<>();
+
+    @Field(name = "posted_at")
+    private Instant postedAt;
 }
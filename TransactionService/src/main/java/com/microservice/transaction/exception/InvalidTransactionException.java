@@ -0,0 +1,12 @@
+package com.microservice.transaction.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTransactionException extends RuntimeException {
+
+    public InvalidTransactionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+package com.microservice.transaction.mapper;
+
+import com.microservice.transaction.dto.LedgerEntryDto;
+import com.microservice.transaction.dto.TransactionDto;
+import com.microservice.transaction.dto.TransactionRequestDto;
+import com.microservice.transaction.entity.LedgerEntry;
+import com.microservice.transaction.entity.Transaction;
+
+public class TransactionMapper {
+
+    public static Transaction mapToTransaction(String idempotencyKey, TransactionRequestDto transactionRequestDto, Transaction transaction) {
+        transaction.setIdempotencyKey(idempotencyKey);
+        transaction.setTransactionType(transactionRequestDto.getTransactionType());
+        transaction.setCurrency(transactionRequestDto.getCurrency());
+        transaction.setDescription(transactionRequestDto.getDescription());
+        transaction.setEntries(transactionRequestDto.getEntries().stream()
+                .map(entry -> new LedgerEntry(entry.getAccountNumber(), entry.getEntryType(), entry.getAmount()))
+                .toList());
+        return transaction;
+    }
+
+    public static TransactionDto mapToTransactionDto(Transaction transaction, TransactionDto transactionDto) {
+        transactionDto.setId(transaction.getId());
+        transactionDto.setIdempotencyKey(transaction.getIdempotencyKey());
+        transactionDto.setTransactionType(transaction.getTransactionType());
+        transactionDto.setCurrency(transaction.getCurrency());
+        transactionDto.setDescription(transaction.getDescription());
+        transactionDto.setEntries(transaction.getEntries().stream()
+                .map(entry -> new LedgerEntryDto(entry.getAccountNumber(), entry.getEntryType(), entry.getAmount()))
+                .toList());
+        transactionDto.setPostedAt(transaction.getPostedAt());
+        return transactionDto;
+    }
+}
@@ -0,0 +1,23 @@
+package com.microservice.transaction.repository;
+
+import com.microservice.transaction.entity.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionRepository extends MongoRepository<Transaction, String> {
+
+    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+
+    List<Transaction> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
+    @Query(value = "{ 'entries.account_number': ?0 }", sort = "{ 'posted_at': -1 }")
+    Page<Transaction> findByAccountNumber(String accountNumber, Pageable pageable);
+}
@@ -0,0 +1,37 @@
+package com.microservice.transaction.service;
+
+import com.microservice.transaction.dto.TransactionDto;
+import com.microservice.transaction.dto.TransactionRequestDto;
+
+import java.util.List;
+
+public interface ITransactionService {
+
+    /**
+     * Post a balanced double-entry transaction to the ledger.
+     * Posting the same idempotency key again returns the transaction stored the first time.
+     *
+     * @param idempotencyKey The client supplied key that identifies the request.
+     * @param transactionRequestDto The transaction to post.
+     * @return The posted transaction.
+     */
+    TransactionDto postTransaction(String idempotencyKey, TransactionRequestDto transactionRequestDto);
+
+    /**
+     * Retrieve a transaction by its ID.
+     *
+     * @param transactionId The ID of the transaction to retrieve.
+     * @return The transaction with the given ID.
+     */
+    TransactionDto getTransaction(String transactionId);
+
+    /**
+     * Retrieve the transactions that touch an account, newest first.
+     *
+     * @param accountNumber The account number to retrieve transactions for.
+     * @param page The zero based page number.
+     * @param size The page size.
+     * @return The transactions of the requested page.
+     */
+    List<TransactionDto> getTransactionsByAccountNumber(String accountNumber, int page, int size);
+}
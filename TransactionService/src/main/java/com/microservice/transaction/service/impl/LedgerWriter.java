@@ -0,0 +1,210 @@
+package com.microservice.transaction.service.impl;
+
+import com.microservice.transaction.entity.Transaction;
+import com.microservice.transaction.exception.LedgerUnavailableException;
+import com.microservice.transaction.repository.TransactionRepository;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit writer for the ledger.
+ * <p>
+ * Request threads hand their transaction to {@link #submit(Transaction)} and wait on the returned future.
+ * A single writer thread collects everything that arrives within {@code ledger.writer.max-wait}
+ * (up to {@code ledger.writer.max-batch-size} transactions) and writes it with one unordered bulk insert,
+ * so many postings share a single round trip and a single journal commit.
+ * <p>
+ * A duplicate idempotency key is not an error: the posting completes with the transaction that was stored first.
+ */
+@Component
+@Slf4j
+public class LedgerWriter implements SmartLifecycle {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionRepository transactionRepository;
+    private final BlockingQueue<PendingPosting> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public LedgerWriter(MongoTemplate mongoTemplate,
+                        TransactionRepository transactionRepository,
+                        @Value("${ledger.writer.queue-capacity:20000}") int queueCapacity,
+                        @Value("${ledger.writer.max-batch-size:500}") int maxBatchSize,
+                        @Value("${ledger.writer.max-wait:2ms}") Duration maxWait) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionRepository = transactionRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Queue a transaction for the next group commit.
+     *
+     * @param transaction the transaction to append, its id must already be assigned
+     * @return future completed with the stored transaction once the batch is written
+     * @throws LedgerUnavailableException if the writer is stopped or the queue is full
+     */
+    public CompletableFuture<Transaction> submit(Transaction transaction) {
+        if (!running) {
+            throw new LedgerUnavailableException("Ledger writer is not running");
+        }
+        PendingPosting posting = new PendingPosting(transaction, new CompletableFuture<>());
+        if (!queue.offer(posting)) {
+            throw new LedgerUnavailableException("Ledger is overloaded, please retry");
+        }
+        return posting.result();
+    }
+
+    private void runLoop() {
+        List<PendingPosting> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingPosting first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.addAll(queue);
+            batch.forEach(posting -> posting.result().completeExceptionally(new LedgerUnavailableException("Ledger writer was interrupted")));
+        }
+    }
+
+    /**
+     * Fill the batch with whatever is already queued, then wait up to the group commit window for more.
+     */
+    private void collect(List<PendingPosting> batch) throws InterruptedException {
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingPosting next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void write(List<PendingPosting> batch) {
+        Instant postedAt = Instant.now();
+        List<Transaction> documents = new ArrayList<>(batch.size());
+        batch.forEach(posting -> {
+            posting.transaction().setPostedAt(postedAt);
+            documents.add(posting.transaction());
+        });
+
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class)
+                    .insert(documents)
+                    .execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> errors.put(error.getIndex(), error));
+        } catch (RuntimeException e) {
+            log.error("Error writing {} transactions to the ledger: {}", batch.size(), e.getMessage());
+            batch.forEach(posting -> posting.result().completeExceptionally(new LedgerUnavailableException("Failed to write to the ledger", e)));
+            return;
+        }
+
+        List<String> duplicateKeys = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingPosting posting = batch.get(i);
+            BulkWriteError error = errors.get(i);
+            if (error == null) {
+                posting.result().complete(posting.transaction());
+            } else if (error.getCode() == DUPLICATE_KEY) {
+                duplicateKeys.add(posting.transaction().getIdempotencyKey());
+            } else {
+                posting.result().completeExceptionally(new LedgerUnavailableException(error.getMessage()));
+            }
+        }
+
+        if (!duplicateKeys.isEmpty()) {
+            completeReplays(batch, errors, duplicateKeys);
+        }
+    }
+
+    /**
+     * Complete postings rejected by the unique idempotency key index with the transaction stored earlier.
+     */
+    private void completeReplays(List<PendingPosting> batch, Map<Integer, BulkWriteError> errors, List<String> duplicateKeys) {
+        Map<String, Transaction> stored = new HashMap<>();
+        try {
+            transactionRepository.findByIdempotencyKeyIn(duplicateKeys)
+                    .forEach(transaction -> stored.put(transaction.getIdempotencyKey(), transaction));
+        } catch (RuntimeException e) {
+            log.error("Error reading replayed transactions: {}", e.getMessage());
+        }
+
+        errors.forEach((index, error) -> {
+            if (error.getCode() != DUPLICATE_KEY) {
+                return;
+            }
+            PendingPosting posting = batch.get(index);
+            Transaction existing = stored.get(posting.transaction().getIdempotencyKey());
+            if (existing != null) {
+                posting.result().complete(existing);
+            } else {
+                posting.result().completeExceptionally(new LedgerUnavailableException("Failed to read the replayed transaction"));
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runLoop, "ledger-writer");
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingPosting(Transaction transaction, CompletableFuture<Transaction> result) {
+    }
+}
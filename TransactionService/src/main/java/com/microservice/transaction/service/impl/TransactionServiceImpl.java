@@ -0,0 +1,130 @@
+package com.microservice.transaction.service.impl;
+
+import com.microservice.transaction.constants.EntryType;
+import com.microservice.transaction.dto.LedgerEntryDto;
+import com.microservice.transaction.dto.TransactionDto;
+import com.microservice.transaction.dto.TransactionRequestDto;
+import com.microservice.transaction.entity.Transaction;
+import com.microservice.transaction.exception.InvalidTransactionException;
+import com.microservice.transaction.exception.LedgerUnavailableException;
+import com.microservice.transaction.exception.ResourceNotFoundException;
+import com.microservice.transaction.mapper.TransactionMapper;
+import com.microservice.transaction.repository.TransactionRepository;
+import com.microservice.transaction.service.ITransactionService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@Slf4j
+public class TransactionServiceImpl implements ITransactionService {
+
+    private final TransactionRepository transactionRepository;
+    private final LedgerWriter ledgerWriter;
+    private final Duration postTimeout;
+
+    public TransactionServiceImpl(TransactionRepository transactionRepository,
+                                  LedgerWriter ledgerWriter,
+                                  @Value("${ledger.writer.post-timeout:5s}") Duration postTimeout) {
+        this.transactionRepository = transactionRepository;
+        this.ledgerWriter = ledgerWriter;
+        this.postTimeout = postTimeout;
+    }
+
+    /**
+     * Post a balanced double-entry transaction to the ledger.
+     * <p>
+     * The transaction is appended through the group commit {@link LedgerWriter}; uniqueness of the
+     * idempotency key is enforced by the unique index, so there is no read before the insert.
+     *
+     * @param idempotencyKey The client supplied key that identifies the request.
+     * @param transactionRequestDto The transaction to post.
+     * @return The posted transaction, or the one stored earlier under the same idempotency key.
+     */
+    @Override
+    public TransactionDto postTransaction(String idempotencyKey, TransactionRequestDto transactionRequestDto) {
+        validateBalanced(transactionRequestDto.getEntries());
+
+        Transaction transaction = TransactionMapper.mapToTransaction(idempotencyKey, transactionRequestDto, new Transaction());
+        transaction.setId(new ObjectId().toHexString());
+
+        try {
+            Transaction posted = ledgerWriter.submit(transaction).get(postTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return TransactionMapper.mapToTransactionDto(posted, new TransactionDto());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new LedgerUnavailableException("Failed to post transaction", e.getCause());
+        } catch (TimeoutException e) {
+            log.error("Timed out posting transaction with idempotency key {}", idempotencyKey);
+            throw new LedgerUnavailableException("Timed out posting transaction, retry with the same idempotency key");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LedgerUnavailableException("Interrupted while posting transaction");
+        }
+    }
+
+    /**
+     * Retrieve a transaction by its ID.
+     *
+     * @param transactionId The ID of the transaction to retrieve.
+     * @return The transaction with the given ID.
+     */
+    @Override
+    public TransactionDto getTransaction(String transactionId) {
+        Transaction transaction = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", transactionId));
+        return TransactionMapper.mapToTransactionDto(transaction, new TransactionDto());
+    }
+
+    /**
+     * Retrieve the transactions that touch an account, newest first.
+     *
+     * @param accountNumber The account number to retrieve transactions for.
+     * @param page The zero based page number.
+     * @param size The page size.
+     * @return The transactions of the requested page.
+     */
+    @Override
+    public List<TransactionDto> getTransactionsByAccountNumber(String accountNumber, int page, int size) {
+        return transactionRepository.findByAccountNumber(accountNumber, PageRequest.of(page, size))
+                .stream()
+                .map(transaction -> TransactionMapper.mapToTransactionDto(transaction, new TransactionDto()))
+                .toList();
+    }
+
+    /**
+     * A transaction must debit and credit at least one account each and the debits must equal the credits.
+     */
+    private void validateBalanced(List<LedgerEntryDto> entries) {
+        long debits = 0;
+        long credits = 0;
+        try {
+            for (LedgerEntryDto entry : entries) {
+                if (entry.getEntryType() == EntryType.DEBIT) {
+                    debits = Math.addExact(debits, entry.getAmount());
+                } else {
+                    credits = Math.addExact(credits, entry.getAmount());
+                }
+            }
+        } catch (ArithmeticException e) {
+            throw new InvalidTransactionException("Transaction amount is too large");
+        }
+
+        if (debits == 0 || credits == 0) {
+            throw new InvalidTransactionException("Transaction must have at least one debit and one credit entry");
+        }
+        if (debits != credits) {
+            throw new InvalidTransactionException("Total debits " + debits + " do not match total credits " + credits);
+        }
+    }
+}
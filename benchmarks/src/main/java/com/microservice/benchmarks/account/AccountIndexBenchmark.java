@@ -0,0 +1,109 @@
+package com.microservice.benchmarks.account;
+
+import com.microservice.account.AccountServiceApplication;
+import com.microservice.account.constants.AccountStatus;
+import com.microservice.account.dto.AccountSummaryDto;
+import com.microservice.account.repository.AccountRepository;
+import com.microservice.benchmarks.support.ServiceContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of account service on a large account table, with the indexes of {@code V2__account_indexes.sql}
+ * and without them.
+ * <p>
+ * The table is filled with one INSERT ... SELECT: three accounts per customer over 200 branches, every tenth
+ * account closed. Five million rows need a few gigabytes of heap, hence the larger fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class AccountIndexBenchmark {
+
+    private static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+    private static final int BRANCHES = 200;
+
+    @Param({"5000000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private AccountRepository accountRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContext.start(AccountServiceApplication.class, "accounts", Map.of());
+        accountRepository = context.getBean(AccountRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("""
+                insert into account (account_number, customer_id, account_type, branch, balance, status, currency, version, created_at, created_by)
+                select ? + x,
+                       'customer-' || (x / 3),
+                       case mod(x, 3) when 0 then 'Savings' when 1 then 'Current' else 'Salary' end,
+                       'Branch-' || mod(x, ?),
+                       1000.00,
+                       case when mod(x, 10) = 0 then 'CLOSED' else 'ACTIVE' end,
+                       'Rupees', 0, current_timestamp, 'benchmark'
+                from system_range(1, ?)
+                """, FIRST_ACCOUNT_NUMBER, BRANCHES, rows);
+        if (!indexed) {
+            jdbcTemplate.execute("alter table account drop constraint uk_account_customer_type_branch");
+            jdbcTemplate.execute("drop index idx_account_status_branch");
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AccountSummaryDto> accountsOfCustomer() {
+        return accountRepository.findSummariesByCustomerId(randomCustomerId());
+    }
+
+    @Benchmark
+    public boolean existsByNaturalKey() {
+        return accountRepository.existsByCustomerIdAndAccountTypeAndBranch(randomCustomerId(), "Savings", randomBranch());
+    }
+
+    @Benchmark
+    public List<AccountSummaryDto> filteredPage() {
+        long after = FIRST_ACCOUNT_NUMBER + ThreadLocalRandom.current().nextInt(rows);
+        return accountRepository.findPageAfter(after, AccountStatus.ACTIVE.name(), randomBranch(), null, Limit.of(100));
+    }
+
+    private String randomCustomerId() {
+        return "customer-" + ThreadLocalRandom.current().nextInt(rows / 3);
+    }
+
+    private String randomBranch() {
+        return "Branch-" + ThreadLocalRandom.current().nextInt(BRANCHES);
+    }
+}
@@ -0,0 +1,95 @@
+package com.microservice.benchmarks.account;
+
+import com.microservice.account.AccountServiceApplication;
+import com.microservice.account.allocator.AccountNumberAllocator;
+import com.microservice.benchmarks.support.ServiceContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account number allocation, the hi/lo block allocator against the former random number probing,
+ * single threaded and with concurrent callers, on an account table that already holds 10 thousand, 1 million
+ * or 10 million accounts.
+ * <p>
+ * The existing accounts are filled in with one INSERT ... SELECT and spread over the whole number space like the
+ * numbers of the random allocator, so random probes hit them and hi/lo blocks have legacy numbers to skip.
+ * Ten million rows need a few gigabytes of heap, hence the larger fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class AccountNumberAllocatorBenchmark {
+
+    private static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+    private static final long ACCOUNT_NUMBERS = 9_000_000_000L;
+    /**
+     * Prime to the size of the number space, so multiplying by it maps distinct rows to distinct numbers.
+     */
+    private static final long SPREAD = 7_919L;
+
+    @Param({"hilo", "random-probe"})
+    public String strategy;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContext.start(AccountServiceApplication.class, "accounts",
+                Map.of("accounts.number-allocator.strategy", strategy));
+        accountNumberAllocator = context.getBean(AccountNumberAllocator.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("""
+                insert into account (account_number, customer_id, account_type, branch, balance, status, currency, version, created_at, created_by)
+                select ? + mod(x * ?, ?),
+                       'customer-' || x,
+                       'Savings',
+                       'Kolkata',
+                       1000.00,
+                       'ACTIVE',
+                       'Rupees', 0, current_timestamp, 'benchmark'
+                from system_range(1, ?)
+                """, FIRST_ACCOUNT_NUMBER, SPREAD, ACCOUNT_NUMBERS, rows);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long allocate() {
+        return accountNumberAllocator.nextAccountNumber();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long allocateConcurrently() {
+        return accountNumberAllocator.nextAccountNumber();
+    }
+}
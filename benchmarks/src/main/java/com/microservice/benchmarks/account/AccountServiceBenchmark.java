@@ -0,0 +1,208 @@
+package com.microservice.benchmarks.account;
+
+import com.microservice.account.AccountServiceApplication;
+import com.microservice.account.allocator.AccountNumberAllocator;
+import com.microservice.account.constants.AccountStatus;
+import com.microservice.account.dto.AccountBalanceDto;
+import com.microservice.account.dto.AccountDto;
+import com.microservice.account.dto.AccountPageDto;
+import com.microservice.account.dto.AccountSnapshot;
+import com.microservice.account.dto.BulkAccountRequestDto;
+import com.microservice.account.entity.Account;
+import com.microservice.account.repository.AccountRepository;
+import com.microservice.account.service.IAccountService;
+import com.microservice.benchmarks.support.ServiceContext;
+import com.microservice.benchmarks.support.StubServer;
+import com.microservice.benchmarks.support.Stubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hot paths of account service on H2, with customer-service stubbed.
+ * <ul>
+ *     <li>{@link #createAccount}: existence check, account number allocation and insert of
+ *     {@code AccountServiceImpl.createAccount}, which covers the private {@code createNewAccount}.</li>
+ *     <li>{@link #bulkCreate} against {@link #singleCreateLoop}: the same rows through the chunked bulk path
+ *     and one by one, both reported per account.</li>
+ *     <li>{@link #cachedBalance}, {@link #snapshotQuery} and {@link #entityLoad}: balance reads through the
+ *     snapshot cache, through the projection query and by loading the entity.</li>
+ *     <li>{@link #accountPage}: one keyset page of the listing.</li>
+ *     <li>{@link #creditHotAccounts} against {@link #creditSpreadAccounts}: concurrent credits on 1, 10 or 1000
+ *     hot accounts and spread over all seeded accounts.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+    private static final int SEEDED_ACCOUNTS = 30_000;
+    private static final int BULK_ROWS = 1_000;
+    private static final String[] ACCOUNT_TYPES = {"Savings", "Current", "Salary"};
+    private static final String BRANCH = "Kolkata";
+
+    private final AtomicLong customerIds = new AtomicLong();
+
+    private StubServer customerService;
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private AccountRepository accountRepository;
+    private long[] accountNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        customerService = Stubs.customerService(StubServer.start());
+        context = ServiceContext.start(AccountServiceApplication.class, "accounts",
+                Map.of("external.api.customer-service.url", customerService.url()));
+        accountService = context.getBean(IAccountService.class);
+        accountRepository = context.getBean(AccountRepository.class);
+
+        AccountNumberAllocator accountNumberAllocator = context.getBean(AccountNumberAllocator.class);
+        List<Account> accounts = new ArrayList<>(SEEDED_ACCOUNTS);
+        accountNumbers = new long[SEEDED_ACCOUNTS];
+        for (int i = 0; i < SEEDED_ACCOUNTS; i++) {
+            accountNumbers[i] = accountNumberAllocator.nextAccountNumber();
+            accounts.add(Account.builder()
+                    .accountNumber(accountNumbers[i])
+                    .customerId("seeded-" + i / ACCOUNT_TYPES.length)
+                    .accountType(ACCOUNT_TYPES[i % ACCOUNT_TYPES.length])
+                    .branch(BRANCH)
+                    .balance(new BigDecimal("100000.00"))
+                    .currency("Rupees")
+                    .status(AccountStatus.ACTIVE.name())
+                    .build());
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        customerService.close();
+    }
+
+    /**
+     * A fresh batch of rows for every invocation, each for a customer without accounts.
+     */
+    @State(Scope.Thread)
+    public static class Rows {
+
+        List<BulkAccountRequestDto> rows;
+
+        @Setup(Level.Invocation)
+        public void setUp(AccountServiceBenchmark benchmark) {
+            rows = new ArrayList<>(BULK_ROWS);
+            for (int i = 0; i < BULK_ROWS; i++) {
+                rows.add(new BulkAccountRequestDto(benchmark.nextCustomerId(), ACCOUNT_TYPES[i % ACCOUNT_TYPES.length], BRANCH));
+            }
+        }
+    }
+
+    /**
+     * The accounts that all concurrent credits of {@link #creditHotAccounts} go to.
+     */
+    @State(Scope.Benchmark)
+    public static class HotAccounts {
+
+        @Param({"1", "10", "1000"})
+        public int hotAccounts;
+
+        private long[] accountNumbers;
+
+        @Setup(Level.Trial)
+        public void setUp(AccountServiceBenchmark benchmark) {
+            accountNumbers = Arrays.copyOf(benchmark.accountNumbers, hotAccounts);
+        }
+
+        long next() {
+            return accountNumbers[ThreadLocalRandom.current().nextInt(accountNumbers.length)];
+        }
+    }
+
+    @Benchmark
+    public void createAccount() {
+        accountService.createAccount(nextCustomerId(), new AccountDto(null, "Savings", BRANCH, null));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_ROWS)
+    public void bulkCreate(Rows rows, Blackhole blackhole) {
+        accountService.createAccounts(rows.rows.iterator(), blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_ROWS)
+    public void singleCreateLoop(Rows rows) {
+        for (BulkAccountRequestDto row : rows.rows) {
+            accountService.createAccount(row.getCustomerId(), new AccountDto(null, row.getAccountType(), row.getBranch(), null));
+        }
+    }
+
+    @Benchmark
+    public AccountBalanceDto cachedBalance() {
+        return accountService.getAccountBalance(randomAccountNumber());
+    }
+
+    @Benchmark
+    public Optional<AccountSnapshot> snapshotQuery() {
+        return accountRepository.findSnapshotByAccountNumber(randomAccountNumber());
+    }
+
+    @Benchmark
+    public Optional<Account> entityLoad() {
+        return accountRepository.findByAccountNumber(randomAccountNumber());
+    }
+
+    @Benchmark
+    public AccountPageDto accountPage() {
+        return accountService.getAccounts(randomAccountNumber(), 100, AccountStatus.ACTIVE.name(), BRANCH, null);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AccountBalanceDto creditHotAccounts(HotAccounts hotAccounts) {
+        return accountService.creditAccount(hotAccounts.next(), 1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AccountBalanceDto creditSpreadAccounts() {
+        return accountService.creditAccount(randomAccountNumber(), 1);
+    }
+
+    private String nextCustomerId() {
+        return "benchmark-" + customerIds.incrementAndGet();
+    }
+
+    private long randomAccountNumber() {
+        return accountNumbers[ThreadLocalRandom.current().nextInt(accountNumbers.length)];
+    }
+}
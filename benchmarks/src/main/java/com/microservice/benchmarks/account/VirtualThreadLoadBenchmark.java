@@ -0,0 +1,147 @@
+package com.microservice.benchmarks.account;
+
+import com.microservice.account.AccountServiceApplication;
+import com.microservice.account.allocator.AccountNumberAllocator;
+import com.microservice.account.constants.AccountStatus;
+import com.microservice.account.entity.Account;
+import com.microservice.account.repository.AccountRepository;
+import com.microservice.benchmarks.support.ServiceContext;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the account lookup endpoint over HTTP, with Tomcat on platform threads and on virtual threads.
+ * <p>
+ * 200, 2 thousand or 20 thousand concurrent clients call {@code GET /api/accounts/fetch} against a Tomcat limited to
+ * 16 worker threads, so with platform threads requests queue for a worker while those on virtual threads only wait
+ * for a database connection. JMH threads do not scale to that many clients, so every invocation starts one virtual
+ * thread per client, each sending one request, and waits for all of them; the {@code requests} counter gives the
+ * requests per second. Run with {@code -prof gc} to compare the allocation per request as well.
+ * <p>
+ * Every client holds a connection, so 20 thousand clients need a file descriptor limit above that ({@code ulimit -n}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int ACCOUNTS = 1_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"200", "2000", "20000"})
+    public int clients;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private List<URI> accountUris;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContext.start(AccountServiceApplication.class, "accounts", Map.of(
+                "spring.main.web-application-type", "servlet",
+                "spring.threads.virtual.enabled", virtualThreads,
+                "server.port", 0,
+                "server.tomcat.threads.max", 16,
+                "server.tomcat.max-connections", clients + 100,
+                "server.tomcat.accept-count", clients));
+
+        AccountNumberAllocator accountNumberAllocator = context.getBean(AccountNumberAllocator.class);
+        List<Account> accounts = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(Account.builder()
+                    .accountNumber(accountNumberAllocator.nextAccountNumber())
+                    .customerId("load-" + i)
+                    .accountType("Savings")
+                    .branch("Kolkata")
+                    .balance(new BigDecimal("1000.00"))
+                    .currency("Rupees")
+                    .status(AccountStatus.ACTIVE.name())
+                    .build());
+        }
+        context.getBean(AccountRepository.class).saveAll(accounts);
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        accountUris = accounts.stream()
+                .map(account -> URI.create(baseUrl + "/api/accounts/fetch?accNumber=" + account.getAccountNumber()))
+                .toList();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    /**
+     * Completed requests, reported by JMH as a throughput next to the invocations.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Requests {
+
+        public long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+        }
+    }
+
+    @Benchmark
+    public void fetchAccounts(Requests requests) throws InterruptedException, ExecutionException {
+        List<Future<Integer>> responses = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                responses.add(executor.submit(this::fetchAccount));
+            }
+        }
+        for (Future<Integer> response : responses) {
+            response.get();
+        }
+        requests.requests += clients;
+    }
+
+    private int fetchAccount() throws IOException, InterruptedException {
+        URI uri = accountUris.get(ThreadLocalRandom.current().nextInt(accountUris.size()));
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " from " + uri);
+        }
+        return response.body().length;
+    }
+}
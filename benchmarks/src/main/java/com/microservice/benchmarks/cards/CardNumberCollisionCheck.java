@@ -0,0 +1,74 @@
+package com.microservice.benchmarks.cards;
+
+import com.microservice.benchmarks.support.ServiceContext;
+import com.microservice.cards.CardsApplication;
+import com.microservice.cards.generator.CardNumberGenerator;
+import com.microservice.cards.generator.LuhnCheckDigit;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates card numbers of one BIN from several threads and fails on the first duplicate, malformed number
+ * or wrong check digit.
+ * <p>
+ * Numbers are recorded in a bit set over the account identifier space of the BIN, 125 MB for a 6 digit BIN.
+ * Usage: {@code CardNumberCollisionCheck [count] [threads]}, 100 million numbers on 8 threads by default.
+ */
+public final class CardNumberCollisionCheck {
+
+    private static final String BIN = "412345";
+
+    private CardNumberCollisionCheck() {
+//        Restrict Initiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        long count = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        try (ConfigurableApplicationContext context = ServiceContext.start(CardsApplication.class, "cards",
+                Map.of("cards.number-generator.block-size", 100_000));
+             ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            CardNumberGenerator cardNumberGenerator = context.getBean(CardNumberGenerator.class);
+            BitSet seen = new BitSet(1_000_000_000);
+            long startNanos = System.nanoTime();
+
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                long share = count / threads + (t < count % threads ? 1 : 0);
+                workers.add(executor.submit(() -> {
+                    for (long i = 0; i < share; i++) {
+                        record(seen, cardNumberGenerator.nextCardNumber(BIN));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            System.out.printf("%d card numbers of BIN %s in %d ms, no collisions%n", count, BIN, elapsedMillis);
+        }
+    }
+
+    private static void record(BitSet seen, String cardNumber) {
+        if (cardNumber.length() != 16 || !cardNumber.startsWith(BIN) || !LuhnCheckDigit.isValid(Long.parseLong(cardNumber))) {
+            throw new IllegalStateException("Malformed card number " + cardNumber);
+        }
+        int identifier = Integer.parseInt(cardNumber, BIN.length(), cardNumber.length() - 1, 10);
+        synchronized (seen) {
+            if (seen.get(identifier)) {
+                throw new IllegalStateException("Collision on card number " + cardNumber);
+            }
+            seen.set(identifier);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.microservice.benchmarks.cards;
+
+import com.microservice.benchmarks.support.ServiceContext;
+import com.microservice.cards.CardsApplication;
+import com.microservice.cards.generator.CardNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card number generation throughput, single threaded and with concurrent callers.
+ * <p>
+ * {@code blockSize} decides how often a block is leased from the sequence table, the only database access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardNumberGeneratorBenchmark {
+
+    @Param({"1000", "100000"})
+    public int blockSize;
+
+    @Param({"412345", "53511042"})
+    public String bin;
+
+    private ConfigurableApplicationContext context;
+    private CardNumberGenerator cardNumberGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContext.start(CardsApplication.class, "cards",
+                Map.of("cards.number-generator.block-size", blockSize));
+        cardNumberGenerator = context.getBean(CardNumberGenerator.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generate() {
+        return cardNumberGenerator.nextCardNumber(bin);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateConcurrently() {
+        return cardNumberGenerator.nextCardNumber(bin);
+    }
+}
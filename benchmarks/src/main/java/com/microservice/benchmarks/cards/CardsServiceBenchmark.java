@@ -0,0 +1,99 @@
+package com.microservice.benchmarks.cards;
+
+import com.microservice.benchmarks.support.ServiceContext;
+import com.microservice.benchmarks.support.StubServer;
+import com.microservice.benchmarks.support.Stubs;
+import com.microservice.cards.CardsApplication;
+import com.microservice.cards.constants.CardsConstants;
+import com.microservice.cards.dto.CardsDto;
+import com.microservice.cards.dto.CardsPageDto;
+import com.microservice.cards.service.ICardsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Card issuing and lookup of card service on H2, with customer-service stubbed.
+ * <p>
+ * {@link #createCard} covers the private {@code createNewCard}: card number generation, the duplicate check
+ * and the insert, each call for a new customer. {@link #issueVirtualCard} adds cards to a single customer, and
+ * {@link #cardsPage} pages through a customer holding {@code VIRTUAL_CARDS} cards, both stay on the
+ * (customer_id, card_id) index however many cards the customer has.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CardsServiceBenchmark {
+
+    private static final int SEEDED_CARDS = 10_000;
+    private static final int VIRTUAL_CARDS = 10_000;
+    private static final String VIRTUAL_CARD_HOLDER = "virtual-card-holder";
+
+    private final AtomicLong customerIds = new AtomicLong();
+
+    private StubServer customerService;
+    private ConfigurableApplicationContext context;
+    private ICardsService cardsService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        customerService = Stubs.customerService(StubServer.start());
+        context = ServiceContext.start(CardsApplication.class, "cards",
+                Map.of("external.api.customer-service.url", customerService.url()));
+        cardsService = context.getBean(ICardsService.class);
+        for (int i = 0; i < SEEDED_CARDS; i++) {
+            cardsService.createCard(seededCustomerId(i), CardsConstants.CREDIT_CARD);
+        }
+        for (int i = 0; i < VIRTUAL_CARDS; i++) {
+            cardsService.createCard(VIRTUAL_CARD_HOLDER, CardsConstants.VIRTUAL_CARD);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        customerService.close();
+    }
+
+    @Benchmark
+    public void createCard() {
+        cardsService.createCard("benchmark-" + customerIds.incrementAndGet(), CardsConstants.CREDIT_CARD);
+    }
+
+    @Benchmark
+    public void issueVirtualCard() {
+        cardsService.createCard(VIRTUAL_CARD_HOLDER, CardsConstants.VIRTUAL_CARD);
+    }
+
+    @Benchmark
+    public CardsPageDto cardsPage() {
+        return cardsService.getCards(VIRTUAL_CARD_HOLDER, (long) SEEDED_CARDS + ThreadLocalRandom.current().nextInt(VIRTUAL_CARDS), 20);
+    }
+
+    @Benchmark
+    public CardsDto fetchCard() {
+        return cardsService.fetchCard(seededCustomerId(ThreadLocalRandom.current().nextInt(SEEDED_CARDS)));
+    }
+
+    private static String seededCustomerId(int i) {
+        return "seeded-" + i;
+    }
+}
@@ -0,0 +1,221 @@
+package com.microservice.benchmarks.customer;
+
+import com.microservice.benchmarks.support.ServiceContext;
+import com.microservice.customer.CustomerServiceApplication;
+import com.microservice.customer.dto.AddressDto;
+import com.microservice.customer.entity.Address;
+import com.microservice.customer.entity.Customer;
+import com.microservice.customer.mapper.AddressMapper;
+import com.microservice.customer.repository.AddressRepository;
+import com.microservice.customer.repository.CustomerRepository;
+import com.microservice.customer.service.IAddressService;
+import com.microservice.customer.service.ICustomerService;
+import com.mongodb.DBRef;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Address operations on customers with 1, 5 or 50 addresses each, before and after embedding them.
+ * <p>
+ * The {@code legacy*} benchmarks run on customers stored as before the embedding: the addresses in the
+ * {@code Addresses} collection, referenced from the customer by {@code @DBRef}. {@link #legacyGetAddresses} loads
+ * the customer and resolves its references, {@link #legacyCreateAddress} inserts the address and saves the whole
+ * customer with its references. The migration job is disabled so that they stay that way.
+ * <p>
+ * On embedded addresses, {@link #saveCustomer} adds an address by reading the whole customer and saving it back.
+ * {@link #createAddress}, {@link #updateAddress} and {@link #deleteAddress} are the single {@code $push}, positional
+ * {@code $set} and {@code $pull}, {@link #replaceAddresses} rewrites all the addresses of a customer in one write.
+ * <p>
+ * Every benchmark leaves the customers with the addresses they were seeded with, so all of them measure the same size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AddressBenchmark {
+
+    private static final int CUSTOMERS = 100;
+
+    @Param({"1", "5", "50"})
+    public int addresses;
+
+    private ConfigurableApplicationContext context;
+    private ICustomerService customerService;
+    private IAddressService addressService;
+    private CustomerRepository customerRepository;
+    private AddressRepository addressRepository;
+    private MongoTemplate mongoTemplate;
+    private List<String> customerIds;
+    private List<String> legacyCustomerIds;
+    private final Map<String, List<AddressDto>> seededAddresses = new HashMap<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContext.start(CustomerServiceApplication.class, "customers",
+                Map.of("customer.address-migration.enabled", false));
+        customerService = context.getBean(ICustomerService.class);
+        addressService = context.getBean(IAddressService.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        addressRepository = context.getBean(AddressRepository.class);
+        mongoTemplate = context.getBean(MongoTemplate.class);
+
+        customerIds = Customers.seed(customerService, addressService, 0, CUSTOMERS, addresses);
+        customerIds.forEach(customerId -> seededAddresses.put(customerId, addressService.getAddressByCustomerId(customerId)));
+
+        legacyCustomerIds = Customers.seed(customerService, addressService, CUSTOMERS, CUSTOMERS, 0);
+        for (String customerId : legacyCustomerIds) {
+            List<DBRef> references = addressRepository.saveAll(Customers.addresses(addresses).stream()
+                            .map(address -> AddressMapper.mapToAddress(address, new Address()))
+                            .toList())
+                    .stream()
+                    .map(address -> new DBRef("Addresses", new ObjectId(address.getId())))
+                    .toList();
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(new ObjectId(customerId))),
+                    new Update().set("address", references).unset("addresses"), "Customers");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Address> legacyGetAddresses() {
+        Customer customer = customerRepository.findById(random(legacyCustomerIds)).orElseThrow();
+        return List.copyOf(customer.getLegacyAddress());
+    }
+
+    @Benchmark
+    public Customer legacyCreateAddress(LegacyAddedAddress added) {
+        Customer customer = customerRepository.findById(added.customerId).orElseThrow();
+        Address address = addressRepository.save(AddressMapper.mapToAddress(Customers.address(addresses), new Address()));
+        customer.getLegacyAddress().add(address);
+        return customerRepository.save(customer);
+    }
+
+    @Benchmark
+    public Customer saveCustomer(AddedAddress added) {
+        Customer customer = customerRepository.findById(added.customerId).orElseThrow();
+        customer.addAddress(AddressMapper.newAddress(Customers.address(addresses)));
+        return customerRepository.save(customer);
+    }
+
+    @Benchmark
+    public void createAddress(AddedAddress added) {
+        addressService.createAddress(added.customerId, Customers.address(addresses));
+    }
+
+    @Benchmark
+    public boolean updateAddress() {
+        List<AddressDto> customerAddresses = seededAddresses.get(random(customerIds));
+        AddressDto address = customerAddresses.get(ThreadLocalRandom.current().nextInt(customerAddresses.size()));
+        return addressService.updateAddress(address.getId(), AddressDto.builder().zip(address.getZip()).build());
+    }
+
+    @Benchmark
+    public boolean deleteAddress(AddressToDelete address) {
+        return addressService.deleteAddress(address.customerId, address.addressId);
+    }
+
+    @Benchmark
+    public List<AddressDto> replaceAddresses() {
+        String customerId = random(customerIds);
+        return addressService.replaceAddresses(customerId, seededAddresses.get(customerId));
+    }
+
+    @Benchmark
+    public List<AddressDto> getAddressByCustomerId() {
+        return addressService.getAddressByCustomerId(random(customerIds));
+    }
+
+    /**
+     * A customer that gets an extra address, removed again after every call.
+     */
+    @State(Scope.Thread)
+    public static class AddedAddress {
+
+        private AddressBenchmark benchmark;
+        private String customerId;
+
+        @Setup(Level.Invocation)
+        public void pick(AddressBenchmark benchmark) {
+            this.benchmark = benchmark;
+            customerId = random(benchmark.customerIds);
+        }
+
+        @TearDown(Level.Invocation)
+        public void remove() {
+            benchmark.addressService.replaceAddresses(customerId, benchmark.seededAddresses.get(customerId));
+        }
+    }
+
+    /**
+     * A legacy customer that gets an extra address reference, removed again after every call.
+     */
+    @State(Scope.Thread)
+    public static class LegacyAddedAddress {
+
+        private AddressBenchmark benchmark;
+        private String customerId;
+
+        @Setup(Level.Invocation)
+        public void pick(AddressBenchmark benchmark) {
+            this.benchmark = benchmark;
+            customerId = random(benchmark.legacyCustomerIds);
+        }
+
+        @TearDown(Level.Invocation)
+        public void remove() {
+            benchmark.mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(new ObjectId(customerId))),
+                    new Update().pop("address", Update.Position.LAST), "Customers");
+        }
+    }
+
+    /**
+     * An extra address on a customer, added before every {@link #deleteAddress} call.
+     */
+    @State(Scope.Thread)
+    public static class AddressToDelete {
+
+        private String customerId;
+        private String addressId;
+
+        @Setup(Level.Invocation)
+        public void add(AddressBenchmark benchmark) {
+            customerId = random(benchmark.customerIds);
+            benchmark.addressService.createAddress(customerId, Customers.address(benchmark.addresses));
+            List<AddressDto> customerAddresses = benchmark.addressService.getAddressByCustomerId(customerId);
+            addressId = customerAddresses.get(customerAddresses.size() - 1).getId();
+        }
+    }
+
+    private static String random(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
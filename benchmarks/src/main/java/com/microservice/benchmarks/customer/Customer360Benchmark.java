@@ -0,0 +1,109 @@
+package com.microservice.benchmarks.customer;
+
+import com.microservice.benchmarks.support.ServiceContext;
+import com.microservice.benchmarks.support.StubServer;
+import com.microservice.customer.CustomerServiceApplication;
+import com.microservice.customer.dto.Customer360Dto;
+import com.microservice.customer.external.AccountService;
+import com.microservice.customer.external.CardService;
+import com.microservice.customer.external.LoanService;
+import com.microservice.customer.service.IAddressService;
+import com.microservice.customer.service.ICustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the customer 360 view with account, loan and card service stubbed, each answering after
+ * {@code latencyMillis}.
+ * <p>
+ * {@link #sequentialCalls} makes the same three Feign calls one after another, the way the view would be
+ * built without the concurrent fan-out of {@code Customer360Aggregator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class Customer360Benchmark {
+
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"0", "20"})
+    public long latencyMillis;
+
+    private StubServer downstream;
+    private ConfigurableApplicationContext context;
+    private ICustomerService customerService;
+    private AccountService accountService;
+    private LoanService loanService;
+    private CardService cardService;
+    private List<String> customerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Duration latency = Duration.ofMillis(latencyMillis);
+        downstream = StubServer.start()
+                .route("/api/accounts/customers/", latency, exchange -> List.of(
+                        Map.of("accountNumber", "1234567890", "accountType", "Savings", "branch", "Kolkata", "status", "ACTIVE"),
+                        Map.of("accountNumber", "1234567891", "accountType", "Current", "branch", "Kolkata", "status", "ACTIVE")))
+                .route("/api/loans/customer/", latency, exchange -> List.of(
+                        Map.of("loanId", 1, "loanType", "HOME", "loanAmount", 2500000.0, "loanStatus", "ACTIVE",
+                                "emi", 21950.0, "outstandingAmount", 2400000.0, "repaymentDueDate", LocalDate.now().plusMonths(1))))
+                .route("/api/cards", latency, exchange -> Map.of("limit", 100, "cards", List.of(
+                        Map.of("cardNumber", "100000000001", "cardType", "Credit Card", "totalLimit", 100000, "amountUsed", 0, "availableAmount", 100000))));
+        context = ServiceContext.start(CustomerServiceApplication.class, "customers", Map.of(
+                "external.api.account-service.url", downstream.url(),
+                "external.api.loan-service.url", downstream.url(),
+                "external.api.card-service.url", downstream.url()));
+        customerService = context.getBean(ICustomerService.class);
+        accountService = context.getBean(AccountService.class);
+        loanService = context.getBean(LoanService.class);
+        cardService = context.getBean(CardService.class);
+        customerIds = Customers.seed(customerService, context.getBean(IAddressService.class), 0, CUSTOMERS, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        downstream.close();
+    }
+
+    @Benchmark
+    public Customer360Dto customer360() {
+        return customerService.getCustomer360(randomCustomerId());
+    }
+
+    @Benchmark
+    public void sequentialCalls(Blackhole blackhole) {
+        String customerId = randomCustomerId();
+        blackhole.consume(customerService.getCustomer(customerId));
+        blackhole.consume(accountService.getAccounts(customerId));
+        blackhole.consume(loanService.getLoansByCustomerId(customerId));
+        blackhole.consume(cardService.getCards(customerId, null, 100));
+    }
+
+    private String randomCustomerId() {
+        return customerIds.get(ThreadLocalRandom.current().nextInt(customerIds.size()));
+    }
+}
@@ -0,0 +1,168 @@
+package com.microservice.benchmarks.customer;
+
+import com.microservice.benchmarks.support.ServiceContext;
+import com.microservice.customer.CustomerServiceApplication;
+import com.microservice.customer.dto.AddressDto;
+import com.microservice.customer.dto.CustomerDto;
+import com.microservice.customer.dto.CustomerPageDto;
+import com.microservice.customer.filter.CustomerIdFilter;
+import com.microservice.customer.service.IAddressService;
+import com.microservice.customer.service.ICustomerService;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hot paths of customer service on an embedded MongoDB.
+ * <p>
+ * Reported as latency distributions, so the JSON results carry the p99 and p99.9 of every operation,
+ * the address operations on the embedded address array included.
+ * <p>
+ * The customer id filter is rebuilt after seeding, so existence checks of seeded and of never created ids both
+ * go through it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerServiceBenchmark {
+
+    private static final int ADDRESSES_PER_CUSTOMER = 3;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "10000"})
+    public int customers;
+
+    private final AtomicLong customerNumbers = new AtomicLong(1_000_000);
+
+    private ConfigurableApplicationContext context;
+    private ICustomerService customerService;
+    private IAddressService addressService;
+    private List<String> customerIds;
+    private List<String> addressCustomerIds;
+    private List<String> missingCustomerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContext.start(CustomerServiceApplication.class, "customers", Map.of());
+        customerService = context.getBean(ICustomerService.class);
+        addressService = context.getBean(IAddressService.class);
+        customerIds = Customers.seed(customerService, addressService, 0, customers, ADDRESSES_PER_CUSTOMER);
+        addressCustomerIds = Customers.seed(customerService, addressService, customers, customers, 0);
+        missingCustomerIds = new ArrayList<>();
+        Date createdBefore = Date.from(Instant.now().minus(Duration.ofHours(1)));
+        for (int i = 0; i < 1_000; i++) {
+            missingCustomerIds.add(new ObjectId(createdBefore).toHexString());
+        }
+        context.getBean(CustomerIdFilter.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void createCustomer() {
+        customerService.createCustomer(Customers.customer(customerNumbers.incrementAndGet()));
+    }
+
+    @Benchmark
+    public CustomerDto getCustomer() {
+        return customerService.getCustomer(random(customerIds));
+    }
+
+    @Benchmark
+    public boolean customerExists() {
+        return customerService.isCustomerExist(random(customerIds));
+    }
+
+    /**
+     * Ids that were never created, answered by the id filter except for its false positives.
+     */
+    @Benchmark
+    public boolean customerMissing() {
+        return customerService.isCustomerExist(random(missingCustomerIds));
+    }
+
+    @Benchmark
+    public CustomerPageDto getCustomersPage() {
+        return customerService.getCustomers(random(customerIds), PAGE_SIZE);
+    }
+
+    /**
+     * Walks every customer through the export cursor, the full export minus the serialisation.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void exportCustomers(Blackhole blackhole) {
+        customerService.streamCustomers(blackhole::consume);
+    }
+
+    /**
+     * Adds to customers kept apart from the read benchmarks, so that their address arrays stay at the seeded size.
+     */
+    @Benchmark
+    public void createAddress() {
+        addressService.createAddress(random(addressCustomerIds), Customers.address(ThreadLocalRandom.current().nextLong(1_000)));
+    }
+
+    @Benchmark
+    public List<AddressDto> getAddressByCustomerId() {
+        return addressService.getAddressByCustomerId(random(customerIds));
+    }
+
+    /**
+     * Only the synchronous part of the deletion, the purge saga is disabled in the benchmark configuration.
+     */
+    @Benchmark
+    public boolean deleteCustomer(CustomerToDelete customer) {
+        return customerService.deleteCustomer(customer.customerId);
+    }
+
+    /**
+     * A fresh customer for every {@link #deleteCustomer} call.
+     */
+    @State(Scope.Thread)
+    public static class CustomerToDelete {
+
+        private String customerId;
+
+        @Setup(Level.Invocation)
+        public void create(CustomerServiceBenchmark benchmark) {
+            CustomerDto customer = Customers.customer(benchmark.customerNumbers.incrementAndGet());
+            benchmark.customerService.createCustomer(customer);
+            customerId = benchmark.customerService.getCustomerByEmail(customer.getEmail()).getId();
+        }
+    }
+
+    private static String random(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.microservice.benchmarks.customer;
+
+import com.microservice.benchmarks.support.ServiceContext;
+import com.microservice.customer.CustomerServiceApplication;
+import com.microservice.customer.dto.CustomerDto;
+import com.microservice.customer.dto.CustomerSignupResultDto;
+import com.microservice.customer.entity.Customer;
+import com.microservice.customer.exception.CustomerAlreadyExistException;
+import com.microservice.customer.mapper.CustomerMapper;
+import com.microservice.customer.repository.CustomerRepository;
+import com.microservice.customer.service.ICustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test of customer signup with 8 concurrent clients, in customers created per second.
+ * <p>
+ * {@link #findThenInsert} is the signup as it was before relying on the unique indexes: a lookup by email or
+ * phone followed by the insert. {@link #createCustomer} is the single insert, {@link #createCustomers} the
+ * unordered batch insert of {@value #BATCH_SIZE} customers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(8)
+public class CustomerSignupBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final AtomicLong customerNumbers = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private ICustomerService customerService;
+    private CustomerRepository customerRepository;
+    private CustomerMapper customerMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContext.start(CustomerServiceApplication.class, "customers", Map.of());
+        customerService = context.getBean(ICustomerService.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        customerMapper = context.getBean(CustomerMapper.class);
+        customerService.createCustomer(Customers.customer(customerNumbers.incrementAndGet()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Customer findThenInsert() {
+        CustomerDto customerDto = Customers.customer(customerNumbers.incrementAndGet());
+        if (customerRepository.findCustomerByEmailOrPhone(customerDto.getEmail(), customerDto.getPhone()).isPresent()) {
+            throw new CustomerAlreadyExistException("Customer with email or phone already exists");
+        }
+        return customerRepository.insert(customerMapper.dtoToCustomer(customerDto, new Customer()));
+    }
+
+    @Benchmark
+    public void createCustomer() {
+        customerService.createCustomer(Customers.customer(customerNumbers.incrementAndGet()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<CustomerSignupResultDto> createCustomers() {
+        List<CustomerDto> customers = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            customers.add(Customers.customer(customerNumbers.incrementAndGet()));
+        }
+        return customerService.createCustomers(customers);
+    }
+
+    /**
+     * A signup that always collides with the first customer, the cost of the rejected path.
+     */
+    @Benchmark
+    public boolean duplicateSignup() {
+        try {
+            customerService.createCustomer(Customers.customer(1));
+            return false;
+        } catch (CustomerAlreadyExistException e) {
+            return true;
+        }
+    }
+}
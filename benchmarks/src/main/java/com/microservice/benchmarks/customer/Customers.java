@@ -0,0 +1,71 @@
+package com.microservice.benchmarks.customer;
+
+import com.microservice.customer.dto.AddressDto;
+import com.microservice.customer.dto.CustomerDto;
+import com.microservice.customer.service.IAddressService;
+import com.microservice.customer.service.ICustomerService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds customers for the customer service benchmarks.
+ */
+final class Customers {
+
+    private Customers() {
+//        Restrict Initiation
+    }
+
+    /**
+     * A valid customer, email and phone derived from the number so that they are unique.
+     */
+    static CustomerDto customer(long number) {
+        return CustomerDto.builder()
+                .firstName("Bench")
+                .lastName("Mark")
+                .email("customer" + number + "@example.com")
+                .phone(String.valueOf(9_000_000_000L + number))
+                .dateOfBirth("15/08/1990")
+                .gender("OTHERS")
+                .address(new ArrayList<>())
+                .build();
+    }
+
+    static AddressDto address(long number) {
+        return AddressDto.builder()
+                .city("Kolkata")
+                .state("West Bengal")
+                .zip(String.valueOf(700_000 + number % 1_000))
+                .country("India")
+                .build();
+    }
+
+    static List<AddressDto> addresses(int count) {
+        List<AddressDto> addresses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            addresses.add(address(i));
+        }
+        return addresses;
+    }
+
+    /**
+     * Create the customers, each with the given number of addresses.
+     *
+     * @return the ids of the created customers
+     */
+    static List<String> seed(ICustomerService customerService, IAddressService addressService,
+                             long firstNumber, int customers, int addressesPerCustomer) {
+        List<String> customerIds = new ArrayList<>(customers);
+        for (long number = firstNumber; number < firstNumber + customers; number++) {
+            CustomerDto customer = customer(number);
+            customerService.createCustomer(customer);
+            String customerId = customerService.getCustomerByEmail(customer.getEmail()).getId();
+            if (addressesPerCustomer > 0) {
+                addressService.replaceAddresses(customerId, addresses(addressesPerCustomer));
+            }
+            customerIds.add(customerId);
+        }
+        return customerIds;
+    }
+}
@@ -0,0 +1,120 @@
+package com.microservice.benchmarks.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.benchmarks.support.Samples;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization and deserialization of every DTO of the services, with the object mapper Spring Boot
+ * configures for them. A DTO added to a service should be added to {@link #dto} as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({
+            "com.microservice.account.dto.AccountBalanceDto",
+            "com.microservice.account.dto.AccountDto",
+            "com.microservice.account.dto.AccountKey",
+            "com.microservice.account.dto.AccountPageDto",
+            "com.microservice.account.dto.AccountSnapshot",
+            "com.microservice.account.dto.AccountStatusDto",
+            "com.microservice.account.dto.AccountSummaryDto",
+            "com.microservice.account.dto.AccountsContactInfo",
+            "com.microservice.account.dto.BalanceUpdateDto",
+            "com.microservice.account.dto.BulkAccountRequestDto",
+            "com.microservice.account.dto.BulkAccountResultDto",
+            "com.microservice.account.dto.CustomerDto",
+            "com.microservice.account.dto.ErrorResponseDto",
+            "com.microservice.account.dto.ResponseDto",
+            "com.microservice.account.dto.TransferDto",
+            "com.microservice.cards.dto.AuthorizationDto",
+            "com.microservice.cards.dto.AuthorizationRequestDto",
+            "com.microservice.cards.dto.CaptureRequestDto",
+            "com.microservice.cards.dto.CardsContactInfo",
+            "com.microservice.cards.dto.CardsDto",
+            "com.microservice.cards.dto.CardsPageDto",
+            "com.microservice.cards.dto.CustomerDto",
+            "com.microservice.cards.dto.ErrorResponseDto",
+            "com.microservice.cards.dto.ResponseDto",
+            "com.microservice.customer.dto.AddressDto",
+            "com.microservice.customer.dto.Customer360Dto",
+            "com.microservice.customer.dto.CustomerDeletionDto",
+            "com.microservice.customer.dto.CustomerDeletionReportDto",
+            "com.microservice.customer.dto.CustomerDeletionStepDto",
+            "com.microservice.customer.dto.CustomerDto",
+            "com.microservice.customer.dto.CustomerPageDto",
+            "com.microservice.customer.dto.CustomerSignupResultDto",
+            "com.microservice.customer.dto.CustomerSummaryDto",
+            "com.microservice.customer.dto.CustomerUpdateDto",
+            "com.microservice.customer.dto.CustomersContactInfo",
+            "com.microservice.customer.dto.ErrorResponseDto",
+            "com.microservice.customer.dto.ResponseDto",
+            "com.microservice.customer.dto.external.AccountDto",
+            "com.microservice.customer.dto.external.CardDto",
+            "com.microservice.customer.dto.external.LoanDto",
+            "com.microservice.loan.dto.ErrorResponseDto",
+            "com.microservice.loan.dto.LoanPaymentStatusDto",
+            "com.microservice.loan.dto.LoanRequestDto",
+            "com.microservice.loan.dto.LoanResponseDto",
+            "com.microservice.loan.dto.LoanStatusUpdateRequestDto",
+            "com.microservice.loan.dto.LoanSummaryDto",
+            "com.microservice.loan.dto.LoansContactInfo",
+            "com.microservice.loan.dto.RepaymentInstallmentDto",
+            "com.microservice.loan.dto.ResponseDto",
+            "com.microservice.loan.dto.external.CustomerDto",
+            "com.microservice.loan.dto.external.LoanPaymentRequestDto",
+            "com.microservice.loan.dto.external.LoanPaymentResponseDto",
+            "com.microservice.transaction.dto.AccountsContactInfo",
+            "com.microservice.transaction.dto.ErrorResponseDto",
+            "com.microservice.transaction.dto.LedgerEntryDto",
+            "com.microservice.transaction.dto.ResponseDto",
+            "com.microservice.transaction.dto.TransactionDto",
+            "com.microservice.transaction.dto.TransactionRequestDto"
+    })
+    public String dto;
+
+    private ObjectMapper objectMapper;
+    private Class<?> type;
+    private Object sample;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(JacksonAutoConfiguration.class)) {
+            objectMapper = context.getBean(ObjectMapper.class);
+        }
+        type = Class.forName(dto);
+        sample = Samples.of(type);
+        json = objectMapper.writeValueAsBytes(sample);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(sample);
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return objectMapper.readValue(json, type);
+    }
+}
@@ -0,0 +1,69 @@
+package com.microservice.benchmarks.loan;
+
+import com.microservice.loan.service.AmortizationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EMI calculation of {@code LoanServiceImpl.createLoan}, done by {@link AmortizationEngine} since it replaced
+ * the private {@code calculateEmi}, and generation of full repayment schedules.
+ * <p>
+ * {@code factorCacheSize = 0} disables the annuity factor cache, so every call pays for the
+ * {@code DECIMAL128} power and division. {@link #doubleEmi} is the former floating point formula, as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmortizationBenchmark {
+
+    @Param({"0", "10000"})
+    public int factorCacheSize;
+
+    @Param({"12", "60", "360"})
+    public int months;
+
+    private final BigDecimal principal = new BigDecimal("2500000");
+    private final BigDecimal annualRatePercent = new BigDecimal("8.65");
+    private final LocalDate startDate = LocalDate.of(2024, 1, 1);
+
+    private AmortizationEngine amortizationEngine;
+
+    @Setup
+    public void setUp() {
+        amortizationEngine = new AmortizationEngine(factorCacheSize);
+    }
+
+    @Benchmark
+    public BigDecimal emi() {
+        return amortizationEngine.emi(principal, annualRatePercent, months);
+    }
+
+    @Benchmark
+    public void schedule(Blackhole blackhole) {
+        amortizationEngine.schedule(principal, annualRatePercent, months, startDate).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public double doubleEmi() {
+        double monthlyInterestRate = annualRatePercent.doubleValue() / 12 / 100;
+        double growth = Math.pow(1 + monthlyInterestRate, months);
+        return principal.doubleValue() * monthlyInterestRate * growth / (growth - 1);
+    }
+}
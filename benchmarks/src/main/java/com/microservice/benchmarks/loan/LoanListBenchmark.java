@@ -0,0 +1,107 @@
+package com.microservice.benchmarks.loan;
+
+import com.microservice.benchmarks.support.ServiceContext;
+import com.microservice.loan.LoanServiceApplication;
+import com.microservice.loan.constants.LoanStatus;
+import com.microservice.loan.dto.LoanResponseDto;
+import com.microservice.loan.dto.LoanSummaryDto;
+import com.microservice.loan.mapper.LoanMapper;
+import com.microservice.loan.model.Loan;
+import com.microservice.loan.repository.LoanRepository;
+import com.microservice.loan.service.ILoanService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loan list endpoints on H2, the record projections against loading and mapping the entities.
+ * <p>
+ * Run with {@code -prof gc}: {@code gc.alloc.rate.norm} is the allocation per listing, the figure the
+ * projections are meant to bring down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoanListBenchmark {
+
+    private static final int LOANS_PER_CUSTOMER = 4;
+
+    @Param({"1000", "10000"})
+    public int loans;
+
+    private ConfigurableApplicationContext context;
+    private ILoanService loanService;
+    private LoanRepository loanRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContext.start(LoanServiceApplication.class, "loans", Map.of());
+        loanService = context.getBean(ILoanService.class);
+        loanRepository = context.getBean(LoanRepository.class);
+
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        List<Loan> seeded = new ArrayList<>(loans);
+        for (int i = 0; i < loans; i++) {
+            seeded.add(Loan.builder()
+                    .customerId(customerId(i / LOANS_PER_CUSTOMER))
+                    .loanType("HOME")
+                    .loanAmount(2_500_000)
+                    .interestRate(8.65)
+                    .loanStatus(LoanStatus.ACTIVE)
+                    .loanDuration(240)
+                    .startDate(startDate)
+                    .emi(21_950.25)
+                    .outstandingAmount(2_500_000)
+                    .repaymentDueDate(startDate.plusMonths(1))
+                    .build());
+        }
+        loanRepository.saveAll(seeded);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<LoanSummaryDto> allLoans() {
+        return loanService.getAllLoans();
+    }
+
+    @Benchmark
+    public List<LoanResponseDto> allLoansMappedFromEntities() {
+        return loanRepository.findAll().stream()
+                .map(loan -> LoanMapper.mapToLoanResponseDto(loan, new LoanResponseDto()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<LoanSummaryDto> loansOfCustomer() {
+        return loanService.getLoansByCustomerId(customerId(ThreadLocalRandom.current().nextInt(loans / LOANS_PER_CUSTOMER)));
+    }
+
+    private static String customerId(int i) {
+        return "customer-" + i;
+    }
+}
@@ -0,0 +1,154 @@
+package com.microservice.benchmarks.mapper;
+
+import com.microservice.account.dto.AccountDto;
+import com.microservice.account.entity.Account;
+import com.microservice.account.mapper.AccountsMapper;
+import com.microservice.benchmarks.support.Samples;
+import com.microservice.cards.dto.CardsDto;
+import com.microservice.cards.entity.Cards;
+import com.microservice.cards.mapper.CardsMapper;
+import com.microservice.customer.dto.AddressDto;
+import com.microservice.customer.dto.CustomerDto;
+import com.microservice.customer.entity.Address;
+import com.microservice.customer.entity.Customer;
+import com.microservice.customer.mapper.AddressMapper;
+import com.microservice.customer.mapper.CustomerMapper;
+import com.microservice.loan.dto.LoanPaymentStatusDto;
+import com.microservice.loan.dto.LoanRequestDto;
+import com.microservice.loan.dto.LoanResponseDto;
+import com.microservice.loan.dto.external.LoanPaymentRequestDto;
+import com.microservice.loan.mapper.LoanMapper;
+import com.microservice.loan.mapper.LoanPaymentMapper;
+import com.microservice.loan.model.Loan;
+import com.microservice.loan.model.LoanPayment;
+import com.microservice.transaction.dto.TransactionDto;
+import com.microservice.transaction.dto.TransactionRequestDto;
+import com.microservice.transaction.entity.Transaction;
+import com.microservice.transaction.mapper.TransactionMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every entity to DTO mapper and back, with fully populated samples.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final CustomerMapper customerMapper = new CustomerMapper();
+
+    private Account account;
+    private AccountDto accountDto;
+    private Loan loan;
+    private LoanRequestDto loanRequestDto;
+    private LoanPayment loanPayment;
+    private Cards cards;
+    private CardsDto cardsDto;
+    private Customer customer;
+    private CustomerDto customerDto;
+    private Address address;
+    private AddressDto addressDto;
+    private Transaction transaction;
+    private TransactionRequestDto transactionRequestDto;
+
+    @Setup
+    public void setUp() {
+        account = Samples.of(Account.class);
+        accountDto = Samples.of(AccountDto.class);
+        loan = Samples.of(Loan.class);
+        loanRequestDto = Samples.of(LoanRequestDto.class);
+        loanPayment = Samples.of(LoanPayment.class);
+        cards = Samples.of(Cards.class);
+        cardsDto = Samples.of(CardsDto.class);
+        customer = Samples.of(Customer.class);
+        customerDto = Samples.of(CustomerDto.class);
+        address = Samples.of(Address.class);
+        addressDto = Samples.of(AddressDto.class);
+        transaction = Samples.of(Transaction.class);
+        transactionRequestDto = Samples.of(TransactionRequestDto.class);
+    }
+
+    @Benchmark
+    public AccountDto accountToDto() {
+        return AccountsMapper.mapToAccountsDto(account, new AccountDto());
+    }
+
+    @Benchmark
+    public Account dtoToAccount() {
+        return AccountsMapper.mapToAccount(accountDto, new Account(), "insert");
+    }
+
+    @Benchmark
+    public LoanResponseDto loanToDto() {
+        return LoanMapper.mapToLoanResponseDto(loan, new LoanResponseDto());
+    }
+
+    @Benchmark
+    public Loan dtoToLoan() {
+        return LoanMapper.mapToLoan(loanRequestDto, new Loan());
+    }
+
+    @Benchmark
+    public LoanPaymentStatusDto loanPaymentToStatusDto() {
+        return LoanPaymentMapper.mapToLoanPaymentStatusDto(loanPayment, new LoanPaymentStatusDto());
+    }
+
+    @Benchmark
+    public LoanPaymentRequestDto loanPaymentToRequestDto() {
+        return LoanPaymentMapper.mapToLoanPaymentRequestDto(loanPayment, new LoanPaymentRequestDto());
+    }
+
+    @Benchmark
+    public CardsDto cardsToDto() {
+        return CardsMapper.mapToCardsDto(cards, new CardsDto());
+    }
+
+    @Benchmark
+    public Cards dtoToCards() {
+        return CardsMapper.mapToCards(cardsDto, new Cards());
+    }
+
+    @Benchmark
+    public CustomerDto customerToDto() {
+        return customerMapper.customerToDto(customer, new CustomerDto());
+    }
+
+    @Benchmark
+    public Customer dtoToCustomer() {
+        return customerMapper.dtoToCustomer(customerDto, new Customer());
+    }
+
+    @Benchmark
+    public AddressDto addressToDto() {
+        return AddressMapper.mapToAddressDto(address, new AddressDto());
+    }
+
+    @Benchmark
+    public Address dtoToAddress() {
+        return AddressMapper.newAddress(addressDto);
+    }
+
+    @Benchmark
+    public TransactionDto transactionToDto() {
+        return TransactionMapper.mapToTransactionDto(transaction, new TransactionDto());
+    }
+
+    @Benchmark
+    public Transaction dtoToTransaction() {
+        return TransactionMapper.mapToTransaction("1234567890", transactionRequestDto, new Transaction());
+    }
+}
@@ -0,0 +1,78 @@
+package com.microservice.benchmarks.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, typically the runs of two commits, and prints the change of every
+ * benchmark score and of its normalized allocation rate when the gc profiler was on.
+ * <p>
+ * Usage: {@code ResultDiff <base.json> <head.json>}
+ */
+public final class ResultDiff {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private ResultDiff() {
+//        Restrict Initiation
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ResultDiff <base.json> <head.json>");
+            System.exit(2);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> base = index(objectMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> head = index(objectMapper.readTree(new File(args[1])));
+
+        System.out.printf("%-90s %14s %14s %9s %12s%n", "Benchmark", "Base", "Head", "Change", "Alloc B/op");
+        Map<String, JsonNode> all = new TreeMap<>(base);
+        head.forEach(all::putIfAbsent);
+        all.keySet().forEach(key -> {
+            JsonNode before = base.get(key);
+            JsonNode after = head.get(key);
+            double beforeScore = score(before);
+            double afterScore = score(after);
+            String unit = (after != null ? after : before).path("primaryMetric").path("scoreUnit").asText();
+            System.out.printf("%-90s %14s %14s %9s %12s%n",
+                    key,
+                    before == null ? "-" : String.format("%.3f", beforeScore),
+                    after == null ? "-" : String.format("%.3f %s", afterScore, unit),
+                    before == null || after == null ? "" : String.format("%+.1f%%", (afterScore - beforeScore) / beforeScore * 100),
+                    allocation(before) + " -> " + allocation(after));
+        });
+    }
+
+    /**
+     * Key every result by benchmark, mode and parameters, so runs with several parameter sets line up.
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        results.forEach(result -> {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText())
+                    .append(" [").append(result.path("mode").asText()).append(']');
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            indexed.put(key.toString(), result);
+        });
+        return indexed;
+    }
+
+    private static double score(JsonNode result) {
+        return result == null ? Double.NaN : result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static String allocation(JsonNode result) {
+        if (result == null || !result.path("secondaryMetrics").has(ALLOCATION)) {
+            return "-";
+        }
+        return String.format("%.0f", result.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble());
+    }
+}
@@ -0,0 +1,141 @@
+package com.microservice.benchmarks.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds fully populated instances of DTOs and entities, so mapping and serialization benchmarks touch every
+ * field without a hand written fixture per class.
+ * <p>
+ * Strings are numeric so that mappers parsing account or card numbers accept them, collections get
+ * {@value #COLLECTION_SIZE} elements, and nesting stops after {@value #MAX_DEPTH} levels.
+ */
+public final class Samples {
+
+    private static final int COLLECTION_SIZE = 3;
+    private static final int MAX_DEPTH = 3;
+
+    private Samples() {
+//        Restrict Initiation
+    }
+
+    public static <T> T of(Class<T> type) {
+        return type.cast(value(type, type, 0));
+    }
+
+    private static Object value(Class<?> type, Type genericType, int depth) {
+        if (type == String.class) return "1234567890";
+        if (type == long.class || type == Long.class) return 1234567890L;
+        if (type == int.class || type == Integer.class) return 12;
+        if (type == double.class || type == Double.class) return 1234.5;
+        if (type == boolean.class || type == Boolean.class) return Boolean.TRUE;
+        if (type == BigDecimal.class) return new BigDecimal("1234.56");
+        if (type == LocalDate.class) return LocalDate.of(2024, 1, 1);
+        if (type == LocalDateTime.class) return LocalDateTime.of(2024, 1, 1, 10, 30);
+        if (type == Instant.class) return Instant.parse("2024-01-01T10:30:00Z");
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        if (depth >= MAX_DEPTH || type.isInterface() && !List.class.isAssignableFrom(type)
+                && !Set.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type)) {
+            return null;
+        }
+        if (List.class.isAssignableFrom(type) || Set.class.isAssignableFrom(type)) {
+            Class<?> elementType = typeArgument(genericType, 0);
+            Collection<Object> elements = List.class.isAssignableFrom(type) ? new ArrayList<>() : new HashSet<>();
+            for (int i = 0; elementType != null && i < COLLECTION_SIZE; i++) {
+                elements.add(value(elementType, elementType, depth + 1));
+            }
+            return elements;
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            Class<?> valueType = typeArgument(genericType, 1);
+            Map<Object, Object> map = new LinkedHashMap<>();
+            if (valueType != null) {
+                map.put("1234567890", value(valueType, valueType, depth + 1));
+            }
+            return map;
+        }
+        if (type.isRecord()) {
+            return record(type, depth);
+        }
+        if (type.getName().startsWith("java.")) {
+            return null;
+        }
+        return bean(type, depth);
+    }
+
+    private static Object record(Class<?> type, int depth) {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        Object[] arguments = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            parameterTypes[i] = components[i].getType();
+            arguments[i] = value(components[i].getType(), components[i].getGenericType(), depth + 1);
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            return constructor.newInstance(arguments);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot build a sample of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Classes without a no-args constructor are built with their widest constructor, then every field is set.
+     */
+    private static Object bean(Class<?> type, int depth) {
+        try {
+            Constructor<?> constructor = Arrays.stream(type.getDeclaredConstructors())
+                    .min(Comparator.comparingInt(Constructor::getParameterCount))
+                    .filter(candidate -> candidate.getParameterCount() == 0)
+                    .orElseGet(() -> Arrays.stream(type.getDeclaredConstructors())
+                            .max(Comparator.comparingInt(Constructor::getParameterCount))
+                            .orElseThrow());
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Type[] genericParameterTypes = constructor.getGenericParameterTypes();
+            Object[] arguments = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                arguments[i] = value(parameterTypes[i], genericParameterTypes[i], depth + 1);
+            }
+            constructor.setAccessible(true);
+            Object instance = constructor.newInstance(arguments);
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    field.set(instance, value(field.getType(), field.getGenericType(), depth + 1));
+                }
+            }
+            return instance;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot build a sample of " + type.getName(), e);
+        }
+    }
+
+    private static Class<?> typeArgument(Type genericType, int index) {
+        if (genericType instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[index] instanceof Class<?> argument) {
+            return argument;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.microservice.benchmarks.support;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts one of the services for a benchmark.
+ * <p>
+ * All service jars ship an {@code application.yml} at the root of the classpath, so each service is started
+ * with its own file under {@code benchmarks/} instead. Those files swap MySQL for H2 and MongoDB for an
+ * embedded mongod, and point the Feign clients at a {@link StubServer}.
+ */
+public final class ServiceContext {
+
+    private ServiceContext() {
+//        Restrict Initiation
+    }
+
+    /**
+     * @param application the {@code @SpringBootApplication} class of the service
+     * @param config      name of the configuration file under {@code benchmarks/}, without extension
+     * @param properties  properties that take precedence over the configuration file
+     * @return the running context, to be closed in the benchmark tear down
+     */
+    public static ConfigurableApplicationContext start(Class<?> application, String config, Map<String, ?> properties) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.location=classpath:/benchmarks/" + config + ".yml");
+        properties.forEach((name, value) -> args.add("--" + name + "=" + value));
+        return new SpringApplicationBuilder(application)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+}
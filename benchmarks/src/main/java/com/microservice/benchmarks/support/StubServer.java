@@ -0,0 +1,99 @@
+package com.microservice.benchmarks.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * In-process HTTP stand-in for the services a benchmarked service calls through Feign.
+ * <p>
+ * Every route answers with a fixed latency and a JSON body built from the request, so the cost measured
+ * is the one of the caller and not of a real downstream service.
+ */
+public final class StubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private StubServer(HttpServer server) {
+        this.server = server;
+    }
+
+    public static StubServer start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return new StubServer(server);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Answer every request whose path starts with the prefix.
+     *
+     * @param pathPrefix the path prefix, the longest matching prefix wins
+     * @param latency    time to wait before answering
+     * @param body       builds the response, serialized as JSON
+     */
+    public StubServer route(String pathPrefix, Duration latency, Function<HttpExchange, Object> body) {
+        server.createContext(pathPrefix, exchange -> {
+            try (exchange) {
+                if (!latency.isZero()) {
+                    Thread.sleep(latency);
+                }
+                byte[] response = objectMapper.writeValueAsBytes(body.apply(exchange));
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(response);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return this;
+    }
+
+    public StubServer route(String pathPrefix, Function<HttpExchange, Object> body) {
+        return route(pathPrefix, Duration.ZERO, body);
+    }
+
+    /**
+     * Last segment of the request path, the id in routes such as {@code /api/customers/{customerId}}.
+     */
+    public static String lastSegment(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Read the JSON request body.
+     */
+    public <T> T readBody(HttpExchange exchange, Class<T> type) {
+        try {
+            return objectMapper.readValue(exchange.getRequestBody(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
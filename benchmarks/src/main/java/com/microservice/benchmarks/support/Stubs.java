@@ -0,0 +1,36 @@
+package com.microservice.benchmarks.support;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Routes of the downstream services shared by several benchmarks.
+ */
+public final class Stubs {
+
+    private Stubs() {
+//        Restrict Initiation
+    }
+
+    /**
+     * customer-service as seen by account and card service: every customer exists.
+     * <p>
+     * The existence check answers with the fields of both services' {@code ResponseDto}.
+     */
+    public static StubServer customerService(StubServer stubServer) {
+        return stubServer
+                .route("/api/customers/exists/", exchange -> Map.of("statusCode", "200", "statusMessage", "Customer exists", "statusMsg", "Customer exists"))
+                .route("/api/customers/exists:batch", exchange -> {
+                    Map<String, Boolean> exists = new LinkedHashMap<>();
+                    stubServer.readBody(exchange, Collection.class).forEach(customerId -> exists.put((String) customerId, Boolean.TRUE));
+                    return exists;
+                })
+                .route("/api/customers/", exchange -> Map.of(
+                        "id", StubServer.lastSegment(exchange),
+                        "firstName", "Bench",
+                        "lastName", "Mark",
+                        "email", "bench.mark@example.com",
+                        "phone", "9876543210"));
+    }
+}
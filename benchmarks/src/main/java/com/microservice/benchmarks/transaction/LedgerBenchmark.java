@@ -0,0 +1,94 @@
+package com.microservice.benchmarks.transaction;
+
+import com.microservice.benchmarks.support.ServiceContext;
+import com.microservice.transaction.TransactionServiceApplication;
+import com.microservice.transaction.constants.EntryType;
+import com.microservice.transaction.constants.TransactionType;
+import com.microservice.transaction.dto.LedgerEntryDto;
+import com.microservice.transaction.dto.TransactionDto;
+import com.microservice.transaction.dto.TransactionRequestDto;
+import com.microservice.transaction.service.ITransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Posting to the ledger on an embedded MongoDB through the group commit writer.
+ * <p>
+ * {@code maxWait = 0ms} closes a batch as soon as the queue is drained, which is close to one insert per
+ * posting for a single caller. With many concurrent callers the batches fill up and postings share inserts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LedgerBenchmark {
+
+    @Param({"0ms", "2ms"})
+    public String maxWait;
+
+    private final AtomicLong idempotencyKeys = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private ITransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContext.start(TransactionServiceApplication.class, "transactions",
+                Map.of("ledger.writer.max-wait", maxWait));
+        transactionService = context.getBean(ITransactionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionDto post() {
+        return postTransfer();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public TransactionDto postConcurrently() {
+        return postTransfer();
+    }
+
+    private TransactionDto postTransfer() {
+        long amount = 1 + ThreadLocalRandom.current().nextLong(10_000);
+        TransactionRequestDto transfer = TransactionRequestDto.builder()
+                .transactionType(TransactionType.TRANSFER)
+                .currency("INR")
+                .description("Benchmark transfer")
+                .entries(List.of(
+                        new LedgerEntryDto(randomAccountNumber(), EntryType.DEBIT, amount),
+                        new LedgerEntryDto(randomAccountNumber(), EntryType.CREDIT, amount)))
+                .build();
+        return transactionService.postTransaction("benchmark-" + idempotencyKeys.incrementAndGet(), transfer);
+    }
+
+    private static String randomAccountNumber() {
+        return String.valueOf(1_000_000_000L + ThreadLocalRandom.current().nextLong(9_000_000_000L));
+    }
+}
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.account.jmh_generated;
+public class AccountIndexBenchmark_jmhType extends AccountIndexBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.account.jmh_generated;
+public class AccountNumberAllocatorBenchmark_jmhType extends AccountNumberAllocatorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.account.jmh_generated;
+public class AccountServiceBenchmark_HotAccounts_jmhType extends AccountServiceBenchmark_HotAccounts_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.account.jmh_generated;
+public class AccountServiceBenchmark_jmhType extends AccountServiceBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.account.jmh_generated;
+public class VirtualThreadLoadBenchmark_jmhType extends VirtualThreadLoadBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.cards.jmh_generated;
+public class CardAuthorizationBenchmark_jmhType extends CardAuthorizationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.cards.jmh_generated;
+public class CardNumberGeneratorBenchmark_jmhType extends CardNumberGeneratorBenchmark_jmhType_B3 {
+}
+
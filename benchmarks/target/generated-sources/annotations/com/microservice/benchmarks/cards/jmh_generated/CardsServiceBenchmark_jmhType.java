@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.cards.jmh_generated;
+public class CardsServiceBenchmark_jmhType extends CardsServiceBenchmark_jmhType_B3 {
+}
+
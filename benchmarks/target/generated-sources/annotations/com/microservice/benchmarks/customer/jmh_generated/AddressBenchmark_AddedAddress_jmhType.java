@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.customer.jmh_generated;
+public class AddressBenchmark_AddedAddress_jmhType extends AddressBenchmark_AddedAddress_jmhType_B3 {
+}
+
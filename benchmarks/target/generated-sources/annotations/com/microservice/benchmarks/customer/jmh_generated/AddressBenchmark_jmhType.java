@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.customer.jmh_generated;
+public class AddressBenchmark_jmhType extends AddressBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.customer.jmh_generated;
+public class Customer360Benchmark_jmhType extends Customer360Benchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.customer.jmh_generated;
+public class CustomerServiceBenchmark_CustomerToDelete_jmhType extends CustomerServiceBenchmark_CustomerToDelete_jmhType_B3 {
+}
+
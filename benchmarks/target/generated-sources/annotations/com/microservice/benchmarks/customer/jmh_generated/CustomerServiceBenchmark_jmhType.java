@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.customer.jmh_generated;
+public class CustomerServiceBenchmark_jmhType extends CustomerServiceBenchmark_jmhType_B3 {
+}
+
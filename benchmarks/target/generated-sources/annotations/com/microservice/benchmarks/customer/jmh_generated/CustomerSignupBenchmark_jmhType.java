@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.customer.jmh_generated;
+public class CustomerSignupBenchmark_jmhType extends CustomerSignupBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.json.jmh_generated;
+public class DtoSerializationBenchmark_jmhType extends DtoSerializationBenchmark_jmhType_B3 {
+}
+
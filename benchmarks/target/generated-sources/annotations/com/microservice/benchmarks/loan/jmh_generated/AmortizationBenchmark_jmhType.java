@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.loan.jmh_generated;
+public class AmortizationBenchmark_jmhType extends AmortizationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.loan.jmh_generated;
+public class LoanListBenchmark_jmhType extends LoanListBenchmark_jmhType_B3 {
+}
+
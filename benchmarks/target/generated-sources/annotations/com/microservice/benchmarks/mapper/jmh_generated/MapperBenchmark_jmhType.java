@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.mapper.jmh_generated;
+public class MapperBenchmark_jmhType extends MapperBenchmark_jmhType_B3 {
+}
+
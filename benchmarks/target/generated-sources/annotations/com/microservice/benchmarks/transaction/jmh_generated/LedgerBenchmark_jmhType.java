@@ -0,0 +1,4 @@
+package com.microservice.benchmarks.transaction.jmh_generated;
+public class LedgerBenchmark_jmhType extends LedgerBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,8 @@
+package com.microservice.cards.constants;
+
+public enum AuthorizationStatus {
+    APPROVED,             // Amount is held against the available limit
+    DECLINED,             // Not enough available limit, nothing is held
+    CAPTURED,             // Held amount is booked as used
+    RELEASED              // Held amount is available again
+}
@@ -7,6 +7,8 @@ public final class CardsConstants {
     }
 
     public static final String  CREDIT_CARD = "Credit Card";
+    public static final String  DEBIT_CARD = "Debit Card";
+    public static final String  VIRTUAL_CARD = "Virtual Card";
     public static final int  NEW_CARD_LIMIT = 1_00_000;
     public static final String  STATUS_201 = "201";
     public static final String  MESSAGE_201 = "Card created successfully";
@@ -0,0 +1,7 @@
+package com.microservice.cards.constants;
+
+public enum LimitEntryType {
+    HOLD,                 // Amount reserved by an approved authorization
+    CAPTURE,              // Held amount booked as used
+    RELEASE               // Held amount given back to the available limit
+}
@@ -4,13 +4,21 @@ import com.microservice.cards.annotation.ApiResponse_200_417_500;
 import com.microservice.cards.annotation.ApiResponse_200_500;
 import com.microservice.cards.annotation.ApiResponse_201_500;
 import com.microservice.cards.constants.CardsConstants;
+import com.microservice.cards.dto.AuthorizationDto;
+import com.microservice.cards.dto.AuthorizationRequestDto;
+import com.microservice.cards.dto.CaptureRequestDto;
 import com.microservice.cards.dto.CardsContactInfo;
 import com.microservice.cards.dto.CardsDto;
+import com.microservice.cards.dto.CardsPageDto;
 import com.microservice.cards.dto.ResponseDto;
+import com.microservice.cards.service.ICardAuthorizationService;
 import com.microservice.cards.service.ICardsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,11 +42,13 @@ import org.springframework.web.bind.annotation.*;
 public class CardsController {
 
     private final ICardsService iCardsService;
+    private final ICardAuthorizationService iCardAuthorizationService;
     private final CardsContactInfo cardsContactInfo;
 
-    public CardsController(ICardsService iCardsService, CardsContactInfo cardsContactInfo) {
+    public CardsController(ICardsService iCardsService, ICardAuthorizationService iCardAuthorizationService, CardsContactInfo cardsContactInfo) {
         this.cardsContactInfo = cardsContactInfo;
         this.iCardsService = iCardsService;
+        this.iCardAuthorizationService = iCardAuthorizationService;
 
     }
 
@@ -85,10 +95,12 @@ public class CardsController {
      * This API endpoint is used to create a new card based on a customer Id.
      * The API endpoint is called by the mobile application to create a new card.
      * The API endpoint should validate the input parameters and create a new card
-     * in the database.
+     * in the database. A customer holds at most one credit and one debit card,
+     * and any number of virtual cards.
      * The API endpoint should return the HTTP status CREATED.
      * The API endpoint should return a JSON response with the HTTP status code.
      * @param customerId the customer Id of the customer
+     * @param cardType the type of the card, Credit Card when not given
      * @return a JSON response with the HTTP status code
      */
     @Operation(
@@ -97,15 +109,17 @@ public class CardsController {
     )
     @ApiResponse_201_500
     @PostMapping("/create")
-    public ResponseEntity<ResponseDto> createCard(@Valid @RequestParam String customerId) {
-        iCardsService.createCard(customerId);
+    public ResponseEntity<ResponseDto> createCard(@Valid @RequestParam String customerId,
+                                                  @Pattern(regexp = "Credit Card|Debit Card|Virtual Card", message = "Card type must be Credit Card, Debit Card or Virtual Card")
+                                                  @RequestParam(defaultValue = CardsConstants.CREDIT_CARD) String cardType) {
+        iCardsService.createCard(customerId, cardType);
             return ResponseEntity
                     .status(HttpStatus.CREATED)
                     .body(new ResponseDto(CardsConstants.STATUS_201, CardsConstants.MESSAGE_201));
     }
 
     /**
-     * This API endpoint is used to fetch card details based on a customer Id.
+     * This API endpoint is used to fetch the first card issued to a customer.
      * The API endpoint is called by the mobile application to fetch card details.
      * The API endpoint should validate the input parameters and return the card
      * details from the database.
@@ -116,7 +130,7 @@ public class CardsController {
      */
     @Operation(
             summary = "Fetch Card Details REST API",
-            description = "REST API to fetch card details based on a Customer Id"
+            description = "REST API to fetch the first card of a Customer Id, use GET /api/cards for all cards"
     )
     @ApiResponse_200_500
     @GetMapping("/fetch")
@@ -125,6 +139,27 @@ public class CardsController {
         return ResponseEntity.status(HttpStatus.OK).body(cardsDto);
     }
 
+    /**
+     * This API endpoint is used to fetch the cards of a customer page by page, oldest card first.
+     * Pass the returned nextCursor as 'after' to fetch the next page.
+     * @param customerId the customer Id of the customer
+     * @param after the cursor returned with the previous page
+     * @param limit the maximum number of cards to return
+     * @return a JSON response with the page of cards
+     */
+    @Operation(
+            summary = "Fetch Cards REST API",
+            description = "REST API to fetch the cards of a Customer Id page by page, pass the returned nextCursor as 'after' to get the next page"
+    )
+    @ApiResponse_200_500
+    @GetMapping
+    public ResponseEntity<CardsPageDto> getCards(@RequestParam String customerId,
+                                                 @Pattern(regexp = "(\\d{1,18})", message = "after must be a cursor returned with a previous page") @RequestParam(required = false) String after,
+                                                 @Min(value = 1, message = "limit must be at least 1") @Max(value = 100, message = "limit must be at most 100") @RequestParam(defaultValue = "20") int limit) {
+        CardsPageDto cardsPageDto = iCardsService.getCards(customerId, after == null ? null : Long.parseLong(after), limit);
+        return ResponseEntity.status(HttpStatus.OK).body(cardsPageDto);
+    }
+
     /**
      * This API endpoint is used to update card details based on a card number.
      * The API endpoint is called by the mobile application to update card details.
@@ -155,7 +190,7 @@ public class CardsController {
     }
 
     /**
-     * This API endpoint is used to delete card details based on a customer Id.
+     * This API endpoint is used to delete all cards of a customer.
      * The API endpoint is called by the mobile application to delete card details.
      * The API endpoint should validate the input parameters and delete the card
      * details from the database.
@@ -183,4 +218,65 @@ public class CardsController {
         }
     }
 
+    /**
+     * This API endpoint is used to authorize a payment on a card.
+     * The amount is held against the available limit of the card when it is covered,
+     * otherwise the authorization is declined and nothing is held.
+     * @param cardNumber the card number of the card
+     * @param authorizationRequestDto the amount to authorize
+     * @return a JSON response with the decision and the authorization Id
+     */
+    @Operation(
+            summary = "Authorize Card Payment REST API",
+            description = "REST API to hold an amount against the available limit of a card"
+    )
+    @ApiResponse_200_500
+    @PostMapping("/{cardNumber}/authorize")
+    public ResponseEntity<AuthorizationDto> authorize(@PathVariable String cardNumber,
+                                                      @Valid @RequestBody AuthorizationRequestDto authorizationRequestDto) {
+        AuthorizationDto authorizationDto = iCardAuthorizationService.authorize(cardNumber, authorizationRequestDto.getAmount());
+        return ResponseEntity.status(HttpStatus.OK).body(authorizationDto);
+    }
+
+    /**
+     * This API endpoint is used to capture an approved authorization.
+     * The captured amount is booked as used, the rest of the hold is released.
+     * @param cardNumber the card number of the card
+     * @param authorizationId the Id of the authorization
+     * @param captureRequestDto the amount to capture, the whole hold when missing
+     * @return a JSON response with the captured authorization
+     */
+    @Operation(
+            summary = "Capture Card Authorization REST API",
+            description = "REST API to book the amount held by an authorization as used"
+    )
+    @ApiResponse_200_500
+    @PostMapping("/{cardNumber}/authorizations/{authorizationId}/capture")
+    public ResponseEntity<AuthorizationDto> capture(@PathVariable String cardNumber,
+                                                    @PathVariable String authorizationId,
+                                                    @Valid @RequestBody(required = false) CaptureRequestDto captureRequestDto) {
+        Integer amount = captureRequestDto == null ? null : captureRequestDto.getAmount();
+        AuthorizationDto authorizationDto = iCardAuthorizationService.capture(cardNumber, authorizationId, amount);
+        return ResponseEntity.status(HttpStatus.OK).body(authorizationDto);
+    }
+
+    /**
+     * This API endpoint is used to release an approved authorization.
+     * The held amount is added back to the available limit of the card.
+     * @param cardNumber the card number of the card
+     * @param authorizationId the Id of the authorization
+     * @return a JSON response with the released authorization
+     */
+    @Operation(
+            summary = "Release Card Authorization REST API",
+            description = "REST API to give the amount held by an authorization back to the available limit"
+    )
+    @ApiResponse_200_500
+    @PostMapping("/{cardNumber}/authorizations/{authorizationId}/release")
+    public ResponseEntity<AuthorizationDto> release(@PathVariable String cardNumber,
+                                                    @PathVariable String authorizationId) {
+        AuthorizationDto authorizationDto = iCardAuthorizationService.release(cardNumber, authorizationId);
+        return ResponseEntity.status(HttpStatus.OK).body(authorizationDto);
+    }
+
 }
@@ -0,0 +1,41 @@
+package com.microservice.cards.dto;
+
+import com.microservice.cards.constants.AuthorizationStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Schema(name = "Authorization",
+        description = "Schema to hold the decision on a card authorization"
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorizationDto {
+
+    @Schema(
+            description = "Id of the authorization, used to capture or release it", example = "0b6f3a52-6f0e-4a1c-9a59-1f7b1c1d2e3f"
+    )
+    private String authorizationId;
+
+    @Schema(
+            description = "Card Number of the customer", example = "100646930341"
+    )
+    private String cardNumber;
+
+    @Schema(
+            description = "Outcome of the request", example = "APPROVED"
+    )
+    private AuthorizationStatus status;
+
+    @Schema(
+            description = "Amount held, captured or released", example = "2500"
+    )
+    private int amount;
+
+    @Schema(
+            description = "Available amount of the card after the request", example = "97500"
+    )
+    private int availableAmount;
+
+}
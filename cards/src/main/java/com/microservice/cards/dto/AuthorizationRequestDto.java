@@ -0,0 +1,21 @@
+package com.microservice.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+@Schema(name = "AuthorizationRequest",
+        description = "Schema to hold the amount to authorize on a card"
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorizationRequestDto {
+
+    @Positive(message = "Amount should be greater than zero")
+    @Schema(
+            description = "Amount to hold against the available limit", example = "2500"
+    )
+    private int amount;
+
+}
@@ -0,0 +1,21 @@
+package com.microservice.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+@Schema(name = "CaptureRequest",
+        description = "Schema to hold the amount to capture from an authorization"
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaptureRequestDto {
+
+    @Positive(message = "Amount should be greater than zero")
+    @Schema(
+            description = "Amount to capture, the whole held amount when empty. The rest of the hold is released", example = "2400"
+    )
+    private Integer amount;
+
+}
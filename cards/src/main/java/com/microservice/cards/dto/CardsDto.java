@@ -19,9 +19,9 @@ public class CardsDto {
     private String customerId;
 
     @NotEmpty(message = "Card Number can not be a null or empty")
-    @Pattern(regexp="(^$|[0-9]{12})",message = "CardNumber must be 12 digits")
+    @Pattern(regexp="(^$|[0-9]{12}|[0-9]{16})",message = "CardNumber must be 16 digits, or 12 digits for cards issued before")
     @Schema(
-            description = "Card Number of the customer", example = "100646930341"
+            description = "Card Number of the customer", example = "4123450183742262"
     )
     private String cardNumber;
 
@@ -0,0 +1,31 @@
+package com.microservice.cards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Schema(name = "Cards Page",
+        description = "Schema to hold one page of the cards of a customer, oldest card first"
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardsPageDto {
+
+    @Schema(
+            description = "Cards of the current page"
+    )
+    private List<CardsDto> cards;
+
+    @Schema(
+            description = "Cursor to pass as 'after' to fetch the next page, null when this is the last page", example = "1042"
+    )
+    private String nextCursor;
+
+    @Schema(
+            description = "Maximum number of cards requested for the page", example = "20"
+    )
+    private int limit;
+
+}
@@ -0,0 +1,51 @@
+package com.microservice.cards.entity;
+
+import com.microservice.cards.constants.LimitEntryType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change of a card's limit, the card limit journal is append only.
+ * <p>
+ * An authorization starts with a HOLD entry and is closed by a CAPTURE and/or a RELEASE entry with the same
+ * authorization id. Holds without a closing entry are the open authorizations of the card.
+ */
+@Entity
+@Table(
+        name = "card_limit_journal",
+        indexes = {
+                @Index(name = "idx_card_limit_journal_card", columnList = "card_number, entry_type"),
+                @Index(name = "idx_card_limit_journal_authorization", columnList = "authorization_id")
+        }
+)
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardLimitEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "entry_id")
+    private String entryId;
+
+    @Column(name = "authorization_id", nullable = false, length = 36)
+    private String authorizationId;
+
+    @Column(name = "card_number", nullable = false)
+    private String cardNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private LimitEntryType entryType;
+
+    @Column(nullable = false)
+    private int amount;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+}
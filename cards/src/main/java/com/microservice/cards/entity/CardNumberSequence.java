@@ -0,0 +1,32 @@
+package com.microservice.cards.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Persistent "hi" value of the card number sequence of one BIN.
+ * <p>
+ * Every instance leases a block of numbers by bumping {@code nextHi} under a row lock,
+ * so blocks handed out to different nodes never overlap.
+ */
+@Entity
+@Table(name = "card_number_sequence")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardNumberSequence {
+
+    @Id
+    @Column(name = "bin", nullable = false, length = 8)
+    private String bin;
+
+    @Column(name = "next_hi", nullable = false)
+    private long nextHi;
+}
@@ -4,6 +4,14 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@Table(
+		name = "cards",
+		uniqueConstraints = {
+				@UniqueConstraint(name = "uk_cards_card_number", columnNames = "card_number"),
+				@UniqueConstraint(name = "uk_cards_customer_issued_once_type", columnNames = {"customer_id", "issued_once_type"})
+		},
+		indexes = @Index(name = "idx_cards_customer_id", columnList = "customer_id, card_id")
+)
 @Getter
 @Setter
 @ToString
@@ -21,6 +29,14 @@ public class Cards extends BaseEntity {
 
 	private String cardType;
 
+	/**
+	 * The card type for credit and debit cards, null for virtual cards. Generated by the database to back the unique key
+	 * that issues a customer at most one card of each of those types; NULLs never collide, so virtual cards are not limited.
+	 */
+	@Column(name = "issued_once_type", insertable = false, updatable = false,
+			columnDefinition = "varchar(255) generated always as (case when card_type <> 'Virtual Card' then card_type end)")
+	private String issuedOnceType;
+
 	private int totalLimit;
 
 	private int amountUsed;
@@ -0,0 +1,10 @@
+package com.microservice.cards.event;
+
+/**
+ * Published when the limits of a card were changed or the card was removed outside of the authorization
+ * engine, so that its in-memory limit is loaded again.
+ *
+ * @param cardNumber the card that changed
+ */
+public record CardLimitChangedEvent(String cardNumber) {
+}
@@ -0,0 +1,16 @@
+package com.microservice.cards.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CardLimitUnavailableException extends RuntimeException {
+
+    public CardLimitUnavailableException(String message) {
+        super(message);
+    }
+
+    public CardLimitUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
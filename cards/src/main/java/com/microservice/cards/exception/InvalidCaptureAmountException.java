@@ -0,0 +1,13 @@
+package com.microservice.cards.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidCaptureAmountException extends RuntimeException {
+
+    public InvalidCaptureAmountException(String message){
+        super(message);
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.microservice.cards.generator;
+
+import com.microservice.cards.entity.CardNumberSequence;
+import com.microservice.cards.repository.CardNumberSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hi/lo card number generator.
+ * <p>
+ * A card number is a 16 digit PAN: one of the configured BINs ({@code cards.number-generator.bins}, 6 or 8
+ * digits), an account identifier and a Luhn check digit. Each BIN has its own row in the
+ * {@code card_number_sequence} table; an instance leases a block of {@code block-size} sequence values from it
+ * in its own short transaction and then hands them out from memory without locking. The sequence value is
+ * mapped to the account identifier by a {@link DigitPermutation} keyed with {@code cards.number-generator.secret}
+ * and the BIN, so numbers are unique without probing the cards table but do not reveal the issuing order.
+ * <p>
+ * The secret must never change once cards were issued, a different key gives a different permutation. It has no
+ * default, the service does not start without it.
+ * Numbers left in a block when the instance stops are never reused, which leaves gaps but no duplicates.
+ * <p>
+ * The sequence row of a BIN is created on first use. A lease that loses that race, on a duplicate key or on the
+ * deadlock of two inserts into the same gap of the table, is retried and then finds the row.
+ */
+@Component
+@Slf4j
+public class CardNumberGenerator {
+
+    private static final int PAN_LENGTH = 16;
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final CardNumberSequenceRepository sequenceRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final int blockSize;
+    private final String defaultBin;
+    private final Map<String, BinSequence> sequences = new LinkedHashMap<>();
+
+    public CardNumberGenerator(CardNumberSequenceRepository sequenceRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${cards.number-generator.bins:412345}") List<String> bins,
+                               @Value("${cards.number-generator.default-bin:412345}") String defaultBin,
+                               @Value("${cards.number-generator.block-size:1000}") int blockSize,
+                               @Value("${cards.number-generator.secret}") String secret) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("cards.number-generator.block-size must be positive");
+        }
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("cards.number-generator.secret must be set, card numbers depend on it for good");
+        }
+        for (String bin : bins) {
+            if (!bin.matches("[1-9][0-9]{5}([0-9]{2})?")) {
+                throw new IllegalArgumentException("BIN must be 6 or 8 digits: " + bin);
+            }
+            int identifierDigits = PAN_LENGTH - bin.length() - 1;
+            sequences.put(bin, new BinSequence(bin, new DigitPermutation(identifierDigits, secret + ':' + bin)));
+        }
+        if (!sequences.containsKey(defaultBin)) {
+            throw new IllegalArgumentException("cards.number-generator.default-bin must be one of the configured BINs");
+        }
+        this.sequenceRepository = sequenceRepository;
+        this.blockSize = blockSize;
+        this.defaultBin = defaultBin;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @return a new card number of the default BIN
+     */
+    public String nextCardNumber() {
+        return nextCardNumber(defaultBin);
+    }
+
+    /**
+     * @param bin one of the configured BINs
+     * @return a 16 digit card number of the BIN that was never handed out before
+     */
+    public String nextCardNumber(String bin) {
+        BinSequence sequence = sequences.get(bin);
+        if (sequence == null) {
+            throw new IllegalArgumentException("BIN is not configured: " + bin);
+        }
+        return Long.toString(sequence.next());
+    }
+
+    private long leaseHi(String bin) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return leaseTransaction.execute(status -> {
+                    CardNumberSequence sequence = sequenceRepository.findForUpdate(bin)
+                            .orElseGet(() -> new CardNumberSequence(bin, 0));
+                    long leased = sequence.getNextHi();
+                    sequence.setNextHi(leased + 1);
+                    sequenceRepository.save(sequence);
+                    return leased;
+                });
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                // another instance created the sequence row at the same time, read it again
+                if (attempt >= MAX_LEASE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private final class BinSequence {
+
+        private final String bin;
+        private final long binPrefix;
+        private final DigitPermutation permutation;
+        private final AtomicReference<Block> currentBlock = new AtomicReference<>(Block.EMPTY);
+        private final Object leaseLock = new Object();
+
+        BinSequence(String bin, DigitPermutation permutation) {
+            this.bin = bin;
+            this.binPrefix = Long.parseLong(bin) * permutation.range();
+            this.permutation = permutation;
+        }
+
+        long next() {
+            while (true) {
+                Block block = currentBlock.get();
+                long value = block.next();
+                if (value >= 0) {
+                    return LuhnCheckDigit.append(binPrefix + permutation.permute(value));
+                }
+                refill(block);
+            }
+        }
+
+        /**
+         * Replace the exhausted block with a freshly leased one. Only one thread leases, the others
+         * wait on the lock and then pick up the new block.
+         */
+        private void refill(Block exhausted) {
+            synchronized (leaseLock) {
+                if (currentBlock.get() == exhausted) {
+                    currentBlock.set(leaseBlock());
+                }
+            }
+        }
+
+        private Block leaseBlock() {
+            long hi = leaseHi(bin);
+            long first = hi * blockSize;
+            if (first >= permutation.range()) {
+                throw new IllegalStateException("Card number space of BIN " + bin + " exhausted");
+            }
+            long last = Math.min(first + blockSize, permutation.range()) - 1;
+            log.info("Leased card number block {} of BIN {} [{} - {}]", hi, bin, first, last);
+            return new Block(first, last);
+        }
+    }
+
+    private static final class Block {
+
+        static final Block EMPTY = new Block(0, -1);
+
+        private final AtomicLong next;
+        private final long last;
+
+        Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+
+        long next() {
+            long value = next.getAndIncrement();
+            return value <= last ? value : -1;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.microservice.cards.generator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Keyed permutation of the numbers with a fixed count of decimal digits.
+ * <p>
+ * A four round Feistel network permutes the smallest even bit width that holds the range; results outside
+ * the range are encrypted again (cycle walking) until they fall inside it. Every input maps to exactly one
+ * output, so distinct sequence values always give distinct numbers, while consecutive values give numbers
+ * that cannot be told apart from random ones without the key.
+ */
+final class DigitPermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final long range;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    DigitPermutation(int digits, String key) {
+        long range = 1;
+        for (int i = 0; i < digits; i++) {
+            range *= 10;
+        }
+        int bits = 64 - Long.numberOfLeadingZeros(range - 1);
+        this.range = range;
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+
+        ByteBuffer digest = ByteBuffer.wrap(sha256(key));
+        for (int round = 0; round < ROUNDS; round++) {
+            roundKeys[round] = digest.getLong();
+        }
+    }
+
+    long range() {
+        return range;
+    }
+
+    /**
+     * @param value a number in {@code [0, 10^digits)}
+     * @return its image, in the same range
+     */
+    long permute(long value) {
+        long permuted = value;
+        do {
+            permuted = encrypt(permuted);
+        } while (permuted >= range);
+        return permuted;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (int round = 0; round < ROUNDS; round++) {
+            long next = left ^ (mix(right ^ roundKeys[round]) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads every input bit over the whole output.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static byte[] sha256(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.microservice.cards.generator;
+
+/**
+ * Luhn (mod 10) check digit helpers used for card numbers.
+ */
+public final class LuhnCheckDigit {
+
+    private LuhnCheckDigit() {
+//        Restrict Initiation
+    }
+
+    /**
+     * Compute the Luhn check digit for the given payload.
+     *
+     * @param payload the digits to protect, without the check digit
+     * @return the check digit in the range 0-9
+     */
+    public static int compute(long payload) {
+        int sum = 0;
+        boolean doubleDigit = true;
+        while (payload > 0) {
+            int digit = (int) (payload % 10);
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+            payload /= 10;
+        }
+        return (10 - (sum % 10)) % 10;
+    }
+
+    /**
+     * Append the Luhn check digit to the given payload.
+     *
+     * @param payload the digits to protect
+     * @return the payload followed by its check digit
+     */
+    public static long append(long payload) {
+        return payload * 10 + compute(payload);
+    }
+
+    /**
+     * Check whether the last digit of the given number is a valid Luhn check digit.
+     *
+     * @param number the number including its check digit
+     * @return true if the check digit matches, false otherwise
+     */
+    public static boolean isValid(long number) {
+        return compute(number / 10) == (int) (number % 10);
+    }
+}
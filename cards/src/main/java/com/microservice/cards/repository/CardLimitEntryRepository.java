@@ -0,0 +1,22 @@
+package com.microservice.cards.repository;
+
+import com.microservice.cards.entity.CardLimitEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CardLimitEntryRepository extends JpaRepository<CardLimitEntry, String> {
+
+    /**
+     * Holds of the card that were neither captured nor released.
+     */
+    @Query("select e from CardLimitEntry e where e.cardNumber = :cardNumber" +
+            " and e.entryType = com.microservice.cards.constants.LimitEntryType.HOLD" +
+            " and not exists (select c from CardLimitEntry c where c.authorizationId = e.authorizationId" +
+            " and c.entryType <> com.microservice.cards.constants.LimitEntryType.HOLD)")
+    List<CardLimitEntry> findOpenHolds(@Param("cardNumber") String cardNumber);
+}
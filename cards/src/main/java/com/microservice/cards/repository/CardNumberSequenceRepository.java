@@ -0,0 +1,19 @@
+package com.microservice.cards.repository;
+
+import com.microservice.cards.entity.CardNumberSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CardNumberSequenceRepository extends JpaRepository<CardNumberSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from CardNumberSequence s where s.bin = :bin")
+    Optional<CardNumberSequence> findForUpdate(@Param("bin") String bin);
+}
@@ -1,16 +1,61 @@
 package com.microservice.cards.repository;
 
 import com.microservice.cards.entity.Cards;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CardsRepository extends JpaRepository<Cards, Long> {
 
-    Optional<Cards> findByCustomerId(String customerId);
+    Optional<Cards> findFirstByCustomerIdOrderByCardIdAsc(String customerId);
+
+    boolean existsByCustomerIdAndCardType(String customerId, String cardType);
+
+    /**
+     * Cards of a customer after the given card id, a range scan of the (customer_id, card_id) index.
+     */
+    @Query("select c from Cards c where c.customerId = :customerId and c.cardId > :after order by c.cardId")
+    List<Cards> findPageByCustomerId(@Param("customerId") String customerId, @Param("after") Long after, Limit limit);
+
+    @Query("select c.cardNumber from Cards c where c.customerId = :customerId")
+    List<String> findCardNumbersByCustomerId(@Param("customerId") String customerId);
 
     Optional<Cards> findByCardNumber(String cardNumber);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Cards c where c.customerId = :customerId")
+    int deleteAllByCustomerId(@Param("customerId") String customerId);
+
+    /**
+     * Add the net change of a batch of journal entries to the card, without reading it first.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Cards c set c.amountUsed = c.amountUsed + :amountUsed," +
+            " c.availableAmount = c.availableAmount + :availableAmount where c.cardNumber = :cardNumber")
+    int applyLimitChange(@Param("cardNumber") String cardNumber,
+                         @Param("amountUsed") int amountUsed,
+                         @Param("availableAmount") int availableAmount);
+
+    /**
+     * Set the total limit of the card and move the available amount by the same difference, leaving the amount
+     * used and the holds alone. Nothing is changed when the new limit is below what is already used or held.
+     * The available amount is assigned first, MySQL evaluates the assignments left to right.
+     *
+     * @return 1 if the limit was changed, 0 otherwise
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Cards c set c.availableAmount = c.availableAmount + (:totalLimit - c.totalLimit)," +
+            " c.totalLimit = :totalLimit where c.cardNumber = :cardNumber" +
+            " and c.availableAmount + (:totalLimit - c.totalLimit) >= 0")
+    int changeTotalLimit(@Param("cardNumber") String cardNumber, @Param("totalLimit") int totalLimit);
+
 }
@@ -0,0 +1,35 @@
+package com.microservice.cards.service;
+
+import com.microservice.cards.dto.AuthorizationDto;
+
+public interface ICardAuthorizationService {
+
+    /**
+     * @param cardNumber - Card Number of the card to charge
+     * @param amount - Amount to hold against the available limit
+     * @return the decision, DECLINED when the available limit is too low
+     */
+    AuthorizationDto authorize(String cardNumber, int amount);
+
+    /**
+     * @param cardNumber - Card Number of the card
+     * @param authorizationId - Id of an approved authorization
+     * @param amount - Amount to capture, the whole held amount when null
+     * @return the captured authorization
+     */
+    AuthorizationDto capture(String cardNumber, String authorizationId, Integer amount);
+
+    /**
+     * @param cardNumber - Card Number of the card
+     * @param authorizationId - Id of an approved authorization
+     * @return the released authorization
+     */
+    AuthorizationDto release(String cardNumber, String authorizationId);
+
+    /**
+     * @param cardNumber - Card Number of the card
+     * @param totalLimit - New total limit of the card
+     * @return true if the limit was changed, false if it is below the amount already used or held
+     */
+    boolean changeTotalLimit(String cardNumber, int totalLimit);
+}
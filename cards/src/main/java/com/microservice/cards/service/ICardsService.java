@@ -1,22 +1,33 @@
 package com.microservice.cards.service;
 
 import com.microservice.cards.dto.CardsDto;
+import com.microservice.cards.dto.CardsPageDto;
 
 public interface ICardsService {
 
     /**
      *
-     * @param customerId - Mobile Number of the Customer
+     * @param customerId - Customer Id of the Customer
+     * @param cardType - Credit Card, Debit Card or Virtual Card
      */
-    void createCard(String customerId);
+    void createCard(String customerId, String cardType);
 
     /**
      *
-     * @param customerId - Input mobile Number
-     *  @return Card Details based on a given mobileNumber
+     * @param customerId - Customer Id of the Customer
+     *  @return the first card issued to the customer
      */
     CardsDto fetchCard(String customerId);
 
+    /**
+     *
+     * @param customerId - Customer Id of the Customer
+     * @param after - cursor returned with the previous page, null for the first page
+     * @param limit - maximum number of cards to return
+     * @return one page of the customer's cards, oldest card first
+     */
+    CardsPageDto getCards(String customerId, Long after, int limit);
+
     /**
      *
      * @param cardsDto - CardsDto Object
@@ -26,8 +37,8 @@ public interface ICardsService {
 
     /**
      *
-     * @param customerId - Input Mobile Number
-     * @return boolean indicating if the delete of card details is successful or not
+     * @param customerId - Customer Id of the Customer
+     * @return boolean indicating if the delete of all cards of the customer is successful or not
      */
     boolean deleteCard(String customerId);
 
@@ -0,0 +1,396 @@
+package com.microservice.cards.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.microservice.cards.constants.AuthorizationStatus;
+import com.microservice.cards.constants.LimitEntryType;
+import com.microservice.cards.dto.AuthorizationDto;
+import com.microservice.cards.entity.CardLimitEntry;
+import com.microservice.cards.entity.Cards;
+import com.microservice.cards.event.CardLimitChangedEvent;
+import com.microservice.cards.exception.CardLimitUnavailableException;
+import com.microservice.cards.exception.InvalidCaptureAmountException;
+import com.microservice.cards.exception.ResourceNotFoundException;
+import com.microservice.cards.repository.CardLimitEntryRepository;
+import com.microservice.cards.repository.CardsRepository;
+import com.microservice.cards.service.ICardAuthorizationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Authorizes card spend against an in-memory copy of each card's limit.
+ * <p>
+ * The first request for a card loads its limit from the {@code Cards} table and its open holds from the card
+ * limit journal; after that every decision is taken under the card's lock without touching the database. The
+ * entries of a decision are handed to the {@link CardLimitJournal} while the lock is held, so they are written
+ * in the order they were decided. The journal is a synchronous group commit, not write-behind: the request waits
+ * for the batch holding its entries to commit before it answers, so an approval is never lost, and concurrent
+ * requests share one transaction. If the batch fails, the decision is undone in memory.
+ * <p>
+ * At most {@code cards.authorization.max-cards} limits are kept, and a limit unused for
+ * {@code cards.authorization.idle-timeout} is dropped. An evicted limit is marked stale, and the card is only
+ * loaded again once the entries still pending on the evicted limit are journaled.
+ * <p>
+ * The in-memory limits are only correct while this instance is the only one authorizing a card, so
+ * authorization traffic has to be routed by card number. Limit changes go through {@link #changeTotalLimit}
+ * for the same reason, and must be routed to the same instance.
+ */
+@Service
+@Slf4j
+public class CardAuthorizationServiceImpl implements ICardAuthorizationService {
+
+    private final CardsRepository cardsRepository;
+    private final CardLimitEntryRepository cardLimitEntryRepository;
+    private final CardLimitJournal cardLimitJournal;
+    private final Duration postTimeout;
+    private final Cache<String, CardLimit> limits;
+    private final Map<String, CompletableFuture<Void>> evictedPending = new ConcurrentHashMap<>();
+
+    public CardAuthorizationServiceImpl(CardsRepository cardsRepository,
+                                        CardLimitEntryRepository cardLimitEntryRepository,
+                                        CardLimitJournal cardLimitJournal,
+                                        @Value("${cards.authorization.post-timeout:2s}") Duration postTimeout,
+                                        @Value("${cards.authorization.max-cards:100000}") long maxCards,
+                                        @Value("${cards.authorization.idle-timeout:10m}") Duration idleTimeout) {
+        this.cardsRepository = cardsRepository;
+        this.cardLimitEntryRepository = cardLimitEntryRepository;
+        this.cardLimitJournal = cardLimitJournal;
+        this.postTimeout = postTimeout;
+        this.limits = Caffeine.newBuilder()
+                .maximumSize(maxCards)
+                .expireAfterAccess(idleTimeout)
+                .evictionListener(this::onEvicted)
+                .build();
+    }
+
+    /**
+     * @param cardNumber - Card Number of the card to charge
+     * @param amount - Amount to hold against the available limit
+     * @return the decision, DECLINED when the available limit is too low
+     */
+    @Override
+    public AuthorizationDto authorize(String cardNumber, int amount) {
+        String authorizationId = UUID.randomUUID().toString();
+        List<CardLimitEntry> entries = List.of(entry(authorizationId, cardNumber, LimitEntryType.HOLD, amount));
+        CardLimit limit = lockedLimit(cardNumber);
+
+        CompletableFuture<Void> recorded;
+        int availableAmount;
+        try {
+            if (limit.availableAmount < amount) {
+                return new AuthorizationDto(null, cardNumber, AuthorizationStatus.DECLINED, amount, limit.availableAmount);
+            }
+            recorded = record(limit, entries);
+            availableAmount = limit.availableAmount;
+        } finally {
+            limit.lock.unlock();
+        }
+
+        await(authorizationId, recorded);
+        return new AuthorizationDto(authorizationId, cardNumber, AuthorizationStatus.APPROVED, amount, availableAmount);
+    }
+
+    /**
+     * @param cardNumber - Card Number of the card
+     * @param authorizationId - Id of an approved authorization
+     * @param amount - Amount to capture, the whole held amount when null
+     * @return the captured authorization
+     */
+    @Override
+    public AuthorizationDto capture(String cardNumber, String authorizationId, Integer amount) {
+        CardLimit limit = lockedLimit(cardNumber);
+
+        CompletableFuture<Void> recorded;
+        int captured;
+        int availableAmount;
+        try {
+            int held = heldAmount(limit, authorizationId);
+            captured = amount == null ? held : amount;
+            if (captured <= 0 || captured > held) {
+                throw new InvalidCaptureAmountException("Capture amount must be between 1 and the held amount " + held);
+            }
+            List<CardLimitEntry> entries = new ArrayList<>(2);
+            entries.add(entry(authorizationId, cardNumber, LimitEntryType.CAPTURE, captured));
+            if (captured < held) {
+                entries.add(entry(authorizationId, cardNumber, LimitEntryType.RELEASE, held - captured));
+            }
+            recorded = record(limit, entries);
+            availableAmount = limit.availableAmount;
+        } finally {
+            limit.lock.unlock();
+        }
+
+        await(authorizationId, recorded);
+        return new AuthorizationDto(authorizationId, cardNumber, AuthorizationStatus.CAPTURED, captured, availableAmount);
+    }
+
+    /**
+     * @param cardNumber - Card Number of the card
+     * @param authorizationId - Id of an approved authorization
+     * @return the released authorization
+     */
+    @Override
+    public AuthorizationDto release(String cardNumber, String authorizationId) {
+        CardLimit limit = lockedLimit(cardNumber);
+
+        CompletableFuture<Void> recorded;
+        int released;
+        int availableAmount;
+        try {
+            released = heldAmount(limit, authorizationId);
+            recorded = record(limit, List.of(entry(authorizationId, cardNumber, LimitEntryType.RELEASE, released)));
+            availableAmount = limit.availableAmount;
+        } finally {
+            limit.lock.unlock();
+        }
+
+        await(authorizationId, recorded);
+        return new AuthorizationDto(authorizationId, cardNumber, AuthorizationStatus.RELEASED, released, availableAmount);
+    }
+
+    /**
+     * Change the total limit of a card. The change is made under the card's lock once every decision already taken
+     * for the card is journaled, so the row it is applied to, and from which the limit is loaded again afterwards,
+     * includes all of them. The journal writer may need the lock to undo a failed batch, so the wait happens
+     * without the lock and is repeated until no decision is pending.
+     *
+     * @param cardNumber - Card Number of the card
+     * @param totalLimit - New total limit of the card
+     * @return true if the limit was changed, false if it is below the amount already used or held
+     */
+    @Override
+    public boolean changeTotalLimit(String cardNumber, int totalLimit) {
+        while (true) {
+            CardLimit limit = lockedLimit(cardNumber);
+            CompletableFuture<Void> pending = limit.lastRecorded;
+            if (!pending.isDone()) {
+                limit.lock.unlock();
+                pending.handle((ignored, failure) -> null).join();
+                continue;
+            }
+            try {
+                boolean changed = cardsRepository.changeTotalLimit(cardNumber, totalLimit) > 0;
+                if (!changed) {
+                    log.warn("Total limit of card {} not changed, {} is below the amount used or held", cardNumber, totalLimit);
+                }
+                limit.stale = true;
+                return changed;
+            } finally {
+                limit.lock.unlock();
+                limits.asMap().remove(cardNumber, limit);
+            }
+        }
+    }
+
+    /**
+     * Forget the in-memory limit of a card that was changed elsewhere, the next request loads it again. Runs once the
+     * change is committed, so that the limit is not loaded again from the row that is about to change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardLimitChanged(CardLimitChangedEvent event) {
+        CardLimit limit = limits.asMap().remove(event.cardNumber());
+        if (limit != null) {
+            limit.lock.lock();
+            try {
+                limit.stale = true;
+            } finally {
+                limit.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Lock the in-memory limit of a card, loading it first if needed. A limit that was dropped while waiting for
+     * its lock is stale, the current one is locked instead.
+     */
+    private CardLimit lockedLimit(String cardNumber) {
+        while (true) {
+            CardLimit limit = limitOf(cardNumber);
+            limit.lock.lock();
+            if (!limit.stale) {
+                return limit;
+            }
+            limit.lock.unlock();
+        }
+    }
+
+    /**
+     * Loaded inside the cache's atomic compute, so a load that read the row before a limit change can not be put
+     * in the cache after the change dropped the previous limit.
+     */
+    private CardLimit limitOf(String cardNumber) {
+        return limits.get(cardNumber, this::load);
+    }
+
+    /**
+     * Retire an evicted limit: a request that still holds it finishes first, and later ones see it stale. Runs
+     * atomically with the eviction, and no cache operation is made while a card's lock is held, so waiting for
+     * the lock can not deadlock. Entries not journaled yet are remembered until they are, for {@link #load}.
+     */
+    private void onEvicted(String cardNumber, CardLimit limit, RemovalCause cause) {
+        CompletableFuture<Void> pending;
+        limit.lock.lock();
+        try {
+            limit.stale = true;
+            pending = limit.lastRecorded;
+        } finally {
+            limit.lock.unlock();
+        }
+        if (!pending.isDone()) {
+            CompletableFuture<Void> journaled = pending.handle((ignored, failure) -> null);
+            evictedPending.put(cardNumber, journaled);
+            journaled.thenRun(() -> evictedPending.remove(cardNumber, journaled));
+        }
+    }
+
+    /**
+     * Rebuild the limit of a card: the {@code Cards} row already includes every journaled entry,
+     * the open holds are the ones that can still be captured or released. Entries of an evicted limit of the card
+     * that are still being journaled are waited for, they would be missing from the row otherwise.
+     */
+    private CardLimit load(String cardNumber) {
+        CompletableFuture<Void> journaled = evictedPending.get(cardNumber);
+        if (journaled != null) {
+            journaled.join();
+        }
+        Cards cards = cardsRepository.findByCardNumber(cardNumber).orElseThrow(
+                () -> new ResourceNotFoundException("Card", "CardNumber", cardNumber));
+        Map<String, Integer> holds = new HashMap<>();
+        cardLimitEntryRepository.findOpenHolds(cardNumber)
+                .forEach(hold -> holds.put(hold.getAuthorizationId(), hold.getAmount()));
+        return new CardLimit(cards.getAmountUsed(), cards.getAvailableAmount(), holds);
+    }
+
+    private static int heldAmount(CardLimit limit, String authorizationId) {
+        Integer held = limit.holds.get(authorizationId);
+        if (held == null) {
+            throw new ResourceNotFoundException("Authorization", "authorizationId", authorizationId);
+        }
+        return held;
+    }
+
+    /**
+     * Journal the entries and apply them to the limit. Must be called with the card's lock held.
+     */
+    private CompletableFuture<Void> record(CardLimit limit, List<CardLimitEntry> entries) {
+        CompletableFuture<Void> recorded = cardLimitJournal.submit(entries);
+        apply(limit, entries);
+        limit.lastRecorded = recorded;
+        recorded.whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                revert(limit, entries);
+            }
+        });
+        return recorded;
+    }
+
+    private static void apply(CardLimit limit, List<CardLimitEntry> entries) {
+        for (CardLimitEntry entry : entries) {
+            switch (entry.getEntryType()) {
+                case HOLD -> {
+                    limit.availableAmount -= entry.getAmount();
+                    limit.holds.put(entry.getAuthorizationId(), entry.getAmount());
+                }
+                case CAPTURE -> {
+                    limit.amountUsed += entry.getAmount();
+                    limit.holds.remove(entry.getAuthorizationId());
+                }
+                case RELEASE -> {
+                    limit.availableAmount += entry.getAmount();
+                    limit.holds.remove(entry.getAuthorizationId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Undo entries that could not be journaled, a captured or released hold is open again.
+     */
+    private static void revert(CardLimit limit, List<CardLimitEntry> entries) {
+        limit.lock.lock();
+        try {
+            for (CardLimitEntry entry : entries) {
+                switch (entry.getEntryType()) {
+                    case HOLD -> {
+                        limit.availableAmount += entry.getAmount();
+                        limit.holds.remove(entry.getAuthorizationId());
+                    }
+                    case CAPTURE -> {
+                        limit.amountUsed -= entry.getAmount();
+                        limit.holds.merge(entry.getAuthorizationId(), entry.getAmount(), Integer::sum);
+                    }
+                    case RELEASE -> {
+                        limit.availableAmount -= entry.getAmount();
+                        limit.holds.merge(entry.getAuthorizationId(), entry.getAmount(), Integer::sum);
+                    }
+                }
+            }
+        } finally {
+            limit.lock.unlock();
+        }
+    }
+
+    private void await(String authorizationId, CompletableFuture<Void> recorded) {
+        try {
+            recorded.get(postTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CardLimitUnavailableException("Failed to record authorization " + authorizationId, e.getCause());
+        } catch (TimeoutException e) {
+            log.error("Timed out recording authorization {}", authorizationId);
+            throw new CardLimitUnavailableException("Timed out recording authorization " + authorizationId + ", release it if it was approved");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CardLimitUnavailableException("Interrupted while recording authorization " + authorizationId);
+        }
+    }
+
+    private static CardLimitEntry entry(String authorizationId, String cardNumber, LimitEntryType entryType, int amount) {
+        return CardLimitEntry.builder()
+                .authorizationId(authorizationId)
+                .cardNumber(cardNumber)
+                .entryType(entryType)
+                .amount(amount)
+                .recordedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * In-memory limit of one card, guarded by its lock.
+     */
+    private static final class CardLimit {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Integer> holds;
+        private int amountUsed;
+        private int availableAmount;
+        private CompletableFuture<Void> lastRecorded = CompletableFuture.completedFuture(null);
+        private boolean stale;
+
+        private CardLimit(int amountUsed, int availableAmount, Map<String, Integer> holds) {
+            this.amountUsed = amountUsed;
+            this.availableAmount = availableAmount;
+            this.holds = holds;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.microservice.cards.service.impl;
+
+import com.microservice.cards.entity.CardLimitEntry;
+import com.microservice.cards.exception.CardLimitUnavailableException;
+import com.microservice.cards.repository.CardLimitEntryRepository;
+import com.microservice.cards.repository.CardsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit journal of the card authorization engine.
+ * <p>
+ * Decisions are taken in memory and handed to {@link #submit(List)}, whose future completes once they are
+ * committed; the engine waits for it before answering. A single writer thread collects everything
+ * that arrives within {@code cards.authorization.journal.max-wait} (up to
+ * {@code cards.authorization.journal.max-batch-size} entries) and, in one transaction, inserts the entries as a
+ * JDBC batch and adds their net change to each card with one update per card. The {@code Cards} row therefore
+ * always matches the journal, and the open holds of a card can be rebuilt from the journal after a restart.
+ */
+@Component
+@Slf4j
+public class CardLimitJournal implements SmartLifecycle {
+
+    private final CardLimitEntryRepository cardLimitEntryRepository;
+    private final CardsRepository cardsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingEntries> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public CardLimitJournal(CardLimitEntryRepository cardLimitEntryRepository,
+                            CardsRepository cardsRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${cards.authorization.journal.queue-capacity:50000}") int queueCapacity,
+                            @Value("${cards.authorization.journal.max-batch-size:1000}") int maxBatchSize,
+                            @Value("${cards.authorization.journal.max-wait:1ms}") Duration maxWait) {
+        this.cardLimitEntryRepository = cardLimitEntryRepository;
+        this.cardsRepository = cardsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Queue the entries of one decision for the next batch. They are written together, in submission order.
+     *
+     * @param entries the entries of one decision, all of the same card
+     * @return future completed once the entries are committed
+     * @throws CardLimitUnavailableException if the journal is stopped or the queue is full
+     */
+    public CompletableFuture<Void> submit(List<CardLimitEntry> entries) {
+        if (!running) {
+            throw new CardLimitUnavailableException("Card limit journal is not running");
+        }
+        PendingEntries pending = new PendingEntries(entries, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new CardLimitUnavailableException("Card authorizations are overloaded, please retry");
+        }
+        return pending.result();
+    }
+
+    private void runLoop() {
+        List<PendingEntries> batch = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingEntries first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, first.entries().size());
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.addAll(queue);
+            batch.forEach(pending -> pending.result().completeExceptionally(new CardLimitUnavailableException("Card limit journal was interrupted")));
+        }
+    }
+
+    /**
+     * Fill the batch with whatever is queued, waiting up to the batching window for more.
+     */
+    private void collect(List<PendingEntries> batch, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (size < maxBatchSize) {
+            PendingEntries next = queue.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || (next = queue.poll(remaining, TimeUnit.NANOSECONDS)) == null) {
+                    return;
+                }
+            }
+            batch.add(next);
+            size += next.entries().size();
+        }
+    }
+
+    private void write(List<PendingEntries> batch) {
+        List<CardLimitEntry> entries = new ArrayList<>();
+        Map<String, int[]> changes = new HashMap<>();
+        batch.forEach(pending -> pending.entries().forEach(entry -> {
+            entries.add(entry);
+            int[] change = changes.computeIfAbsent(entry.getCardNumber(), cardNumber -> new int[2]);
+            switch (entry.getEntryType()) {
+                case HOLD -> change[1] -= entry.getAmount();
+                case CAPTURE -> change[0] += entry.getAmount();
+                case RELEASE -> change[1] += entry.getAmount();
+            }
+        }));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                cardLimitEntryRepository.saveAll(entries);
+                changes.forEach((cardNumber, change) -> cardsRepository.applyLimitChange(cardNumber, change[0], change[1]));
+            });
+        } catch (RuntimeException e) {
+            log.error("Error writing {} card limit entries: {}", entries.size(), e.getMessage());
+            batch.forEach(pending -> pending.result().completeExceptionally(new CardLimitUnavailableException("Failed to record the authorization", e)));
+            return;
+        }
+        batch.forEach(pending -> pending.result().complete(null));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runLoop, "card-limit-journal");
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingEntries(List<CardLimitEntry> entries, CompletableFuture<Void> result) {
+    }
+}
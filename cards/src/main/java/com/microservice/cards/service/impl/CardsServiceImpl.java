@@ -2,22 +2,29 @@ package com.microservice.cards.service.impl;
 
 import com.microservice.cards.constants.CardsConstants;
 import com.microservice.cards.dto.CardsDto;
+import com.microservice.cards.dto.CardsPageDto;
 import com.microservice.cards.dto.ResponseDto;
 import com.microservice.cards.entity.Cards;
+import com.microservice.cards.event.CardLimitChangedEvent;
 import com.microservice.cards.exception.CardAlreadyExistsException;
 import com.microservice.cards.exception.ResourceNotFoundException;
 import com.microservice.cards.external.CustomerService;
+import com.microservice.cards.generator.CardNumberGenerator;
 import com.microservice.cards.mapper.CardsMapper;
 import com.microservice.cards.repository.CardsRepository;
+import com.microservice.cards.service.ICardAuthorizationService;
 import com.microservice.cards.service.ICardsService;
 import feign.FeignException;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-import java.util.Random;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -26,24 +33,35 @@ public class CardsServiceImpl implements ICardsService {
 
     private final CardsRepository cardsRepository;
     private final CustomerService customerService;
+    private final CardNumberGenerator cardNumberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ICardAuthorizationService cardAuthorizationService;
 
     /**
+     * Credit and debit cards are issued once per customer, virtual cards as often as requested. The unique key on
+     * the customer and {@code issued_once_type} catches concurrent requests for the same card type.
+     *
      * @param customerId - Customer Id of the Customer
+     * @param cardType - Credit Card, Debit Card or Virtual Card
      */
     @Override
-    public void createCard(String customerId) {
+    public void createCard(String customerId, String cardType) {
 
         try{
             ResponseDto responseDto = customerService.isCustomerExist(customerId);
 
-            Optional<Cards> optionalCards= cardsRepository.findByCustomerId(customerId);
-            if(optionalCards.isPresent()){
-                throw new CardAlreadyExistsException("Card already registered with given customerId : "+customerId);
+            if(!CardsConstants.VIRTUAL_CARD.equals(cardType) && cardsRepository.existsByCustomerIdAndCardType(customerId, cardType)){
+                throw new CardAlreadyExistsException(cardType + " already registered with given customerId : "+customerId);
             }
-            cardsRepository.save(createNewCard(customerId));
+            cardsRepository.save(createNewCard(customerId, cardType));
+        }catch (DataIntegrityViolationException e) {
+//            A concurrent request issued the same card type, the unique key on (customer_id, issued_once_type) caught it.
+            throw new CardAlreadyExistsException(cardType + " already registered with given customerId : "+customerId);
         }catch (FeignException.NotFound e) {
             log.error("Customer not found {}", e.getMessage());
             throw new ResourceNotFoundException("Customer", "customer id", customerId);
+        }catch (CardAlreadyExistsException e){
+            throw e;
         }catch (Exception e){
             log.error("Error creating card {}", e.getMessage());
             throw new RuntimeException("Error creating card");
@@ -52,14 +70,14 @@ public class CardsServiceImpl implements ICardsService {
 
     /**
      * @param customerId - Customer Id of the Customer
+     * @param cardType - Type of the new card
      * @return the new card details
      */
-    private Cards createNewCard(String customerId) {
+    private Cards createNewCard(String customerId, String cardType) {
         Cards newCard = new Cards();
-        long randomCardNumber = 100000000000L + new Random().nextInt(900000000);
-        newCard.setCardNumber(Long.toString(randomCardNumber));
+        newCard.setCardNumber(cardNumberGenerator.nextCardNumber());
         newCard.setCustomerId(customerId);
-        newCard.setCardType(CardsConstants.CREDIT_CARD);
+        newCard.setCardType(cardType);
         newCard.setTotalLimit(CardsConstants.NEW_CARD_LIMIT);
         newCard.setAmountUsed(0);
         newCard.setAvailableAmount(CardsConstants.NEW_CARD_LIMIT);
@@ -68,41 +86,61 @@ public class CardsServiceImpl implements ICardsService {
 
     /**
      *
-     * @param customerId - Input mobile Number
-     * @return Card Details based on a given mobileNumber
+     * @param customerId - Customer Id of the Customer
+     * @return the first card issued to the customer
      */
     @Override
     public CardsDto fetchCard(String customerId) {
-        Cards cards = cardsRepository.findByCustomerId(customerId).orElseThrow(
-                () -> new ResourceNotFoundException("Card", "mobileNumber", customerId)
+        Cards cards = cardsRepository.findFirstByCustomerIdOrderByCardIdAsc(customerId).orElseThrow(
+                () -> new ResourceNotFoundException("Card", "customerId", customerId)
         );
         return CardsMapper.mapToCardsDto(cards, new CardsDto());
     }
 
     /**
+     * One extra row is fetched to know whether a next page exists without a count query.
+     *
+     * @param customerId - Customer Id of the Customer
+     * @param after - cursor returned with the previous page, null for the first page
+     * @param limit - maximum number of cards to return
+     * @return one page of the customer's cards, oldest card first
+     */
+    @Override
+    public CardsPageDto getCards(String customerId, Long after, int limit) {
+        List<Cards> cards = cardsRepository.findPageByCustomerId(customerId, after == null ? 0L : after, Limit.of(limit + 1));
+
+        boolean hasNext = cards.size() > limit;
+        List<Cards> page = hasNext ? cards.subList(0, limit) : cards;
+        String nextCursor = hasNext ? String.valueOf(page.get(page.size() - 1).getCardId()) : null;
+
+        return new CardsPageDto(page.stream().map(card -> CardsMapper.mapToCardsDto(card, new CardsDto())).toList(), nextCursor, limit);
+    }
+
+    /**
+     * Only the total limit can be changed. The amount used and the available amount are kept by the card limit
+     * journal, so they are moved by the authorization engine and never copied from the request.
      *
      * @param cardsDto - CardsDto Object
      * @return boolean indicating if the update of card details is successful or not
      */
     @Override
     public boolean updateCard(CardsDto cardsDto) {
-        Cards cards = cardsRepository.findByCardNumber(cardsDto.getCardNumber()).orElseThrow(
-                () -> new ResourceNotFoundException("Card", "CardNumber", cardsDto.getCardNumber()));
-        CardsMapper.mapToCards(cardsDto, cards);
-        cardsRepository.save(cards);
-        return  true;
+        return cardAuthorizationService.changeTotalLimit(cardsDto.getCardNumber(), cardsDto.getTotalLimit());
     }
 
     /**
-     * @param customerId - Input Customer Id
-     * @return boolean indicating if the delete of card details is successful or not
+     * @param customerId - Customer Id of the Customer
+     * @return boolean indicating if the delete of all cards of the customer is successful or not
      */
     @Override
+    @Transactional
     public boolean deleteCard(String customerId) {
-        Cards cards = cardsRepository.findByCustomerId(customerId).orElseThrow(
-                () -> new ResourceNotFoundException("Card", "mobileNumber", customerId)
-        );
-        cardsRepository.deleteById(cards.getCardId());
+        List<String> cardNumbers = cardsRepository.findCardNumbersByCustomerId(customerId);
+        if (cardNumbers.isEmpty()) {
+            throw new ResourceNotFoundException("Card", "customerId", customerId);
+        }
+        cardsRepository.deleteAllByCustomerId(customerId);
+        cardNumbers.forEach(cardNumber -> eventPublisher.publishEvent(new CardLimitChangedEvent(cardNumber)));
         return true;
     }
 
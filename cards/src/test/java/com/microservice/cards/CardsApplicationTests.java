@@ -3,7 +3,7 @@ package com.microservice.cards;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "cards.number-generator.secret=test-card-number-secret")
 class CardsApplicationTests {
 
 	@Test
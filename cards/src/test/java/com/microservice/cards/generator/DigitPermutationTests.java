@@ -0,0 +1,58 @@
+package com.microservice.cards.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DigitPermutationTests {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5})
+    void everyValueHasExactlyOneImage(int digits) {
+        DigitPermutation permutation = new DigitPermutation(digits, "test-secret:412345");
+        int range = (int) permutation.range();
+        BitSet images = new BitSet(range);
+
+        for (int value = 0; value < range; value++) {
+            long image = permutation.permute(value);
+            assertThat(image).isBetween(0L, range - 1L);
+            assertThat(images.get((int) image)).as("image of %d already taken", value).isFalse();
+            images.set((int) image);
+        }
+        assertThat(images.cardinality()).isEqualTo(range);
+    }
+
+    @Test
+    void rangeIsTenToTheDigits() {
+        assertThat(new DigitPermutation(1, "key").range()).isEqualTo(10L);
+        assertThat(new DigitPermutation(9, "key").range()).isEqualTo(1_000_000_000L);
+    }
+
+    @Test
+    void sameKeyGivesSamePermutation() {
+        DigitPermutation first = new DigitPermutation(4, "test-secret:412345");
+        DigitPermutation second = new DigitPermutation(4, "test-secret:412345");
+
+        for (long value = 0; value < first.range(); value++) {
+            assertThat(second.permute(value)).isEqualTo(first.permute(value));
+        }
+    }
+
+    @Test
+    void otherKeyGivesOtherPermutation() {
+        DigitPermutation first = new DigitPermutation(4, "test-secret:412345");
+        DigitPermutation second = new DigitPermutation(4, "test-secret:412346");
+
+        int same = 0;
+        for (long value = 0; value < first.range(); value++) {
+            if (first.permute(value) == second.permute(value)) {
+                same++;
+            }
+        }
+        assertThat(same).isLessThan(100);
+    }
+}
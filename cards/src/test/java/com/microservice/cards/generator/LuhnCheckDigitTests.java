@@ -0,0 +1,47 @@
+package com.microservice.cards.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LuhnCheckDigitTests {
+
+    @ParameterizedTest
+    @ValueSource(longs = {79927398713L, 4111111111111111L, 4012888888881881L, 5555555555554444L,
+            5105105105105100L, 378282246310005L, 6011111111111117L})
+    void acceptsValidNumbers(long number) {
+        assertThat(LuhnCheckDigit.isValid(number)).isTrue();
+        assertThat(LuhnCheckDigit.compute(number / 10)).isEqualTo((int) (number % 10));
+        assertThat(LuhnCheckDigit.append(number / 10)).isEqualTo(number);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {79927398710L, 79927398719L, 4111111111111112L, 4012888888881818L})
+    void rejectsInvalidNumbers(long number) {
+        assertThat(LuhnCheckDigit.isValid(number)).isFalse();
+    }
+
+    @Test
+    void detectsEverySingleDigitError() {
+        long number = 4111111111111111L;
+        assertThat(LuhnCheckDigit.isValid(number)).isTrue();
+
+        long position = 1;
+        for (int i = 0; i < 16; i++, position *= 10) {
+            int digit = (int) (number / position % 10);
+            for (int other = 0; other <= 9; other++) {
+                if (other != digit && !(i == 15 && other == 0)) {
+                    long changed = number + (other - digit) * position;
+                    assertThat(LuhnCheckDigit.isValid(changed)).as("%d", changed).isFalse();
+                }
+            }
+        }
+    }
+
+    @Test
+    void checkDigitOfZeroIsZero() {
+        assertThat(LuhnCheckDigit.compute(0)).isZero();
+    }
+}
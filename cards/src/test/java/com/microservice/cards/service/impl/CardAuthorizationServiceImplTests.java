@@ -0,0 +1,267 @@
+package com.microservice.cards.service.impl;
+
+import com.microservice.cards.constants.AuthorizationStatus;
+import com.microservice.cards.constants.LimitEntryType;
+import com.microservice.cards.dto.AuthorizationDto;
+import com.microservice.cards.entity.CardLimitEntry;
+import com.microservice.cards.entity.Cards;
+import com.microservice.cards.exception.CardLimitUnavailableException;
+import com.microservice.cards.exception.InvalidCaptureAmountException;
+import com.microservice.cards.exception.ResourceNotFoundException;
+import com.microservice.cards.repository.CardLimitEntryRepository;
+import com.microservice.cards.repository.CardsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CardAuthorizationServiceImplTests {
+
+    private static final String CARD_NUMBER = "4123450000000001";
+    private static final int LIMIT = 100_000;
+
+    @Mock
+    private CardsRepository cardsRepository;
+
+    @Mock
+    private CardLimitEntryRepository cardLimitEntryRepository;
+
+    @Mock
+    private CardLimitJournal cardLimitJournal;
+
+    private CardAuthorizationServiceImpl authorizationService;
+
+    @BeforeEach
+    void setUp() {
+        authorizationService = new CardAuthorizationServiceImpl(cardsRepository, cardLimitEntryRepository,
+                cardLimitJournal, Duration.ofMillis(100), 1_000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void authorizeHoldsTheAmount() {
+        givenCard(LIMIT);
+        givenJournalCommits();
+
+        AuthorizationDto authorization = authorizationService.authorize(CARD_NUMBER, 2_500);
+
+        assertThat(authorization.getStatus()).isEqualTo(AuthorizationStatus.APPROVED);
+        assertThat(authorization.getAuthorizationId()).isNotNull();
+        assertThat(authorization.getAvailableAmount()).isEqualTo(LIMIT - 2_500);
+        assertThat(submittedEntries(1).get(0))
+                .extracting(CardLimitEntry::getEntryType, CardLimitEntry::getAmount, CardLimitEntry::getAuthorizationId)
+                .containsExactly(LimitEntryType.HOLD, 2_500, authorization.getAuthorizationId());
+    }
+
+    @Test
+    void authorizeDeclinesAboveTheAvailableAmount() {
+        givenCard(LIMIT);
+
+        AuthorizationDto authorization = authorizationService.authorize(CARD_NUMBER, LIMIT + 1);
+
+        assertThat(authorization.getStatus()).isEqualTo(AuthorizationStatus.DECLINED);
+        assertThat(authorization.getAuthorizationId()).isNull();
+        assertThat(authorization.getAvailableAmount()).isEqualTo(LIMIT);
+        verify(cardLimitJournal, never()).submit(anyList());
+    }
+
+    @Test
+    void holdsReduceTheAmountAvailableToLaterRequests() {
+        givenCard(LIMIT);
+        givenJournalCommits();
+
+        authorizationService.authorize(CARD_NUMBER, 60_000);
+        AuthorizationDto declined = authorizationService.authorize(CARD_NUMBER, 50_000);
+
+        assertThat(declined.getStatus()).isEqualTo(AuthorizationStatus.DECLINED);
+        assertThat(declined.getAvailableAmount()).isEqualTo(40_000);
+    }
+
+    @Test
+    void captureBooksTheWholeHold() {
+        givenCard(LIMIT);
+        givenJournalCommits();
+        String authorizationId = authorizationService.authorize(CARD_NUMBER, 2_500).getAuthorizationId();
+
+        AuthorizationDto captured = authorizationService.capture(CARD_NUMBER, authorizationId, null);
+
+        assertThat(captured.getStatus()).isEqualTo(AuthorizationStatus.CAPTURED);
+        assertThat(captured.getAmount()).isEqualTo(2_500);
+        assertThat(captured.getAvailableAmount()).isEqualTo(LIMIT - 2_500);
+        assertThat(submittedEntries(2).get(1))
+                .extracting(CardLimitEntry::getEntryType, CardLimitEntry::getAmount)
+                .containsExactly(LimitEntryType.CAPTURE, 2_500);
+        assertThatThrownBy(() -> authorizationService.release(CARD_NUMBER, authorizationId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void partialCaptureReleasesTheRest() {
+        givenCard(LIMIT);
+        givenJournalCommits();
+        String authorizationId = authorizationService.authorize(CARD_NUMBER, 2_500).getAuthorizationId();
+
+        AuthorizationDto captured = authorizationService.capture(CARD_NUMBER, authorizationId, 1_000);
+
+        assertThat(captured.getAmount()).isEqualTo(1_000);
+        assertThat(captured.getAvailableAmount()).isEqualTo(LIMIT - 1_000);
+        List<CardLimitEntry> entries = submittedEntries(2);
+        assertThat(entries.subList(1, entries.size()))
+                .extracting(CardLimitEntry::getEntryType, CardLimitEntry::getAmount)
+                .containsExactly(tuple(LimitEntryType.CAPTURE, 1_000),
+                        tuple(LimitEntryType.RELEASE, 1_500));
+    }
+
+    @Test
+    void captureOutsideTheHeldAmountIsRejected() {
+        givenCard(LIMIT);
+        givenJournalCommits();
+        String authorizationId = authorizationService.authorize(CARD_NUMBER, 2_500).getAuthorizationId();
+
+        assertThatThrownBy(() -> authorizationService.capture(CARD_NUMBER, authorizationId, 2_501))
+                .isInstanceOf(InvalidCaptureAmountException.class);
+        assertThatThrownBy(() -> authorizationService.capture(CARD_NUMBER, authorizationId, 0))
+                .isInstanceOf(InvalidCaptureAmountException.class);
+        assertThat(authorizationService.release(CARD_NUMBER, authorizationId).getAmount()).isEqualTo(2_500);
+    }
+
+    @Test
+    void releaseMakesTheHoldAvailableAgain() {
+        givenCard(LIMIT);
+        givenJournalCommits();
+        String authorizationId = authorizationService.authorize(CARD_NUMBER, 2_500).getAuthorizationId();
+
+        AuthorizationDto released = authorizationService.release(CARD_NUMBER, authorizationId);
+
+        assertThat(released.getStatus()).isEqualTo(AuthorizationStatus.RELEASED);
+        assertThat(released.getAmount()).isEqualTo(2_500);
+        assertThat(released.getAvailableAmount()).isEqualTo(LIMIT);
+        assertThatThrownBy(() -> authorizationService.release(CARD_NUMBER, authorizationId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void openHoldsAreLoadedFromTheJournal() {
+        givenCard(LIMIT - 500);
+        when(cardLimitEntryRepository.findOpenHolds(CARD_NUMBER)).thenReturn(List.of(CardLimitEntry.builder()
+                .authorizationId("open-hold").cardNumber(CARD_NUMBER).entryType(LimitEntryType.HOLD)
+                .amount(500).recordedAt(LocalDateTime.now()).build()));
+        givenJournalCommits();
+
+        AuthorizationDto released = authorizationService.release(CARD_NUMBER, "open-hold");
+
+        assertThat(released.getAmount()).isEqualTo(500);
+        assertThat(released.getAvailableAmount()).isEqualTo(LIMIT);
+    }
+
+    @Test
+    void failedBatchUndoesTheHold() {
+        givenCard(LIMIT);
+        when(cardLimitJournal.submit(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new CardLimitUnavailableException("Failed to record the authorization")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThatThrownBy(() -> authorizationService.authorize(CARD_NUMBER, 2_500))
+                .isInstanceOf(CardLimitUnavailableException.class);
+        AuthorizationDto authorization = authorizationService.authorize(CARD_NUMBER, LIMIT);
+
+        assertThat(authorization.getStatus()).isEqualTo(AuthorizationStatus.APPROVED);
+        assertThat(authorization.getAvailableAmount()).isZero();
+    }
+
+    @Test
+    void failedBatchReopensACapturedHold() {
+        givenCard(LIMIT);
+        when(cardLimitJournal.submit(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new CardLimitUnavailableException("Failed to record the authorization")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        String authorizationId = authorizationService.authorize(CARD_NUMBER, 2_500).getAuthorizationId();
+
+        assertThatThrownBy(() -> authorizationService.capture(CARD_NUMBER, authorizationId, 1_000))
+                .isInstanceOf(CardLimitUnavailableException.class);
+        AuthorizationDto released = authorizationService.release(CARD_NUMBER, authorizationId);
+
+        assertThat(released.getAmount()).isEqualTo(2_500);
+        assertThat(released.getAvailableAmount()).isEqualTo(LIMIT);
+    }
+
+    @Test
+    void unknownCardIsNotFound() {
+        when(cardsRepository.findByCardNumber(CARD_NUMBER)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authorizationService.authorize(CARD_NUMBER, 2_500))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void limitChangeWaitsForPendingDecisionsAndReloadsTheLimit() throws Exception {
+        givenCard(LIMIT);
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        when(cardLimitJournal.submit(anyList())).thenReturn(pending);
+        when(cardsRepository.changeTotalLimit(CARD_NUMBER, 2 * LIMIT)).thenReturn(1);
+        assertThatThrownBy(() -> authorizationService.authorize(CARD_NUMBER, 2_500))
+                .isInstanceOf(CardLimitUnavailableException.class);
+
+        CompletableFuture<Boolean> changed = CompletableFuture.supplyAsync(
+                () -> authorizationService.changeTotalLimit(CARD_NUMBER, 2 * LIMIT));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(changed).isNotDone();
+        verify(cardsRepository, never()).changeTotalLimit(CARD_NUMBER, 2 * LIMIT);
+
+        pending.complete(null);
+        assertThat(changed.get(5, TimeUnit.SECONDS)).isTrue();
+
+        authorizationService.authorize(CARD_NUMBER, 2_500);
+        verify(cardsRepository, times(2)).findByCardNumber(CARD_NUMBER);
+    }
+
+    @Test
+    void limitBelowTheUsedAmountIsNotChanged() {
+        givenCard(LIMIT);
+        when(cardsRepository.changeTotalLimit(CARD_NUMBER, 1_000)).thenReturn(0);
+
+        assertThat(authorizationService.changeTotalLimit(CARD_NUMBER, 1_000)).isFalse();
+    }
+
+    private void givenCard(int availableAmount) {
+        Cards cards = new Cards();
+        cards.setCardNumber(CARD_NUMBER);
+        cards.setTotalLimit(LIMIT);
+        cards.setAmountUsed(0);
+        cards.setAvailableAmount(availableAmount);
+        when(cardsRepository.findByCardNumber(CARD_NUMBER)).thenReturn(Optional.of(cards));
+    }
+
+    private void givenJournalCommits() {
+        when(cardLimitJournal.submit(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * @return the entries of all the decisions handed to the journal, in submission order
+     */
+    @SuppressWarnings("unchecked")
+    private List<CardLimitEntry> submittedEntries(int decisions) {
+        ArgumentCaptor<List<CardLimitEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cardLimitJournal, times(decisions)).submit(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+}
@@ -0,0 +1,32 @@
+package com.microservice.common.thread;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Opt-in virtual thread mode, switched on with {@code spring.threads.virtual.enabled=true}
+ * (environment variable {@code VIRTUAL_THREADS_ENABLED}).
+ * <p>
+ * Spring Boot then serves Tomcat requests and runs the application task executor ({@code @Async}, scheduling)
+ * on virtual threads. Feign clients execute on the calling thread, so their blocking HTTP calls park the
+ * virtual request thread instead of holding a platform thread. While the mode is on, carrier threads pinned
+ * by the database drivers are reported through actuator, see {@link VirtualThreadPinningMonitor}.
+ * <p>
+ * Every service that depends on this module picks it up through auto-configuration.
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadAutoConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                                   @Value("${virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
@@ -0,0 +1,96 @@
+package com.microservice.common.thread;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+
+/**
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event, emitted when a virtual thread blocks while it cannot
+ * unmount from its carrier (inside {@code synchronized} or a native frame), and records it in the
+ * {@code virtual.threads.pinned} timer of {@code /actuator/metrics}. The {@code source} tag names the driver
+ * the pinning happened in ({@code mysql}, {@code mongodb}, {@code hikari}) or {@code other}.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String METRIC_NAME = "virtual.threads.pinned";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String source = source(event.getStackTrace());
+        Timer.builder(METRIC_NAME)
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (log.isDebugEnabled()) {
+            log.debug("Virtual thread pinned for {} in {}: {}", event.getDuration(), source, topFrame(event.getStackTrace()));
+        }
+    }
+
+    private static String source(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "other";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String className = frame.getMethod().getType().getName();
+            if (className.startsWith("com.mysql.")) {
+                return "mysql";
+            }
+            if (className.startsWith("com.mongodb.")) {
+                return "mongodb";
+            }
+            if (className.startsWith("com.zaxxer.hikari.")) {
+                return "hikari";
+            }
+        }
+        return "other";
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+}